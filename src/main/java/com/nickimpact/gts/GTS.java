@@ -7,11 +7,11 @@ import com.google.inject.Inject;
 import com.nickimpact.gts.api.GtsService;
 import com.nickimpact.gts.api.GtsServiceImpl;
 import com.nickimpact.gts.api.discord.IDiscordNotifier;
-import com.nickimpact.gts.api.listings.entries.EntryHolder;
-import com.nickimpact.gts.api.listings.Listing;
 import com.nickimpact.gts.api.listings.entries.Entry;
 import com.nickimpact.gts.api.listings.entries.EntryAdapter;
 import com.nickimpact.gts.api.listings.pricing.*;
+import com.nickimpact.gts.broadcast.BroadcastPipeline;
+import com.nickimpact.gts.broadcast.Recipients;
 import com.nickimpact.gts.commands.GTSBaseCmd;
 import com.nickimpact.gts.configuration.ConfigKeys;
 import com.nickimpact.gts.configuration.MsgConfigKeys;
@@ -25,9 +25,20 @@ import com.nickimpact.gts.discord.DiscordNotifier;
 import com.nickimpact.gts.internal.TextParsingUtils;
 import com.nickimpact.gts.listeners.JoinListener;
 import com.nickimpact.gts.logs.Log;
+import com.nickimpact.gts.mailbox.MailboxManager;
+import com.nickimpact.gts.market.ListingIndex;
+import com.nickimpact.gts.market.ListingLimits;
+import com.nickimpact.gts.market.AuctionEngine;
+import com.nickimpact.gts.market.ListingPipeline;
+import com.nickimpact.gts.market.MarketQueue;
+import com.nickimpact.gts.market.RateLimiter;
+import com.nickimpact.gts.market.UserCache;
+import com.nickimpact.gts.scheduling.TickScheduler;
+import com.nickimpact.gts.storage.QuarantinedRow;
 import com.nickimpact.gts.storage.Storage;
 import com.nickimpact.gts.storage.StorageFactory;
 import com.nickimpact.gts.storage.StorageType;
+import com.nickimpact.gts.storage.backup.BackupManager;
 import com.nickimpact.gts.storage.dao.file.FileWatcher;
 import com.nickimpact.gts.ui.updater.GuiUpdater;
 import com.nickimpact.gts.utils.ListingTasks;
@@ -109,6 +120,9 @@ public class GTS extends SpongePlugin {
 	/** The storage provider for the plugin */
 	private Storage storage;
 
+	/** Takes and restores backups of the storage provider */
+	private BackupManager backupManager;
+
 	private FileWatcher fileWatcher = null;
 
 	/** The economy service present on the server */
@@ -117,20 +131,41 @@ public class GTS extends SpongePlugin {
 	/** An internal provider set to help decode variables in strings */
 	private TextParsingUtils textParsingUtils = new TextParsingUtils();
 
-	/** The cache holding all listings in the current running instance */
-	private List<Listing> listingsCache = Lists.newArrayList();
+	/** The index holding all listings in the current running instance */
+	private ListingIndex listingIndex = new ListingIndex();
+
+	/** Resolves how many listings each user may hold at once */
+	private ListingLimits listingLimits = new ListingLimits();
+
+	/** Limits how quickly each player may perform costly market actions */
+	private RateLimiter rateLimiter = new RateLimiter();
+
+	/** Holds the offline users referenced by the market, loaded off the main thread */
+	private UserCache users = new UserCache();
+
+	/** Runs all main thread work under a per tick time budget */
+	private TickScheduler tickScheduler = new TickScheduler();
+
+	/** The single writer through which all market changes are applied */
+	private MarketQueue marketQueue = new MarketQueue(tickScheduler);
+
+	/** The stages each listing deposited by a player passes through on its way to the market */
+	private ListingPipeline listingPipeline = new ListingPipeline();
+
+	/** Validates and applies the bids placed on each auction, one at a time and in the order they arrived */
+	private AuctionEngine auctions = new AuctionEngine();
 
 	/** The cache holding all logs in the current running instance */
 	private List<Log> logCache = Lists.newArrayList();
 
-	/** The cache holding all temporary entries */
-	private List<EntryHolder> heldEntryCache = Lists.newArrayList();
+	/** Holds the mailboxes of players online, through which rewards they couldn't receive are handed over */
+	private MailboxManager mailboxes = new MailboxManager();
 
-	/** The cache holding all temporary prices */
-	private List<PriceHolder> heldPriceCache = Lists.newArrayList();
+	/** Tracks the users who prefer not to be spammed by GTS broadcasts, and those online who don't */
+	private Recipients recipients = new Recipients();
 
-	/** A list of users who prefer not to be spammed by GTS broadcasts */
-	private List<UUID> ignorers = Lists.newArrayList();
+	/** Gathers and delivers all announcements made to chat and Discord */
+	private BroadcastPipeline broadcasts = new BroadcastPipeline();
 
 	/** The observable instance that allows the UIs to detect updates */
 	private GuiUpdater updater = new GuiUpdater();
@@ -214,7 +249,12 @@ public class GTS extends SpongePlugin {
 	@Override
 	public void onDisconnect() {
 		if(enabled) {
+			this.mailboxes.shutdown();
+			this.users.clear();
+			this.broadcasts.shutdown();
+			this.tickScheduler.shutdown();
 			getConsole().ifPresent(console -> console.sendMessages(Text.of(GTSInfo.PREFIX, "Closing the storage provider...")));
+			this.backupManager.shutdown();
 			this.storage.shutdown();
 			getConsole().ifPresent(console -> console.sendMessages(Text.of(GTSInfo.PREFIX, "Storage provider closed, good bye!")));
 		}
@@ -272,14 +312,24 @@ public class GTS extends SpongePlugin {
 			// Read in and register all data entries into the cache
 			getConsole().ifPresent(console -> console.sendMessages(Text.of(GTSInfo.PREFIX, "Loading data into cache...")));
 			try {
-				this.listingsCache = this.storage.getListings().get();
-				this.heldEntryCache = this.storage.getHeldElements().get();
-				this.heldPriceCache = this.storage.getHeldPrices().get();
-				this.ignorers = this.storage.getIgnorers().get();
+				long scanStart = System.currentTimeMillis();
+				this.listingIndex.addAll(this.storage.getListings().get());
+				this.recipients.setIgnorers(this.storage.getIgnorers().get());
+
+				List<QuarantinedRow> quarantined = this.storage.getQuarantined().get();
+				if(!quarantined.isEmpty()) {
+					long fresh = quarantined.stream().filter(row -> row.getTime() >= scanStart).count();
+					getConsole().ifPresent(console -> console.sendMessages(Text.of(
+							GTSInfo.WARNING, String.format("%d rows failed to decode and were quarantined (%d held in total), see /gts admin quarantine", fresh, quarantined.size())
+					)));
+				}
 			} catch (InterruptedException | ExecutionException e1) {
 				e1.printStackTrace();
 			}
 
+			this.backupManager = new BackupManager(this, this.storage.getDao());
+			this.backupManager.init();
+
 			if(this.config.get(ConfigKeys.DISCORD_ENABLED)) {
 				getConsole().ifPresent(console -> console.sendMessages(Text.of(GTSInfo.PREFIX, "Launching Discord Bot...")));
 				this.discordNotifier = new DiscordNotifier();
@@ -294,6 +344,9 @@ public class GTS extends SpongePlugin {
 		getConsole().ifPresent(console -> console.sendMessages(Text.of(GTSInfo.PREFIX, "Post start-up phase has now started")));
 
 		if(enabled) {
+			this.tickScheduler.init(this);
+			this.broadcasts.init(this);
+			this.mailboxes.init(this);
 			ListingTasks.updateTask();
 		}
 	}
@@ -3,6 +3,7 @@ package com.nickimpact.gts.api;
 import com.nickimpact.gts.api.exceptions.NotMinableException;
 import com.nickimpact.gts.api.json.Registry;
 import com.nickimpact.gts.api.listings.entries.Entry;
+import com.nickimpact.gts.api.listings.pipeline.ListingStage;
 import com.nickimpact.gts.api.listings.pricing.Price;
 import com.nickimpact.gts.api.text.Token;
 import com.nickimpact.gts.api.text.TokenService;
@@ -115,6 +116,17 @@ public interface GtsService {
 	 */
 	void addTokens(Token... tokens);
 
+	/**
+	 * Adds a stage to the pipeline each listing deposited by a player passes through on its way to the market,
+	 * directly after an existing stage. The stages GTS provides are named limit, event, requirements, tax,
+	 * charge, take, persist, render, and announce.
+	 *
+	 * @param after The name of the stage the new one should follow
+	 * @param stage The stage to add
+	 * @throws IllegalArgumentException If no stage with the given name exists, or the new stage's name is taken
+	 */
+	void addListingStage(String after, ListingStage stage);
+
 	enum RegistryType {
 		ENTRY,
 		PRICE,
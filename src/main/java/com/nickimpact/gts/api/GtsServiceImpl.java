@@ -8,6 +8,7 @@ import com.nickimpact.gts.api.exceptions.NotMinableException;
 import com.nickimpact.gts.api.json.Registry;
 import com.nickimpact.gts.api.listings.entries.Entry;
 import com.nickimpact.gts.api.listings.entries.Minable;
+import com.nickimpact.gts.api.listings.pipeline.ListingStage;
 import com.nickimpact.gts.api.listings.pricing.Price;
 import com.nickimpact.gts.api.text.Token;
 import com.nickimpact.gts.api.text.TokenService;
@@ -151,4 +152,9 @@ public class GtsServiceImpl implements GtsService {
 	public void addToken(Token token) throws Exception {
 		this.getTokensService().register(token.getKey(), token.getTranslator());
 	}
+
+	@Override
+	public void addListingStage(String after, ListingStage stage) {
+		GTS.getInstance().getListingPipeline().addAfter(after, stage);
+	}
 }
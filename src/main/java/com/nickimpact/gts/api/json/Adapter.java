@@ -1,10 +1,6 @@
 package com.nickimpact.gts.api.json;
 
 import com.google.gson.*;
-import com.nickimpact.gts.GTS;
-import com.nickimpact.gts.GTSInfo;
-
-import org.spongepowered.api.text.Text;
 
 import java.lang.reflect.Type;
 
@@ -31,13 +27,8 @@ public abstract class Adapter<E> implements JsonSerializer<E>, JsonDeserializer<
 		try {
 			return (E) getGson().fromJson(obj, getRegistry().get(obj.get("id").getAsString()));
 		} catch (Exception e) {
-			GTS.getInstance().getConsole().ifPresent(console -> console.sendMessages(
-					Text.of(GTSInfo.ERROR, "========== JSON Error =========="),
-					Text.of(GTSInfo.ERROR, "Failed to deserialize JSON data"),
-					Text.of(GTSInfo.ERROR, "Exception: " + e.getClass().getSimpleName()),
-					Text.of(GTSInfo.ERROR, "================================")
-			));
-			throw new JsonParseException(e.getMessage());
+			// Reported once by the storage integrity scan, rather than once per row
+			throw new JsonParseException("Failed to deserialize JSON data (" + e.getClass().getSimpleName() + ": " + e.getMessage() + ")", e);
 		}
 	}
 
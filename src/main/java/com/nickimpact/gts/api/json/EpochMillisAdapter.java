@@ -0,0 +1,43 @@
+package com.nickimpact.gts.api.json;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.util.Date;
+
+/**
+ * Writes a point in time as its epoch millis, whilst still reading those written as a {@link Date} by earlier
+ * versions of GTS. A missing time is read as 0.
+ *
+ * @author NickImpact
+ */
+public class EpochMillisAdapter extends TypeAdapter<Long> {
+
+	/** Reads dates in the format Gson wrote them, before times were stored as epoch millis */
+	private static final TypeAdapter<Date> LEGACY = new Gson().getAdapter(Date.class);
+
+	@Override
+	public void write(JsonWriter out, Long value) throws IOException {
+		out.value(value != null ? value : 0);
+	}
+
+	@Override
+	public Long read(JsonReader in) throws IOException {
+		JsonToken token = in.peek();
+		if(token == JsonToken.NUMBER) {
+			return in.nextLong();
+		}
+
+		if(token == JsonToken.NULL) {
+			in.nextNull();
+			return 0L;
+		}
+
+		Date date = LEGACY.read(in);
+		return date != null ? date.getTime() : 0L;
+	}
+}
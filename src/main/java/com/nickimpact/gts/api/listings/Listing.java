@@ -1,7 +1,9 @@
 package com.nickimpact.gts.api.listings;
 
+import com.google.gson.annotations.JsonAdapter;
 import com.nickimpact.gts.GTS;
 import com.nickimpact.gts.api.exceptions.ListingException;
+import com.nickimpact.gts.api.json.EpochMillisAdapter;
 import com.nickimpact.gts.api.listings.data.AuctionData;
 import com.nickimpact.gts.api.listings.entries.Entry;
 import com.nickimpact.gts.api.listings.pricing.Auctionable;
@@ -14,9 +16,11 @@ import org.spongepowered.api.entity.living.player.Player;
 import org.spongepowered.api.item.inventory.ItemStack;
 
 import javax.annotation.Nullable;
-import java.time.Instant;
+import java.nio.charset.StandardCharsets;
 import java.util.Date;
 import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
 
 /**
  * A Listing represents the wrapper object for an {@link Entry}, whilst also holding information
@@ -43,12 +47,21 @@ public final class Listing {
     /** Whether or not the element will expire */
     private final boolean expires;
 
-    /** When the lot will expire, if the above is true */
-    @Getter private Date expiration;
+    /** When the lot will expire in epoch millis, if the above is true. 0 if the lot never expires */
+    @JsonAdapter(EpochMillisAdapter.class)
+    @Getter private long expiration;
 
     /** Represents the data for an auction, if the listing is in fact one */
     @Getter private final AuctionData aucData;
 
+	/** The serialized size of the listing in bytes, measured on first request */
+	private transient long size;
+
+	/** The ordinal of the listing's current {@link ListingState}. Left unset, a listing is active. */
+	private transient volatile int state;
+
+	private static final AtomicIntegerFieldUpdater<Listing> STATE = AtomicIntegerFieldUpdater.newUpdater(Listing.class, "state");
+
 	/**
 	 * Constructs the content of a listing that will be available on the GTS market
 	 *
@@ -81,10 +94,10 @@ public final class Listing {
 	    this.ownerUUID = player.getUniqueId();
 	    this.entry = entry;
 	    this.expires = expires;
-	    this.expiration = Date.from(Instant.now().plusSeconds(seconds));
+	    this.expiration = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(seconds);
 	    this.aucData = ad;
 
-	    ListingUtils.addToMarket(player, this);
+	    GTS.getInstance().getMarketQueue().submit("list", () -> ListingUtils.addToMarket(player, this));
     }
 
 	/**
@@ -103,10 +116,10 @@ public final class Listing {
 		this.ownerUUID = player.getUniqueId();
 		this.entry = entry;
 		this.expires = expires;
-		this.expiration = Date.from(Instant.now().plusSeconds(seconds));
+		this.expiration = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(seconds);
 		this.aucData = ad;
 
-		ListingUtils.addToMarket(player, this);
+		GTS.getInstance().getMarketQueue().submit("list", () -> ListingUtils.addToMarket(player, this));
     }
 
     public Listing(Builder builder) {
@@ -119,11 +132,18 @@ public final class Listing {
 	    this.expiration = builder.expiration;
 	    this.aucData = builder.data;
 
-	    if (builder.player == null) {
-		    ListingUtils.addToMarket(this);
-	    } else {
-		    ListingUtils.addToMarket(builder.player, this);
-        }
+	    if(builder.deferred) {
+	    	return;
+	    }
+
+	    Player player = builder.player;
+	    GTS.getInstance().getMarketQueue().submit("list", () -> {
+		    if (player == null) {
+			    ListingUtils.addToMarket(this);
+		    } else {
+			    ListingUtils.addToMarket(player, this);
+		    }
+	    });
     }
 
     public static Builder builder() {
@@ -145,9 +165,17 @@ public final class Listing {
 	 * @return Whether or not a listing has expired
 	 */
 	public boolean hasExpired() {
-        return getExpiration().before(Date.from(Instant.now()));
+        return this.expiration != 0 && this.expiration < GTS.getInstance().getTickScheduler().currentTime();
     }
 
+	/**
+	 * @param now The current time, in epoch millis
+	 * @return The time left before the listing expires, in milliseconds. Never negative
+	 */
+	public long getTimeLeft(long now) {
+		return Math.max(0, this.expiration - now);
+	}
+
 	/**
 	 * Returns the name of a lot element. Common uses of this method might be its use in messages displayed
 	 * to users.
@@ -158,8 +186,54 @@ public final class Listing {
 		return entry.getName();
 	}
 
+	/**
+	 * Fetches the size of this listing, as it would be written to storage. The size is measured once, and cached
+	 * for the lifetime of the listing.
+	 *
+	 * @return The serialized size of the listing, in bytes
+	 */
+	public long getSize() {
+		if(this.size == 0) {
+			this.size = GTS.prettyGson.toJson(this).getBytes(StandardCharsets.UTF_8).length;
+		}
+
+		return this.size;
+	}
+
+	public ListingState getState() {
+		return ListingState.values()[this.state];
+	}
+
+	/**
+	 * Attempts to claim the listing, such that the caller is the only party able to settle it. Should the claim
+	 * fail, the listing is either already being settled, or has already left the market, and the caller must not
+	 * act upon it.
+	 *
+	 * @return True if the claim was won, false otherwise
+	 */
+	public boolean claim() {
+		return STATE.compareAndSet(this, ListingState.ACTIVE.ordinal(), ListingState.CLAIMING.ordinal());
+	}
+
+	/**
+	 * Settles a claimed listing into its final state.
+	 *
+	 * @param result The state the listing finished in
+	 * @return True if the listing was claimed, and is now settled, false otherwise
+	 */
+	public boolean complete(ListingState result) {
+		return STATE.compareAndSet(this, ListingState.CLAIMING.ordinal(), result.ordinal());
+	}
+
+	/**
+	 * Gives up a claim on the listing without settling it, returning it to the market.
+	 */
+	public void release() {
+		STATE.compareAndSet(this, ListingState.CLAIMING.ordinal(), ListingState.ACTIVE.ordinal());
+	}
+
 	public void increaseTimeForBid() {
-		this.expiration = Date.from(this.expiration.toInstant().plusSeconds(15));
+		this.expiration += TimeUnit.SECONDS.toMillis(15);
 	}
 
 	/**
@@ -194,10 +268,12 @@ public final class Listing {
 
 		private boolean expires;
 
-		private Date expiration;
+		private long expiration;
 
 		private AuctionData data;
 
+		private boolean deferred;
+
 		public Builder player(Player player) {
 			this.player = player;
 			return this;
@@ -220,12 +296,12 @@ public final class Listing {
 		}
 
 		public Builder expiration(long seconds) {
-			this.expiration = Date.from(Instant.now().plusSeconds(seconds));
+			this.expiration = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(seconds);
 			return this;
 		}
 
 		public Builder expiration(Date expiration) {
-			this.expiration = expiration;
+			this.expiration = expiration.getTime();
 			return this;
 		}
 
@@ -234,6 +310,15 @@ public final class Listing {
 			return this;
 		}
 
+		/**
+		 * Leaves the built listing to be added to the market by the caller, rather than submitting it right away,
+		 * such as when listing many entries at once.
+		 */
+		public Builder deferred() {
+			this.deferred = true;
+			return this;
+		}
+
 		public Listing build() throws ListingException {
 			if(player == null && fakeUUID == null && fakeName == null) {
 				throw new ListingException();
@@ -250,12 +335,12 @@ public final class Listing {
 			if(entry == null)
 				throw new ListingException();
 
-			if(expiration != null && !expires) {
+			if(expiration != 0 && !expires) {
 				expires = true;
 			}
 
-			if(expires && expiration == null) {
-				expiration = Date.from(Instant.now().plusSeconds(GTS.getInstance().getConfig().get(ConfigKeys.LISTING_TIME)));
+			if(expires && expiration == 0) {
+				expiration = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(GTS.getInstance().getConfig().get(ConfigKeys.LISTING_TIME));
 			}
 
 			return new Listing(this);
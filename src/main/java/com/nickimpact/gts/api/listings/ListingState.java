@@ -0,0 +1,26 @@
+package com.nickimpact.gts.api.listings;
+
+/**
+ * Represents the lifecycle of a {@link Listing}. A listing begins as {@link #ACTIVE}, and must be claimed before
+ * any action may take it off the market. Only a single claim may be held at any one time, so whoever claims the
+ * listing first is the only party permitted to settle it.
+ *
+ * @author NickImpact
+ */
+public enum ListingState {
+
+	/** The listing is on the market, and open to being claimed */
+	ACTIVE,
+
+	/** The listing has been claimed, and is in the midst of being settled */
+	CLAIMING,
+
+	/** The listing was purchased, or won at auction */
+	SOLD,
+
+	/** The listing expired, and was returned to its owner */
+	EXPIRED,
+
+	/** The listing was taken off the market by its owner, or an administrator */
+	REMOVED,
+}
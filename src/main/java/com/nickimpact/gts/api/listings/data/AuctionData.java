@@ -24,9 +24,9 @@ public class AuctionData {
 
 	private final MoneyPrice increment;
 
-	private UUID highBidder;
+	private volatile UUID highBidder;
 
-	private String hbNameString;
+	private volatile String hbNameString;
 
 	@Deprecated
 	private transient Text hbName;
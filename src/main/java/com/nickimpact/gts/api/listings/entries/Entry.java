@@ -6,6 +6,7 @@ import com.nickimpact.gts.GTS;
 import com.nickimpact.gts.api.json.Typing;
 import com.nickimpact.gts.api.listings.Listing;
 import com.nickimpact.gts.api.listings.pricing.Price;
+import com.nickimpact.gts.api.utils.Futures;
 import com.nickimpact.impactor.api.commands.SpongeSubCommand;
 import io.github.nucleuspowered.nucleus.api.exceptions.NucleusException;
 import lombok.Getter;
@@ -17,6 +18,7 @@ import org.spongepowered.api.text.Text;
 
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * An element represents the actual elements we add into the GTS listings. Essentially, they provide
@@ -239,6 +241,20 @@ public abstract class Entry<T> {
 	 */
 	public abstract boolean giveEntry(User user);
 
+	/**
+	 * Attempts to give the contents of a lot element to the passed player, without holding up the server
+	 * thread. By default, this simply runs {@link #giveEntry(User)} on the calling thread. Elements held
+	 * within a slow service, such as a remote database, should override this to do the transfer elsewhere.
+	 *
+	 * <p>This is always called from the server thread.</p>
+	 *
+	 * @param user The user to receive the packed contents of an element
+	 * @return A completable future, completed with whether the task was successful
+	 */
+	public CompletableFuture<Boolean> giveEntryAsync(User user) {
+		return Futures.now(() -> this.giveEntry(user));
+	}
+
 	/**
 	 * Attempts to take the element away from the player depositing the listing.
 	 *
@@ -246,4 +262,24 @@ public abstract class Entry<T> {
 	 * @return True if the task is successful, false otherwise
 	 */
 	public abstract boolean doTakeAway(Player player);
+
+	/**
+	 * Specifies the largest size, in bytes, a listing holding this element may serialize to. Listings
+	 * exceeding this size will be rejected before the element is taken from the player.
+	 *
+	 * @return The maximum serialized size of a listing, or a non-positive value for no limit
+	 */
+	public long getMaxSize() {
+		return 0;
+	}
+
+	/**
+	 * Migrates the stored form of the element to its latest format, should it be outdated. This is called
+	 * as the element is read from storage.
+	 *
+	 * @return True if the stored form changed, and should be written back to storage
+	 */
+	public boolean upgrade() {
+		return false;
+	}
 }
@@ -0,0 +1,69 @@
+package com.nickimpact.gts.api.listings.pipeline;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
+import com.nickimpact.gts.api.listings.Listing;
+import lombok.Getter;
+import lombok.Setter;
+import org.spongepowered.api.entity.living.player.Player;
+import org.spongepowered.api.text.Text;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Collectors;
+
+/**
+ * A set of listings deposited by a player at once, such as through a bulk sell, making its way through the
+ * pipeline together. Each listing keeps its own {@link ListingContext}, whilst anything which concerns the
+ * batch as a whole, such as the summary sent to the player, is held here.
+ *
+ * @author NickImpact
+ */
+@Getter
+public class ListingBatch {
+
+	/** The player depositing the listings */
+	private final Player player;
+
+	/** The context of each listing within the batch, in the order they were deposited */
+	private final List<ListingContext> contexts;
+
+	/** Takes every entry being listed from the player at once, returning whether it succeeded */
+	private final BooleanSupplier takeAway;
+
+	/** Messages for the player, sent after those of each listing once the batch has finished the pipeline */
+	private final List<Text> messages = Lists.newArrayList();
+
+	/** The tax due for every listing within the batch, taken from the player at once */
+	@Setter private BigDecimal tax = BigDecimal.ZERO;
+
+	/** Whether the tax has been taken from the player, and so must be refunded should the batch fail */
+	@Setter private boolean charged;
+
+	/** The broadcast announcing the batch to the rest of the server */
+	@Setter private List<Text> broadcast = Lists.newArrayList();
+
+	public ListingBatch(Player player, List<Listing> listings, BooleanSupplier takeAway) {
+		this.player = player;
+		this.contexts = ImmutableList.copyOf(listings.stream().map(listing -> new ListingContext(player, listing)).collect(Collectors.toList()));
+		this.takeAway = takeAway;
+	}
+
+	public List<Listing> getListings() {
+		return this.contexts.stream().map(ListingContext::getListing).collect(Collectors.toList());
+	}
+
+	/**
+	 * Queues messages to be sent to the player once the batch has finished the pipeline.
+	 *
+	 * @param lines The lines of the message
+	 */
+	public void message(List<Text> lines) {
+		this.messages.addAll(lines);
+	}
+
+	public void message(Text line) {
+		this.messages.add(line);
+	}
+}
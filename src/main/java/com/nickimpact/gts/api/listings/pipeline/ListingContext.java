@@ -0,0 +1,84 @@
+package com.nickimpact.gts.api.listings.pipeline;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.nickimpact.gts.api.listings.Listing;
+import lombok.Getter;
+import lombok.Setter;
+import org.spongepowered.api.entity.living.player.Player;
+import org.spongepowered.api.text.Text;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Holds a listing on its way to the market, alongside everything the stages it passes through have worked out
+ * about it. Stages run one after another, so only ever one stage works with a context at a time.
+ *
+ * @author NickImpact
+ */
+@Getter
+public class ListingContext {
+
+	/** The player depositing the listing */
+	private final Player player;
+
+	/** The listing being added to the market */
+	private final Listing listing;
+
+	/** The variables handed to the text parser when rendering anything about the listing */
+	private final Map<String, Object> variables = Maps.newHashMap();
+
+	/** Messages for the player, sent on the server thread once the listing has finished the pipeline */
+	private final List<Text> messages = Lists.newArrayList();
+
+	/** Anything else stages wish to share with one another, such as those added by other plugins */
+	private final Map<String, Object> attributes = Maps.newHashMap();
+
+	/** The tax due for the listing */
+	@Setter private BigDecimal tax = BigDecimal.ZERO;
+
+	/** Whether the tax due has been taken from the player */
+	@Setter private boolean charged;
+
+	/** The broadcast announcing the listing to the rest of the server */
+	@Setter private List<Text> broadcast = Lists.newArrayList();
+
+	/** The content of the Discord notification announcing the listing */
+	@Setter private String discordContent;
+
+	/** The hover template of the log recording the listing */
+	@Setter private List<String> logTemplate = Lists.newArrayList();
+
+	public ListingContext(Player player, Listing listing) {
+		this.player = player;
+		this.listing = listing;
+		this.variables.put("dummy", listing.getEntry().getEntry());
+		this.variables.put("dummy2", listing);
+		this.variables.put("dummy3", listing.getEntry());
+	}
+
+	/**
+	 * Queues messages to be sent to the player once the listing has finished the pipeline.
+	 *
+	 * @param lines The lines of the message
+	 */
+	public void message(List<Text> lines) {
+		this.messages.addAll(lines);
+	}
+
+	public void message(Text line) {
+		this.messages.add(line);
+	}
+
+	@SuppressWarnings("unchecked")
+	public <T> Optional<T> getAttribute(String key) {
+		return Optional.ofNullable((T) this.attributes.get(key));
+	}
+
+	public void setAttribute(String key, Object value) {
+		this.attributes.put(key, value);
+	}
+}
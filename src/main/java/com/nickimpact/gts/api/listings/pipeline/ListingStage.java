@@ -0,0 +1,86 @@
+package com.nickimpact.gts.api.listings.pipeline;
+
+import java.util.List;
+
+/**
+ * A single step a listing passes through on its way to the market. Each stage declares whether it must run on
+ * the server thread, such as one handing an entry to or from a player, or may run off it, such as one which
+ * only validates or renders text.
+ *
+ * <p>Should a stage fail, each stage which had already completed is rolled back, latest first, on the same
+ * kind of thread it ran on.</p>
+ *
+ * <p>Listings deposited together, such as through a bulk sell, pass through each stage as a {@link ListingBatch}.
+ * Unless a stage handles batches itself, it is simply applied to each listing of the batch in turn.</p>
+ *
+ * @author NickImpact
+ */
+public interface ListingStage {
+
+	/**
+	 * @return A short, unique name for the stage, used to place other stages around it and to report its timings
+	 */
+	String getName();
+
+	/**
+	 * @return Whether the stage must run on the server thread
+	 */
+	boolean requiresMainThread();
+
+	/**
+	 * Applies the stage to a listing on its way to the market.
+	 *
+	 * @param context The listing, alongside everything earlier stages have worked out about it
+	 * @return True if the listing may proceed to the next stage, false if it should go no further
+	 * @throws Exception If the stage failed, which is treated the same as returning false
+	 */
+	boolean apply(ListingContext context) throws Exception;
+
+	/**
+	 * Undoes the work of the stage, as a later stage has failed.
+	 *
+	 * @param context The listing, alongside everything earlier stages have worked out about it
+	 */
+	default void rollback(ListingContext context) {}
+
+	/**
+	 * Applies the stage to a batch of listings deposited together. Should the stage fail for any one listing,
+	 * it is rolled back for those it had already been applied to, and the batch goes no further.
+	 *
+	 * @param batch The listings, alongside everything earlier stages have worked out about them
+	 * @return True if the batch may proceed to the next stage, false if it should go no further
+	 * @throws Exception If the stage failed, which is treated the same as returning false
+	 */
+	default boolean applyAll(ListingBatch batch) throws Exception {
+		List<ListingContext> contexts = batch.getContexts();
+		for(int i = 0; i < contexts.size(); i++) {
+			boolean passed = false;
+			try {
+				passed = this.apply(contexts.get(i));
+			} finally {
+				if(!passed) {
+					for(int j = i - 1; j >= 0; j--) {
+						this.rollback(contexts.get(j));
+					}
+				}
+			}
+
+			if(!passed) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Undoes the work of the stage for a batch of listings, as a later stage has failed.
+	 *
+	 * @param batch The listings, alongside everything earlier stages have worked out about them
+	 */
+	default void rollbackAll(ListingBatch batch) {
+		List<ListingContext> contexts = batch.getContexts();
+		for(int i = contexts.size() - 1; i >= 0; i--) {
+			this.rollback(contexts.get(i));
+		}
+	}
+}
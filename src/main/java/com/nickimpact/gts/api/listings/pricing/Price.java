@@ -1,6 +1,7 @@
 package com.nickimpact.gts.api.listings.pricing;
 
 import com.nickimpact.gts.api.json.Typing;
+import com.nickimpact.gts.api.utils.Futures;
 import lombok.Getter;
 import org.spongepowered.api.entity.living.player.Player;
 import org.spongepowered.api.entity.living.player.User;
@@ -9,6 +10,7 @@ import org.spongepowered.api.text.Text;
 
 import java.math.BigDecimal;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * (Some note will go here)
@@ -47,6 +49,20 @@ public abstract class Price<T> {
 	 */
 	public abstract boolean canPay(User user) throws Exception;
 
+	/**
+	 * States whether or not a user can afford this price, without holding up the server thread. By default,
+	 * this simply runs {@link #canPay(User)} on the calling thread. Prices backed by a slow service, such as an
+	 * economy stored in a remote database, should override this to do the lookup elsewhere.
+	 *
+	 * <p>This is always called from the server thread.</p>
+	 *
+	 * @param user The user to check
+	 * @return A completable future, completed with whether the user can afford the price
+	 */
+	public CompletableFuture<Boolean> canPayAsync(User user) {
+		return Futures.now(() -> this.canPay(user));
+	}
+
 	/**
 	 * Withdraws the current status of the price from the specified user.
 	 *
@@ -55,6 +71,22 @@ public abstract class Price<T> {
 	 */
 	public abstract void pay(User user) throws Exception;
 
+	/**
+	 * Withdraws the price from the specified user, without holding up the server thread. By default, this
+	 * simply runs {@link #pay(User)} on the calling thread.
+	 *
+	 * <p>This is always called from the server thread.</p>
+	 *
+	 * @param user The user to withdraw from
+	 * @return A completable future, completed once the user has paid, or exceptionally should they fail to
+	 */
+	public CompletableFuture<Void> payAsync(User user) {
+		return Futures.now(() -> {
+			this.pay(user);
+			return null;
+		});
+	}
+
 	/**
 	 *
 	 *
@@ -83,5 +115,21 @@ public abstract class Price<T> {
 	 */
 	public abstract void reward(UUID uuid) throws Exception;
 
+	/**
+	 * Hands the price to the specified user, without holding up the server thread. By default, this simply
+	 * runs {@link #reward(UUID)} on the calling thread.
+	 *
+	 * <p>This is always called from the server thread.</p>
+	 *
+	 * @param uuid The UUID of the user
+	 * @return A completable future, completed once the user has been rewarded, or exceptionally should that fail
+	 */
+	public CompletableFuture<Void> rewardAsync(UUID uuid) {
+		return Futures.now(() -> {
+			this.reward(uuid);
+			return null;
+		});
+	}
+
 	public abstract void openCreateUI(Player player);
 }
@@ -18,17 +18,16 @@ import io.github.nucleuspowered.nucleus.api.exceptions.PluginAlreadyRegisteredEx
 import io.github.nucleuspowered.nucleus.api.service.NucleusMessageTokenService;
 import org.spongepowered.api.command.CommandSource;
 import org.spongepowered.api.entity.living.player.Player;
+import org.spongepowered.api.entity.living.player.User;
 import org.spongepowered.api.item.inventory.ItemStack;
 import org.spongepowered.api.text.Text;
 import org.spongepowered.api.text.serializer.TextSerializers;
 
 import javax.annotation.Nonnull;
-import java.time.Duration;
-import java.time.Instant;
-import java.util.Date;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 
 /**
  * (Some note will go here)
@@ -114,7 +113,10 @@ public final class TokenService implements NucleusMessageTokenService.TokenParse
 
 			return Optional.of(Text.of("No bidder..."));
 		});
-		translatorMap.put("max_listings", (p, v, m) -> Optional.of(Text.of(GTS.getInstance().getConfig().get(ConfigKeys.MAX_LISTINGS))));
+		translatorMap.put("max_listings", (p, v, m) -> Optional.of(Text.of(p instanceof User ?
+				GTS.getInstance().getListingLimits().getLimit((User) p) :
+				GTS.getInstance().getConfig().get(ConfigKeys.MAX_LISTINGS)
+		)));
 		translatorMap.put("id", (p, v, m) -> {
 			Listing listing = getListingFromVaribleIfExists(m);
 			return Optional.of(listing != null ? Text.of(listing.getUuid()) : Text.EMPTY);
@@ -124,11 +126,8 @@ public final class TokenService implements NucleusMessageTokenService.TokenParse
 			if(listing == null)
 				return Optional.of(Text.EMPTY);
 
-			Date expiration = listing.getExpiration();
-			Date now = Date.from(Instant.now());
-			Time time = new Time(Duration.between(now.toInstant(), expiration.toInstant()).getSeconds());
-
-			return Optional.of(Text.of(time.toString()));
+			long left = listing.getTimeLeft(GTS.getInstance().getTickScheduler().currentTime());
+			return Optional.of(Text.of(Time.format(TimeUnit.MILLISECONDS.toSeconds(left))));
 		});
 		translatorMap.put("listing_specifics", (p, v, m) -> {
 			Listing listing = getListingFromVaribleIfExists(m);
@@ -69,14 +69,30 @@ public class Time
     @Override
     public String toString()
     {
-	    if(time <= 0)
-		    return "Expired";
-
-	    return String.format(
-	    		"%02d:%02d:%02d",
-			    TimeUnit.SECONDS.toHours(this.time),
-			    TimeUnit.SECONDS.toMinutes(this.time) % 60,
-			    this.time % 60
-	    );
+	    return format(this.time);
     }
+
+	/**
+	 * Formats a number of seconds as hours, minutes and seconds, such as "01:23:45", without creating a
+	 * {@link Time} to do so.
+	 *
+	 * @param seconds The number of seconds
+	 * @return The formatted time, or "Expired" should no time remain
+	 */
+	public static String format(long seconds) {
+		if(seconds <= 0)
+			return "Expired";
+
+		StringBuilder out = new StringBuilder(8);
+		pad(out, TimeUnit.SECONDS.toHours(seconds)).append(':');
+		pad(out, TimeUnit.SECONDS.toMinutes(seconds) % 60).append(':');
+		return pad(out, seconds % 60).toString();
+	}
+
+	private static StringBuilder pad(StringBuilder out, long value) {
+		if(value < 10) {
+			out.append('0');
+		}
+		return out.append(value);
+	}
 }
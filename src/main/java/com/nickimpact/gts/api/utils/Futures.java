@@ -0,0 +1,57 @@
+package com.nickimpact.gts.api.utils;
+
+import com.nickimpact.gts.GTS;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Helpers for bridging work which may throw checked exceptions into {@link CompletableFuture}s.
+ *
+ * @author NickImpact
+ */
+public class Futures {
+
+	/**
+	 * Runs a piece of work on the calling thread, capturing its result, or the exception it threw, in a future.
+	 *
+	 * @param work The work to run
+	 * @return A completed future holding the outcome of the work
+	 */
+	public static <T> CompletableFuture<T> now(Callable<T> work) {
+		CompletableFuture<T> future = new CompletableFuture<>();
+		try {
+			future.complete(work.call());
+		} catch (Exception e) {
+			future.completeExceptionally(e);
+		}
+		return future;
+	}
+
+	/**
+	 * Runs a piece of work on the async executor.
+	 *
+	 * @param work The work to run
+	 * @return A future completed with the outcome of the work
+	 */
+	public static <T> CompletableFuture<T> async(Callable<T> work) {
+		return CompletableFuture.supplyAsync(() -> {
+			try {
+				return work.call();
+			} catch (RuntimeException e) {
+				throw e;
+			} catch (Exception e) {
+				throw new CompletionException(e);
+			}
+		}, GTS.getInstance().getAsyncExecutorService());
+	}
+
+	/**
+	 * @param error An error a future completed with
+	 * @return The error itself, unwrapped from the {@link CompletionException} it may have been wrapped in
+	 */
+	public static Throwable unwrap(Throwable error) {
+		return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+	}
+}
@@ -0,0 +1,61 @@
+package com.nickimpact.gts.broadcast;
+
+import com.nickimpact.gts.configuration.MsgConfigKeys;
+import com.nickimpact.gts.discord.DiscordOption;
+import com.nickimpact.impactor.api.configuration.ConfigKey;
+import lombok.Builder;
+import lombok.Getter;
+import org.spongepowered.api.text.Text;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * A single event worth announcing to the server and to Discord, such as a new listing or a won auction. The
+ * chat lines are rendered once, by whoever raises the announcement, and are then shared by every recipient.
+ *
+ * @author NickImpact
+ */
+@Getter
+@Builder
+public class Announcement {
+
+	/** What kind of event is being announced */
+	private final Kind kind;
+
+	/** The user responsible for the event, who does not receive the announcement themselves */
+	private final UUID source;
+
+	/** The name of the user responsible for the event */
+	private final String sourceName;
+
+	/** The typing id of the entry the event concerns, such as "Pokemon" */
+	private final String category;
+
+	/** The rendered chat lines to broadcast. If not set, the announcement is only sent to Discord */
+	private final List<Text> lines;
+
+	/** The Discord channels to notify, if any */
+	private final DiscordOption discord;
+
+	/** The plain text content to send to Discord */
+	private final String discordContent;
+
+	@Getter
+	public enum Kind {
+
+		Addition(MsgConfigKeys.DIGEST_ADDITION),
+		Bid(MsgConfigKeys.DIGEST_BID),
+		AuctionWin(MsgConfigKeys.DIGEST_AUCTION_WIN),
+		Purchase(MsgConfigKeys.DIGEST_PURCHASE),
+		Expiration(MsgConfigKeys.DIGEST_EXPIRATION),
+		Removal(MsgConfigKeys.DIGEST_REMOVAL);
+
+		/** The template used to summarize a burst of these announcements */
+		private final ConfigKey<List<String>> digest;
+
+		Kind(ConfigKey<List<String>> digest) {
+			this.digest = digest;
+		}
+	}
+}
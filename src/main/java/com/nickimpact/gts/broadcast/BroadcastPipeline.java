@@ -0,0 +1,170 @@
+package com.nickimpact.gts.broadcast;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.nickimpact.gts.GTS;
+import com.nickimpact.gts.configuration.ConfigKeys;
+import com.nickimpact.gts.discord.DiscordOption;
+import com.nickimpact.gts.scheduling.TickScheduler;
+import io.github.nucleuspowered.nucleus.api.exceptions.NucleusException;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import org.spongepowered.api.Sponge;
+import org.spongepowered.api.command.CommandSource;
+import org.spongepowered.api.entity.living.player.Player;
+import org.spongepowered.api.scheduler.Task;
+import org.spongepowered.api.text.Text;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Collects every {@link Announcement} GTS makes, and delivers them to chat and Discord in batches. Announcements
+ * are gathered over a short window, and a burst of the same kind of announcement from the same user, such as a
+ * player listing thirty Pokemon in quick succession, is summarized into a single digest line.
+ *
+ * <p>Announcements are rendered once when raised, and digests once per burst, so the cost of a broadcast never
+ * scales with the number of players online. Each player may additionally only receive so many broadcasts a
+ * minute, past which further broadcasts are skipped for them until the minute is up.</p>
+ *
+ * @author NickImpact
+ */
+public class BroadcastPipeline {
+
+	private static final long RATE_WINDOW = TimeUnit.MINUTES.toMillis(1);
+
+	private final Queue<Announcement> pending = new ConcurrentLinkedQueue<>();
+
+	/** The number of broadcasts each player has received within the current minute. Only used on the server thread */
+	private final Map<UUID, Integer> received = Maps.newHashMap();
+	private long windowStart;
+
+	private Task task;
+
+	public void init(GTS plugin) {
+		this.task = Sponge.getScheduler().createTaskBuilder()
+				.async()
+				.execute(this::flush)
+				.interval(Math.max(50, plugin.getConfig().get(ConfigKeys.BROADCAST_COALESCE_WINDOW)), TimeUnit.MILLISECONDS)
+				.name("GTS Broadcast Pipeline")
+				.submit(plugin);
+	}
+
+	public void shutdown() {
+		if(this.task != null) {
+			this.task.cancel();
+		}
+		this.pending.clear();
+	}
+
+	/**
+	 * Queues an announcement to be sent with the next batch.
+	 *
+	 * @param announcement The announcement
+	 */
+	public void announce(Announcement announcement) {
+		this.pending.add(announcement);
+	}
+
+	private void flush() {
+		if(this.pending.isEmpty()) {
+			return;
+		}
+
+		// Announcements without a source can't form a burst, so are keyed by themselves
+		Map<Object, List<Announcement>> bursts = Maps.newLinkedHashMap();
+		Announcement announcement;
+		while((announcement = this.pending.poll()) != null) {
+			Object key = announcement.getSource() != null ? new Burst(announcement.getKind(), announcement.getSource(), announcement.getCategory()) : announcement;
+			bursts.computeIfAbsent(key, k -> Lists.newArrayList()).add(announcement);
+		}
+
+		GTS.getInstance().getTickScheduler().submit(TickScheduler.Priority.NOTIFICATION, "broadcast", () -> {
+			int threshold = GTS.getInstance().getConfig().get(ConfigKeys.BROADCAST_DIGEST_THRESHOLD);
+			for(List<Announcement> burst : bursts.values()) {
+				if(threshold > 0 && burst.size() >= threshold) {
+					this.deliverDigest(burst);
+				} else {
+					for(Announcement single : burst) {
+						this.deliver(single.getLines(), single.getSource());
+						this.notify(single.getDiscord(), single.getDiscordContent());
+					}
+				}
+			}
+		});
+	}
+
+	private void deliverDigest(List<Announcement> burst) {
+		Announcement first = burst.get(0);
+
+		Map<String, Function<CommandSource, Optional<Text>>> tokens = Maps.newHashMap();
+		tokens.put("broadcaster", src -> Optional.of(Text.of(first.getSourceName())));
+		tokens.put("count", src -> Optional.of(Text.of(burst.size())));
+		tokens.put("entry_type", src -> Optional.of(Text.of(first.getCategory())));
+
+		List<Text> digest;
+		try {
+			digest = GTS.getInstance().getTextParsingUtils().parse(
+					GTS.getInstance().getMsgConfig().get(first.getKind().getDigest()),
+					null,
+					tokens,
+					null
+			);
+		} catch (NucleusException e) {
+			e.printStackTrace();
+			return;
+		}
+
+		if(first.getLines() != null) {
+			this.deliver(digest, first.getSource());
+		}
+		this.notify(first.getDiscord(), Text.joinWith(Text.NEW_LINE, digest).toPlain());
+	}
+
+	private void deliver(List<Text> lines, UUID exclude) {
+		if(lines == null || lines.isEmpty()) {
+			return;
+		}
+
+		long now = System.currentTimeMillis();
+		if(now - this.windowStart >= RATE_WINDOW) {
+			this.received.clear();
+			this.windowStart = now;
+		}
+
+		int limit = GTS.getInstance().getConfig().get(ConfigKeys.BROADCAST_PLAYER_LIMIT);
+		for(Player player : GTS.getInstance().getRecipients().getRecipients()) {
+			if(player.getUniqueId().equals(exclude)) {
+				continue;
+			}
+
+			if(limit > 0 && this.received.merge(player.getUniqueId(), 1, Integer::sum) > limit) {
+				continue;
+			}
+
+			player.sendMessages(lines);
+		}
+	}
+
+	private void notify(DiscordOption option, String content) {
+		if(option == null || content == null) {
+			return;
+		}
+
+		GTS.getInstance().getDiscordNotifier().ifPresent(notifier -> notifier.sendMessage(notifier.forgeMessage(option, content)));
+	}
+
+	@EqualsAndHashCode
+	@AllArgsConstructor
+	private static class Burst {
+		private final Announcement.Kind kind;
+		private final UUID source;
+		private final String category;
+	}
+}
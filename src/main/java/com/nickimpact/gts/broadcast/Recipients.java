@@ -0,0 +1,82 @@
+package com.nickimpact.gts.broadcast;
+
+import com.nickimpact.gts.GTS;
+import org.spongepowered.api.Sponge;
+import org.spongepowered.api.entity.living.player.Player;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Tracks which users have chosen to ignore GTS broadcasts, alongside the set of online players who should
+ * receive them. The recipients are kept up to date as players join, quit, or toggle their preference, so
+ * sending a broadcast never needs to filter the online players.
+ *
+ * @author NickImpact
+ */
+public class Recipients {
+
+	private final Set<UUID> ignorers = ConcurrentHashMap.newKeySet();
+	private final Map<UUID, Player> recipients = new ConcurrentHashMap<>();
+
+	/**
+	 * Replaces the known ignorers, such as on startup or once a backup has been restored, and rebuilds the
+	 * recipients from the players currently online.
+	 *
+	 * @param ignorers Every user ignoring broadcasts
+	 */
+	public void setIgnorers(Collection<UUID> ignorers) {
+		this.ignorers.clear();
+		this.ignorers.addAll(ignorers);
+
+		this.recipients.clear();
+		for(Player player : Sponge.getServer().getOnlinePlayers()) {
+			this.join(player);
+		}
+	}
+
+	public boolean isIgnoring(UUID uuid) {
+		return this.ignorers.contains(uuid);
+	}
+
+	/**
+	 * Flips whether or not the player ignores broadcasts, and records the change with the storage provider.
+	 *
+	 * @param player The player toggling their preference
+	 * @return True if the player now ignores broadcasts, false otherwise
+	 */
+	public boolean toggle(Player player) {
+		UUID uuid = player.getUniqueId();
+		if(this.ignorers.remove(uuid)) {
+			this.recipients.put(uuid, player);
+			GTS.getInstance().getStorage().removeIgnorer(uuid);
+			return false;
+		}
+
+		this.ignorers.add(uuid);
+		this.recipients.remove(uuid);
+		GTS.getInstance().getStorage().addIgnorer(uuid);
+		return true;
+	}
+
+	public void join(Player player) {
+		if(!this.ignorers.contains(player.getUniqueId())) {
+			this.recipients.put(player.getUniqueId(), player);
+		}
+	}
+
+	public void quit(UUID uuid) {
+		this.recipients.remove(uuid);
+	}
+
+	/**
+	 * @return A live, read only view of every online player who should receive broadcasts
+	 */
+	public Collection<Player> getRecipients() {
+		return Collections.unmodifiableCollection(this.recipients.values());
+	}
+}
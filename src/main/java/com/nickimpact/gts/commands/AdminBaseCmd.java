@@ -1,9 +1,13 @@
 package com.nickimpact.gts.commands;
 
+import com.nickimpact.gts.commands.administrative.BackupCmd;
 import com.nickimpact.gts.commands.administrative.ClearCmd;
 import com.nickimpact.gts.commands.administrative.EditCmd;
 import com.nickimpact.gts.commands.administrative.FakeAdditionCmd;
 import com.nickimpact.gts.commands.administrative.LogCmd;
+import com.nickimpact.gts.commands.administrative.QuarantineCmd;
+import com.nickimpact.gts.commands.administrative.SizesCmd;
+import com.nickimpact.gts.commands.administrative.StatsCmd;
 import com.nickimpact.impactor.api.commands.SpongeCommand;
 import com.nickimpact.impactor.api.commands.SpongeSubCommand;
 import com.nickimpact.impactor.api.commands.annotations.Aliases;
@@ -50,7 +54,11 @@ public class AdminBaseCmd extends SpongeSubCommand {
 				new ClearCmd(this.plugin),
 				new EditCmd(this.plugin),
 				new LogCmd(this.plugin),
-				new FakeAdditionCmd(plugin)
+				new FakeAdditionCmd(plugin),
+				new QuarantineCmd(this.plugin),
+				new BackupCmd(this.plugin),
+				new SizesCmd(this.plugin),
+				new StatsCmd(this.plugin)
 		};
 	}
 
@@ -0,0 +1,186 @@
+package com.nickimpact.gts.commands;
+
+import com.google.common.collect.Sets;
+import com.nickimpact.gts.GTS;
+import com.nickimpact.gts.GTSInfo;
+import com.nickimpact.gts.api.utils.Futures;
+import com.nickimpact.impactor.api.commands.SpongeSubCommand;
+import com.nickimpact.impactor.api.plugins.SpongePlugin;
+import org.spongepowered.api.Sponge;
+import org.spongepowered.api.command.CommandException;
+import org.spongepowered.api.command.CommandResult;
+import org.spongepowered.api.command.CommandSource;
+import org.spongepowered.api.command.args.CommandContext;
+import org.spongepowered.api.entity.living.player.Player;
+import org.spongepowered.api.scheduler.Task;
+import org.spongepowered.api.text.Text;
+import org.spongepowered.api.text.format.TextColors;
+
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * A sub command whose work is split into two phases. The compute phase, such as fetching logs from storage,
+ * runs off the server thread, and hands its result to the apply phase, which is always run on the server thread
+ * through the Sponge scheduler, where it is safe to message the source or touch the world.
+ *
+ * <p>Each command allows only so many executions to be computing at once, and gives up on any which take longer
+ * than its timeout. Should the player who ran the command disconnect before it finishes, the execution is
+ * cancelled, and its result is never applied. An execution which is given up on still holds its permit until
+ * its computation has actually finished, so abandoned work never piles up beyond the limit.</p>
+ *
+ * @param <T> The result handed from the compute phase to the apply phase
+ *
+ * @author NickImpact
+ */
+public abstract class AsyncSubCommand<T> extends SpongeSubCommand {
+
+	/** Every execution still computing, across all commands */
+	private static final Set<Execution> running = Sets.newConcurrentHashSet();
+
+	/** Limits how many executions of this command may be computing at once */
+	private final Semaphore permits;
+
+	public AsyncSubCommand(SpongePlugin plugin) {
+		this(plugin, 2);
+	}
+
+	/**
+	 * @param plugin The plugin owning the command
+	 * @param maxConcurrent How many executions of this command may be computing at once
+	 */
+	public AsyncSubCommand(SpongePlugin plugin, int maxConcurrent) {
+		super(plugin);
+		this.permits = new Semaphore(maxConcurrent);
+	}
+
+	/**
+	 * Checks the arguments of the command, and starts its work. This is called on the server thread, so anything
+	 * heavy should be left to the returned future, such as through {@link Futures#async(java.util.concurrent.Callable)}.
+	 *
+	 * @param src The source of the command
+	 * @param args The arguments of the command
+	 * @return A future completed with the result of the command, off the server thread
+	 * @throws CommandException If the arguments are invalid, in which case no work is started
+	 */
+	protected abstract CompletableFuture<T> compute(CommandSource src, CommandContext args) throws CommandException;
+
+	/**
+	 * Applies the result of the command, on the server thread.
+	 *
+	 * @param src The source of the command
+	 * @param args The arguments of the command
+	 * @param result The result of the compute phase
+	 * @throws CommandException If the result could not be applied, with the message to send to the source
+	 */
+	protected abstract void apply(CommandSource src, CommandContext args, T result) throws CommandException;
+
+	/**
+	 * @return How long, in milliseconds, the compute phase may take before it is abandoned
+	 */
+	protected long getTimeout() {
+		return TimeUnit.SECONDS.toMillis(30);
+	}
+
+	@Override
+	public final CommandResult execute(CommandSource src, CommandContext args) throws CommandException {
+		if(!this.permits.tryAcquire()) {
+			throw new CommandException(Text.of("That command is already running, please try again in a moment"));
+		}
+
+		// A dependent of the computed future is watched, so timing out or cancelling this execution never
+		// disturbs a future shared with anything else, such as one handed out by the storage
+		CompletableFuture<T> computed;
+		try {
+			computed = this.compute(src, args);
+		} catch (CommandException | RuntimeException e) {
+			this.permits.release();
+			throw e;
+		}
+
+		// The permit is held for as long as the work itself runs, even once this execution has been given up on
+		computed.whenComplete((result, error) -> this.permits.release());
+		CompletableFuture<T> future = computed.thenApply(result -> result);
+
+		Execution execution = new Execution(src, future);
+		running.add(execution);
+		Task timeout = Sponge.getScheduler().createTaskBuilder()
+				.async()
+				.delay(this.getTimeout(), TimeUnit.MILLISECONDS)
+				.execute(() -> future.completeExceptionally(new TimeoutException()))
+				.submit(GTS.getInstance());
+
+		future.whenComplete((result, error) -> {
+			timeout.cancel();
+			running.remove(execution);
+			Sponge.getScheduler().createTaskBuilder()
+					.execute(() -> this.deliver(src, args, result, error))
+					.name("GTS Command Result")
+					.submit(GTS.getInstance());
+		});
+
+		return CommandResult.success();
+	}
+
+	private void deliver(CommandSource src, CommandContext args, T result, Throwable error) {
+		if(src instanceof Player && !((Player) src).isOnline()) {
+			return;
+		}
+
+		if(error != null) {
+			error = Futures.unwrap(error);
+			if(error instanceof CancellationException) {
+				return;
+			}
+
+			if(error instanceof TimeoutException) {
+				src.sendMessage(Text.of(GTSInfo.ERROR, TextColors.GRAY, "That took too long to complete, please try again later..."));
+			} else if(error instanceof CommandException) {
+				src.sendMessage(Text.of(GTSInfo.ERROR, TextColors.RED, ((CommandException) error).getText()));
+			} else {
+				src.sendMessage(Text.of(GTSInfo.ERROR, TextColors.RED, "An error occurred whilst running that command, check the console for details"));
+				error.printStackTrace();
+			}
+			return;
+		}
+
+		try {
+			this.apply(src, args, result);
+		} catch (CommandException e) {
+			src.sendMessage(Text.of(GTSInfo.ERROR, TextColors.RED, e.getText()));
+		} catch (Exception e) {
+			src.sendMessage(Text.of(GTSInfo.ERROR, TextColors.RED, "An error occurred whilst running that command, check the console for details"));
+			e.printStackTrace();
+		}
+	}
+
+	/**
+	 * Cancels every execution a player started which is still computing, as they have disconnected.
+	 *
+	 * @param player The UUID of the player
+	 */
+	public static void cancel(UUID player) {
+		running.removeIf(execution -> {
+			if(execution.src instanceof Player && ((Player) execution.src).getUniqueId().equals(player)) {
+				execution.future.cancel(false);
+				return true;
+			}
+			return false;
+		});
+	}
+
+	private static class Execution {
+		private final CommandSource src;
+		private final CompletableFuture<?> future;
+
+		private Execution(CommandSource src, CompletableFuture<?> future) {
+			this.src = src;
+			this.future = future;
+		}
+	}
+}
@@ -1,9 +1,12 @@
 package com.nickimpact.gts.commands;
 
+import com.nickimpact.gts.GTS;
 import com.nickimpact.gts.commands.basic.AucCmd;
+import com.nickimpact.gts.commands.basic.BulkSellCmd;
 import com.nickimpact.gts.commands.basic.HelpCmd;
 import com.nickimpact.gts.commands.basic.IgnoreCmd;
 import com.nickimpact.gts.commands.basic.SellCmd;
+import com.nickimpact.gts.market.RateLimiter;
 import com.nickimpact.gts.ui.MainUI;
 import com.nickimpact.impactor.api.commands.SpongeCommand;
 import com.nickimpact.impactor.api.commands.annotations.Aliases;
@@ -52,12 +55,16 @@ public class GTSBaseCmd extends SpongeCommand {
 				new AdminBaseCmd(this.plugin),
 				new AucCmd(this.plugin),
 				new SellCmd(this.plugin),
+				new BulkSellCmd(this.plugin),
 		};
 	}
 
 	@Override
 	public CommandResult execute(CommandSource src, CommandContext args) throws CommandException {
 		if(src instanceof Player) {
+			if(!GTS.getInstance().getRateLimiter().tryAcquire((Player) src, RateLimiter.Action.Menu)) {
+				throw new CommandException(Text.of("You're doing that too quickly, please slow down..."));
+			}
 			new MainUI(((Player)src)).open((Player) src, 1);
 		} else if(src instanceof ConsoleSource) {
 			// Send help to console
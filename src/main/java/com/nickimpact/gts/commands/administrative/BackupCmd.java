@@ -0,0 +1,138 @@
+package com.nickimpact.gts.commands.administrative;
+
+import com.google.common.collect.Lists;
+import com.nickimpact.gts.GTS;
+import com.nickimpact.gts.GTSInfo;
+import com.nickimpact.gts.api.commands.arguments.DateArg;
+import com.nickimpact.gts.api.utils.Futures;
+import com.nickimpact.gts.commands.AsyncSubCommand;
+import com.nickimpact.gts.configuration.ConfigKeys;
+import com.nickimpact.gts.logs.Log;
+import com.nickimpact.gts.storage.backup.BackupManager;
+import com.nickimpact.impactor.api.commands.SpongeCommand;
+import com.nickimpact.impactor.api.commands.annotations.Aliases;
+import com.nickimpact.impactor.api.commands.annotations.Permission;
+import com.nickimpact.impactor.api.plugins.SpongePlugin;
+import org.spongepowered.api.command.CommandException;
+import org.spongepowered.api.command.CommandSource;
+import org.spongepowered.api.command.args.CommandContext;
+import org.spongepowered.api.command.args.CommandElement;
+import org.spongepowered.api.command.args.GenericArguments;
+import org.spongepowered.api.service.pagination.PaginationList;
+import org.spongepowered.api.text.Text;
+import org.spongepowered.api.text.format.TextColors;
+
+import java.io.File;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * (Some note will go here)
+ *
+ * @author NickImpact
+ */
+@Aliases({"backup", "backups"})
+@Permission(admin = true)
+public class BackupCmd extends AsyncSubCommand<List<File>> {
+
+	private final Text ACTION = Text.of("action");
+	private final Text TIME = Text.of("time");
+
+	public BackupCmd(SpongePlugin plugin) {
+		// Only one backup may be taken or restored at a time
+		super(plugin, 1);
+	}
+
+	@Override
+	public CommandElement[] getArgs() {
+		return new CommandElement[] {
+				GenericArguments.string(ACTION),
+				GenericArguments.optional(new DateArg(TIME))
+		};
+	}
+
+	@Override
+	public Text getDescription() {
+		return Text.of("Take, list, or restore backups of the GTS data");
+	}
+
+	@Override
+	public Text getUsage() {
+		return Text.of("/gts admin backup <now/list/restore> (mm/dd/yyyy-hh:mm)");
+	}
+
+	@Override
+	public SpongeCommand[] getSubCommands() {
+		return new SpongeCommand[0];
+	}
+
+	@Override
+	protected long getTimeout() {
+		// Restoring replays every change since the chosen snapshot, which may take some time
+		return TimeUnit.MINUTES.toMillis(10);
+	}
+
+	@Override
+	protected CompletableFuture<List<File>> compute(CommandSource src, CommandContext args) throws CommandException {
+		if(!GTS.getInstance().getConfig().get(ConfigKeys.BACKUPS_ENABLED)) {
+			throw new CommandException(Text.of("Backups are currently disabled within the config"));
+		}
+
+		BackupManager backups = GTS.getInstance().getBackupManager();
+		String action = args.<String>getOne(ACTION).get().toLowerCase();
+		Optional<Date> time = args.getOne(TIME);
+
+		switch (action) {
+			case "now":
+				src.sendMessage(Text.of(GTSInfo.PREFIX, TextColors.GRAY, "Taking a snapshot, please wait..."));
+				return backups.snapshot().<List<File>>thenApply(Lists::newArrayList);
+			case "list":
+				return Futures.async(backups::getSnapshots);
+			case "restore":
+				if(!time.isPresent()) {
+					throw new CommandException(Text.of("A time to restore to is required"));
+				}
+
+				src.sendMessage(Text.of(GTSInfo.PREFIX, TextColors.GRAY, "Restoring data to ", TextColors.YELLOW, Log.sdf.format(time.get()), TextColors.GRAY, ", please wait..."));
+				return backups.restore(time.get().getTime())
+						.<List<File>>thenApply(ignore -> Lists.newArrayList())
+						.exceptionally(error -> {
+							throw new CompletionException(new CommandException(Text.of("Restore failed: " + Futures.unwrap(error).getMessage())));
+						});
+			default:
+				throw new CommandException(Text.of("Unknown action, expected one of now, list, or restore"));
+		}
+	}
+
+	@Override
+	protected void apply(CommandSource src, CommandContext args, List<File> snapshots) throws CommandException {
+		BackupManager backups = GTS.getInstance().getBackupManager();
+		switch (args.<String>getOne(ACTION).get().toLowerCase()) {
+			case "now":
+				src.sendMessage(Text.of(
+						GTSInfo.PREFIX, TextColors.GRAY, "Snapshot saved as ", TextColors.YELLOW, snapshots.get(0).getName()
+				));
+				break;
+			case "list":
+				List<Text> info = Lists.newArrayList();
+				for(File snapshot : snapshots) {
+					info.add(Text.of(TextColors.YELLOW, Log.sdf.format(new Date(backups.getSnapshotTime(snapshot))), TextColors.GRAY, " - ", snapshot.length() / 1024, " KB"));
+				}
+
+				PaginationList.builder()
+						.title(Text.of(TextColors.YELLOW, "GTS Snapshots"))
+						.header(Text.of(TextColors.GRAY, "Changes between snapshots allow restoring to any time after the oldest"))
+						.contents(info)
+						.linesPerPage(8)
+						.sendTo(src);
+				break;
+			case "restore":
+				src.sendMessage(Text.of(GTSInfo.PREFIX, TextColors.GRAY, "Restore complete!"));
+				break;
+		}
+	}
+}
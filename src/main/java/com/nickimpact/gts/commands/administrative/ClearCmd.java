@@ -1,7 +1,9 @@
 package com.nickimpact.gts.commands.administrative;
 
 import com.nickimpact.gts.GTS;
+import com.nickimpact.gts.GTSInfo;
 import com.nickimpact.gts.api.listings.Listing;
+import com.nickimpact.gts.api.listings.ListingState;
 import com.nickimpact.gts.api.listings.entries.EntryHolder;
 import com.nickimpact.impactor.api.commands.SpongeCommand;
 import com.nickimpact.impactor.api.commands.SpongeSubCommand;
@@ -14,7 +16,11 @@ import org.spongepowered.api.command.CommandResult;
 import org.spongepowered.api.command.CommandSource;
 import org.spongepowered.api.command.args.CommandContext;
 import org.spongepowered.api.command.args.CommandElement;
+import org.spongepowered.api.entity.living.player.User;
 import org.spongepowered.api.text.Text;
+import org.spongepowered.api.text.format.TextColors;
+
+import java.util.Optional;
 
 /**
  * (Some note will go here)
@@ -51,20 +57,30 @@ public class ClearCmd extends SpongeSubCommand {
 
 	@Override
 	public CommandResult execute(CommandSource src, CommandContext args) throws CommandException {
-		for(Listing listing : GTS.getInstance().getListingsCache()) {
-			if(!listing.getEntry().supportsOffline()) {
-				if(!Sponge.getServer().getPlayer(listing.getOwnerUUID()).isPresent()) {
-					GTS.getInstance().getStorage().addHeldElement(new EntryHolder(listing.getUuid(), listing.getOwnerUUID(), listing.getEntry()));
-				} else {
-					listing.getEntry().giveEntry(Sponge.getServer().getPlayer(listing.getOwnerUUID()).get());
+		GTS.getInstance().getMarketQueue().submit("clear market", () -> {
+			int cleared = 0;
+			for(Listing listing : GTS.getInstance().getListingIndex().getAll()) {
+				// Someone is already buying or settling the listing, so it's left to them to remove or release
+				if(!listing.claim()) {
+					continue;
+				}
+
+				GTS.getInstance().getListingIndex().remove(listing);
+				GTS.getInstance().getStorage().removeListing(listing.getUuid());
+				listing.complete(ListingState.REMOVED);
+
+				// Owners not yet loaded are handed their entry through their mailbox, rather than waiting on their player data
+				Optional<User> owner = listing.getEntry().supportsOffline()
+						? GTS.getInstance().getUsers().getIfPresent(listing.getOwnerUUID())
+						: Sponge.getServer().getPlayer(listing.getOwnerUUID()).map(player -> (User) player);
+				if(!owner.isPresent() || !listing.getEntry().giveEntry(owner.get())) {
+					GTS.getInstance().getMailboxes().post(new EntryHolder(listing.getUuid(), listing.getOwnerUUID(), listing.getEntry()));
 				}
-			} else {
-				listing.getEntry().giveEntry(GTS.getInstance().getUserStorageService().get(listing.getOwnerUUID()).get());
+				cleared++;
 			}
-		}
 
-		GTS.getInstance().getListingsCache().clear();
-		GTS.getInstance().getStorage().purge(false);
+			src.sendMessage(Text.of(GTSInfo.PREFIX, TextColors.GRAY, "Cleared ", TextColors.YELLOW, cleared, TextColors.GRAY, " listings from the market"));
+		});
 		return CommandResult.success();
 	}
 }
@@ -23,8 +23,6 @@ import org.spongepowered.api.command.args.GenericArguments;
 import org.spongepowered.api.entity.living.player.Player;
 import org.spongepowered.api.text.Text;
 
-import java.sql.Date;
-import java.time.Instant;
 import java.util.UUID;
 
 @Aliases({"fakeaddition", "fake", "fakeadd", "fa"})
@@ -69,7 +67,7 @@ public class FakeAdditionCmd extends SpongeSubCommand {
 		Listing.builder()
 				.entry(new PokemonEntry((EntityPixelmon) PixelmonEntityList.createEntityByName(pokemon, (net.minecraft.world.World) Sponge.getServer().getWorld("world").get()), new MoneyPrice(500)))
 				.player(UUID.randomUUID(), "Totally Legit User")
-				.expiration(Date.from(Instant.now().plusSeconds(3600)))
+				.expiration(3600)
 				.build();
 
 		src.sendMessages(Text.of(GTSInfo.PREFIX, "Fake listing added!"));
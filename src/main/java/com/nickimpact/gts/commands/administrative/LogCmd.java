@@ -4,14 +4,13 @@ import com.google.common.collect.Lists;
 import com.nickimpact.gts.GTS;
 import com.nickimpact.gts.GTSInfo;
 import com.nickimpact.gts.api.commands.arguments.DateArg;
+import com.nickimpact.gts.commands.AsyncSubCommand;
 import com.nickimpact.gts.logs.Log;
 import com.nickimpact.impactor.api.commands.SpongeCommand;
-import com.nickimpact.impactor.api.commands.SpongeSubCommand;
 import com.nickimpact.impactor.api.commands.annotations.Aliases;
 import com.nickimpact.impactor.api.commands.annotations.Permission;
 import com.nickimpact.impactor.api.plugins.SpongePlugin;
 import org.spongepowered.api.command.CommandException;
-import org.spongepowered.api.command.CommandResult;
 import org.spongepowered.api.command.CommandSource;
 import org.spongepowered.api.command.args.CommandContext;
 import org.spongepowered.api.command.args.CommandElement;
@@ -25,6 +24,7 @@ import org.spongepowered.api.text.serializer.TextSerializers;
 
 import java.time.temporal.ChronoField;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
@@ -35,7 +35,7 @@ import java.util.stream.Collectors;
  */
 @Aliases({"logs"})
 @Permission(admin = true)
-public class LogCmd extends SpongeSubCommand {
+public class LogCmd extends AsyncSubCommand<List<Log>> {
 
 	private final Text USER = Text.of("user");
 	private final Text LOG = Text.of("log");
@@ -73,14 +73,13 @@ public class LogCmd extends SpongeSubCommand {
 	}
 
 	@Override
-	public CommandResult execute(CommandSource src, CommandContext args) throws CommandException {
+	protected CompletableFuture<List<Log>> compute(CommandSource src, CommandContext args) throws CommandException {
 		User user = args.<User>getOne(USER).get();
 		Optional<Date> from = args.getOne(FROM);
 		Optional<Date> to = args.getOne(TO);
-		Optional<Integer> id = args.getOne(LOG);
 
 		src.sendMessage(Text.of(GTSInfo.PREFIX, TextColors.GRAY, "Fetching logs, please wait..."));
-		GTS.getInstance().getStorage().getLogs(user.getUniqueId()).thenAccept(lgs -> {
+		return GTS.getInstance().getStorage().getLogs(user.getUniqueId()).thenApply(lgs -> {
 			Predicate<Log> predicate = log -> {
 				if(from.isPresent()) {
 					return to.map(date -> {
@@ -88,42 +87,47 @@ public class LogCmd extends SpongeSubCommand {
 							Calendar cal = new GregorianCalendar(date.toInstant().get(ChronoField.YEAR), date.toInstant().get(ChronoField.MONTH_OF_YEAR), date.toInstant().get(ChronoField.DAY_OF_MONTH));
 							cal.set(Calendar.HOUR_OF_DAY, 23);
 							cal.set(Calendar.MINUTE, 59);
-							return log.getDate().after(from.get()) && log.getDate().before(cal.getTime());
+							return log.getDate() > from.get().getTime() && log.getDate() < cal.getTimeInMillis();
 						}
-						return log.getDate().after(from.get()) && log.getDate().before(date);
-					}).orElseGet(() -> log.getDate().after(from.get()));
-				} else return to.map(date -> log.getDate().before(date)).orElse(true);
+						return log.getDate() > from.get().getTime() && log.getDate() < date.getTime();
+					}).orElseGet(() -> log.getDate() > from.get().getTime());
+				} else return to.map(date -> log.getDate() < date.getTime()).orElse(true);
 			};
 
-			List<Log> collection = lgs.stream().filter(predicate).collect(Collectors.toList());
-
-			if(id.isPresent()) {
-				Log log = collection.get(id.get() - 1);
-				src.sendMessages(log.getHover().stream().map(TextSerializers.FORMATTING_CODE::deserialize).collect(Collectors.toList()));
-			} else {
-				try {
-					List<Text> info = Lists.newArrayList(Text.EMPTY);
-					int index = 0;
-					for (Log log : collection) {
-						info.add(log.toText(src, ++index));
-					}
-
-
-					from.ifPresent(date -> src.sendMessage(Text.of(TextColors.GRAY, "From: ", TextColors.YELLOW, Log.sdf.format(date))));
-					to.ifPresent(date -> src.sendMessage(Text.of(TextColors.GRAY, "To: ", TextColors.YELLOW, Log.sdf.format(date))));
-					Text header = Text.of(TextColors.GRAY, src instanceof Player ? "Hover over an entry for more info!" : "Specify a log ID for more info!");
-					PaginationList.builder()
-							.title(Text.of(TextColors.YELLOW, user.getName(), "'s Logs"))
-							.header(header)
-							.contents(info)
-							.linesPerPage(8)
-							.sendTo(src);
-				} catch (Exception e) {
-					e.printStackTrace();
-				}
-			}
+			return lgs.stream().filter(predicate).collect(Collectors.toList());
 		});
+	}
+
+	@Override
+	protected void apply(CommandSource src, CommandContext args, List<Log> collection) throws CommandException {
+		User user = args.<User>getOne(USER).get();
+		Optional<Date> from = args.getOne(FROM);
+		Optional<Date> to = args.getOne(TO);
+		Optional<Integer> id = args.getOne(LOG);
+
+		if(id.isPresent()) {
+			if(id.get() < 1 || id.get() > collection.size()) {
+				throw new CommandException(Text.of("No log exists with that ID"));
+			}
+
+			Log log = collection.get(id.get() - 1);
+			src.sendMessages(log.getHover().stream().map(TextSerializers.FORMATTING_CODE::deserialize).collect(Collectors.toList()));
+		} else {
+			List<Text> info = Lists.newArrayList(Text.EMPTY);
+			int index = 0;
+			for (Log log : collection) {
+				info.add(log.toText(src, ++index));
+			}
 
-		return CommandResult.success();
+			from.ifPresent(date -> src.sendMessage(Text.of(TextColors.GRAY, "From: ", TextColors.YELLOW, Log.sdf.format(date))));
+			to.ifPresent(date -> src.sendMessage(Text.of(TextColors.GRAY, "To: ", TextColors.YELLOW, Log.sdf.format(date))));
+			Text header = Text.of(TextColors.GRAY, src instanceof Player ? "Hover over an entry for more info!" : "Specify a log ID for more info!");
+			PaginationList.builder()
+					.title(Text.of(TextColors.YELLOW, user.getName(), "'s Logs"))
+					.header(header)
+					.contents(info)
+					.linesPerPage(8)
+					.sendTo(src);
+		}
 	}
 }
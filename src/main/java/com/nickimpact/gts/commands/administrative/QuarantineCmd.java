@@ -0,0 +1,182 @@
+package com.nickimpact.gts.commands.administrative;
+
+import com.google.common.collect.Lists;
+import com.nickimpact.gts.GTS;
+import com.nickimpact.gts.GTSInfo;
+import com.nickimpact.gts.commands.AsyncSubCommand;
+import com.nickimpact.gts.logs.Log;
+import com.nickimpact.gts.storage.QuarantinedRow;
+import com.nickimpact.impactor.api.commands.SpongeCommand;
+import com.nickimpact.impactor.api.commands.annotations.Aliases;
+import com.nickimpact.impactor.api.commands.annotations.Permission;
+import com.nickimpact.impactor.api.plugins.SpongePlugin;
+import lombok.AllArgsConstructor;
+import org.spongepowered.api.command.CommandException;
+import org.spongepowered.api.command.CommandSource;
+import org.spongepowered.api.command.args.CommandContext;
+import org.spongepowered.api.command.args.CommandElement;
+import org.spongepowered.api.command.args.GenericArguments;
+import org.spongepowered.api.service.pagination.PaginationList;
+import org.spongepowered.api.text.Text;
+import org.spongepowered.api.text.format.TextColors;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+
+/**
+ * Allows administrators to inspect the rows the storage integrity scan was unable to decode, and
+ * either attempt to re-import them, or discard them entirely.
+ *
+ * @author NickImpact
+ */
+@Aliases({"quarantine"})
+@Permission(admin = true)
+public class QuarantineCmd extends AsyncSubCommand<QuarantineCmd.Outcome> {
+
+	private final Text ACTION = Text.of("action");
+	private final Text ID = Text.of("id");
+
+	public QuarantineCmd(SpongePlugin plugin) {
+		super(plugin);
+	}
+
+	@Override
+	public CommandElement[] getArgs() {
+		return new CommandElement[] {
+				GenericArguments.optional(GenericArguments.string(ACTION)),
+				GenericArguments.optional(GenericArguments.string(ID))
+		};
+	}
+
+	@Override
+	public Text getDescription() {
+		return Text.of("Inspect, re-import, or discard quarantined data");
+	}
+
+	@Override
+	public Text getUsage() {
+		return Text.of("/gts admin quarantine (list/view/retry/delete) (id/all)");
+	}
+
+	@Override
+	public SpongeCommand[] getSubCommands() {
+		return new SpongeCommand[0];
+	}
+
+	@Override
+	protected CompletableFuture<Outcome> compute(CommandSource src, CommandContext args) throws CommandException {
+		String action = args.<String>getOne(ACTION).orElse("list").toLowerCase();
+		Optional<String> id = args.getOne(ID);
+
+		if(!action.equals("list") && !id.isPresent()) {
+			throw new CommandException(Text.of("A quarantined row ID, or \"all\", is required for that action"));
+		}
+
+		switch (action) {
+			case "list":
+				return GTS.getInstance().getStorage().getQuarantined().thenApply(rows -> new Outcome(rows, 0));
+			case "view":
+				return GTS.getInstance().getStorage().getQuarantined().thenApply(rows -> new Outcome(this.matching(rows, id.get()), 0));
+			case "retry":
+				return GTS.getInstance().getStorage().getQuarantined().thenCompose(rows -> this.retry(this.matching(rows, id.get())));
+			case "delete":
+				return GTS.getInstance().getStorage().getQuarantined().thenCompose(rows -> this.delete(this.matching(rows, id.get())));
+			default:
+				throw new CommandException(Text.of("Unknown action, expected one of list, view, retry, or delete"));
+		}
+	}
+
+	@Override
+	protected void apply(CommandSource src, CommandContext args, Outcome outcome) throws CommandException {
+		switch (args.<String>getOne(ACTION).orElse("list").toLowerCase()) {
+			case "list":
+				this.list(src, outcome.rows);
+				break;
+			case "view":
+				outcome.rows.forEach(row -> this.view(src, row));
+				break;
+			case "retry":
+				src.sendMessage(Text.of(
+						GTSInfo.PREFIX, TextColors.GRAY, "Re-imported ", TextColors.YELLOW, outcome.affected,
+						TextColors.GRAY, " of ", TextColors.YELLOW, outcome.rows.size(), TextColors.GRAY, " quarantined rows"
+				));
+				break;
+			case "delete":
+				src.sendMessage(Text.of(
+						GTSInfo.PREFIX, TextColors.GRAY, "Discarded ", TextColors.YELLOW, outcome.affected, TextColors.GRAY, " quarantined rows"
+				));
+				break;
+		}
+	}
+
+	private List<QuarantinedRow> matching(List<QuarantinedRow> rows, String id) {
+		if(id.equalsIgnoreCase("all")) {
+			return rows;
+		}
+
+		return rows.stream().filter(row -> row.getUuid().toString().startsWith(id.toLowerCase())).collect(Collectors.toList());
+	}
+
+	private void list(CommandSource src, List<QuarantinedRow> rows) {
+		if(rows.isEmpty()) {
+			src.sendMessage(Text.of(GTSInfo.PREFIX, TextColors.GRAY, "No data is currently quarantined"));
+			return;
+		}
+
+		List<Text> info = Lists.newArrayList();
+		for(QuarantinedRow row : rows) {
+			info.add(Text.of(
+					TextColors.YELLOW, row.getUuid().toString().substring(0, 8), " ",
+					TextColors.DARK_AQUA, row.getOrigin(), " ",
+					TextColors.GRAY, Log.sdf.format(new Date(row.getTime()))
+			));
+		}
+
+		PaginationList.builder()
+				.title(Text.of(TextColors.YELLOW, "Quarantined Data"))
+				.header(Text.of(TextColors.GRAY, "Use \"view <id>\" to see why a row was quarantined"))
+				.contents(info)
+				.linesPerPage(8)
+				.sendTo(src);
+	}
+
+	private void view(CommandSource src, QuarantinedRow row) {
+		src.sendMessages(
+				Text.of(TextColors.GRAY, "ID: ", TextColors.YELLOW, row.getUuid()),
+				Text.of(TextColors.GRAY, "Origin: ", TextColors.YELLOW, row.getOrigin()),
+				Text.of(TextColors.GRAY, "Quarantined: ", TextColors.YELLOW, Log.sdf.format(new Date(row.getTime()))),
+				Text.of(TextColors.GRAY, "Reason: ", TextColors.RED, row.getReason()),
+				Text.of(TextColors.GRAY, "Payload: ", TextColors.WHITE, row.getPayload())
+		);
+	}
+
+	private CompletableFuture<Outcome> retry(List<QuarantinedRow> rows) {
+		List<CompletableFuture<Boolean>> attempts = rows.stream()
+				.map(row -> GTS.getInstance().getStorage().restoreQuarantined(row.getUuid()))
+				.collect(Collectors.toList());
+
+		return CompletableFuture.allOf(attempts.toArray(new CompletableFuture[0])).thenApply(ignore -> new Outcome(
+				rows, attempts.stream().filter(CompletableFuture::join).count()
+		));
+	}
+
+	private CompletableFuture<Outcome> delete(List<QuarantinedRow> rows) {
+		List<CompletableFuture<Void>> removals = rows.stream()
+				.map(row -> GTS.getInstance().getStorage().removeQuarantined(row.getUuid()))
+				.collect(Collectors.toList());
+
+		return CompletableFuture.allOf(removals.toArray(new CompletableFuture[0])).thenApply(ignore -> new Outcome(rows, rows.size()));
+	}
+
+	/**
+	 * The rows an action was applied to, and how many of them it succeeded for.
+	 */
+	@AllArgsConstructor
+	static class Outcome {
+		private final List<QuarantinedRow> rows;
+		private final long affected;
+	}
+}
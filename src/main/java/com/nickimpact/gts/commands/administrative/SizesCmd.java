@@ -0,0 +1,120 @@
+package com.nickimpact.gts.commands.administrative;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Ordering;
+import com.nickimpact.gts.GTS;
+import com.nickimpact.gts.api.listings.Listing;
+import com.nickimpact.gts.api.utils.Futures;
+import com.nickimpact.gts.commands.AsyncSubCommand;
+import com.nickimpact.gts.market.ListingIndex;
+import com.nickimpact.gts.utils.StringUtils;
+import com.nickimpact.impactor.api.commands.SpongeCommand;
+import com.nickimpact.impactor.api.commands.annotations.Aliases;
+import com.nickimpact.impactor.api.commands.annotations.Permission;
+import com.nickimpact.impactor.api.plugins.SpongePlugin;
+import lombok.AllArgsConstructor;
+import org.spongepowered.api.command.CommandException;
+import org.spongepowered.api.command.CommandSource;
+import org.spongepowered.api.command.args.CommandContext;
+import org.spongepowered.api.command.args.CommandElement;
+import org.spongepowered.api.service.pagination.PaginationList;
+import org.spongepowered.api.text.Text;
+import org.spongepowered.api.text.format.TextColors;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * (Some note will go here)
+ *
+ * @author NickImpact
+ */
+@Aliases({"sizes"})
+@Permission(admin = true)
+public class SizesCmd extends AsyncSubCommand<SizesCmd.Report> {
+
+	/** How many of the largest owners are shown */
+	private static final int TOP_OWNERS = 5;
+
+	/** How many of the largest listings are shown */
+	private static final int TOP_LISTINGS = 10;
+
+	public SizesCmd(SpongePlugin plugin) {
+		super(plugin);
+	}
+
+	@Override
+	public CommandElement[] getArgs() {
+		return new CommandElement[0];
+	}
+
+	@Override
+	public Text getDescription() {
+		return Text.of("Displays the largest listings and owners on the market, by stored size");
+	}
+
+	@Override
+	public Text getUsage() {
+		return Text.of("/gts admin sizes");
+	}
+
+	@Override
+	public SpongeCommand[] getSubCommands() {
+		return new SpongeCommand[0];
+	}
+
+	@Override
+	protected CompletableFuture<Report> compute(CommandSource src, CommandContext args) throws CommandException {
+		return Futures.async(() -> {
+			ListingIndex index = GTS.getInstance().getListingIndex();
+			List<Map.Entry<UUID, Long>> owners = Ordering.from(Map.Entry.<UUID, Long>comparingByValue())
+					.greatestOf(index.getBytesByOwner().entrySet(), TOP_OWNERS);
+
+			List<Text> names = Lists.newArrayList();
+			for(Map.Entry<UUID, Long> owner : owners) {
+				String name = index.getByOwner(owner.getKey()).stream().findAny().map(Listing::getOwnerName).orElse(owner.getKey().toString());
+				names.add(Text.of(TextColors.YELLOW, "  ", name, TextColors.GRAY, " - ", StringUtils.formatBytes(owner.getValue())));
+			}
+
+			// Sizes are measured as each listing enters the market, so this only compares the cached values
+			List<Listing> largest = Ordering.from(Comparator.comparingLong(Listing::getSize)).greatestOf(index.getAll(), TOP_LISTINGS);
+			return new Report(names, largest, index.getTotalBytes(), index.size());
+		});
+	}
+
+	@Override
+	protected void apply(CommandSource src, CommandContext args, Report report) throws CommandException {
+		List<Text> info = Lists.newArrayList();
+		info.add(Text.of(TextColors.GOLD, "Largest Owners:"));
+		info.addAll(report.owners);
+
+		info.add(Text.of(TextColors.GOLD, "Largest Listings:"));
+		for(Listing listing : report.largest) {
+			info.add(Text.of(
+					TextColors.YELLOW, "  ", listing.getName(), TextColors.GRAY, " (", listing.getOwnerName(), ") - ",
+					StringUtils.formatBytes(listing.getSize()), TextColors.DARK_GRAY, " ", listing.getUuid().toString().substring(0, 8)
+			));
+		}
+
+		PaginationList.builder()
+				.title(Text.of(TextColors.YELLOW, "Market Sizes"))
+				.header(Text.of(TextColors.GRAY, "Total: ", TextColors.YELLOW, StringUtils.formatBytes(report.total), TextColors.GRAY, " across ", TextColors.YELLOW, report.count, TextColors.GRAY, " listings"))
+				.contents(info)
+				.linesPerPage(12)
+				.sendTo(src);
+	}
+
+	/**
+	 * The largest owners and listings on the market, as they stood when the command was run.
+	 */
+	@AllArgsConstructor
+	static class Report {
+		private final List<Text> owners;
+		private final List<Listing> largest;
+		private final long total;
+		private final int count;
+	}
+}
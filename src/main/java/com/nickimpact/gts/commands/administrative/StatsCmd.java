@@ -0,0 +1,109 @@
+package com.nickimpact.gts.commands.administrative;
+
+import com.google.common.collect.Lists;
+import com.nickimpact.gts.GTS;
+import com.nickimpact.gts.api.listings.pipeline.ListingStage;
+import com.nickimpact.gts.configuration.ConfigKeys;
+import com.nickimpact.gts.market.ListingPipeline;
+import com.nickimpact.gts.market.RateLimiter;
+import com.nickimpact.gts.scheduling.TickScheduler;
+import com.nickimpact.impactor.api.commands.SpongeCommand;
+import com.nickimpact.impactor.api.commands.SpongeSubCommand;
+import com.nickimpact.impactor.api.commands.annotations.Aliases;
+import com.nickimpact.impactor.api.commands.annotations.Permission;
+import com.nickimpact.impactor.api.plugins.SpongePlugin;
+import org.spongepowered.api.command.CommandException;
+import org.spongepowered.api.command.CommandResult;
+import org.spongepowered.api.command.CommandSource;
+import org.spongepowered.api.command.args.CommandContext;
+import org.spongepowered.api.command.args.CommandElement;
+import org.spongepowered.api.service.pagination.PaginationList;
+import org.spongepowered.api.text.Text;
+import org.spongepowered.api.text.format.TextColors;
+
+import java.util.List;
+
+/**
+ * (Some note will go here)
+ *
+ * @author NickImpact
+ */
+@Aliases({"stats"})
+@Permission(admin = true)
+public class StatsCmd extends SpongeSubCommand {
+
+	public StatsCmd(SpongePlugin plugin) {
+		super(plugin);
+	}
+
+	@Override
+	public CommandElement[] getArgs() {
+		return new CommandElement[0];
+	}
+
+	@Override
+	public Text getDescription() {
+		return Text.of("Displays how much work GTS is performing on the server thread");
+	}
+
+	@Override
+	public Text getUsage() {
+		return Text.of("/gts admin stats");
+	}
+
+	@Override
+	public SpongeCommand[] getSubCommands() {
+		return new SpongeCommand[0];
+	}
+
+	@Override
+	public CommandResult execute(CommandSource src, CommandContext args) throws CommandException {
+		TickScheduler scheduler = GTS.getInstance().getTickScheduler();
+
+		List<Text> info = Lists.newArrayList();
+		info.add(Text.of(TextColors.GOLD, "Backlog:"));
+		for(TickScheduler.Priority priority : TickScheduler.Priority.values()) {
+			info.add(Text.of(TextColors.YELLOW, "  ", priority.name().toLowerCase(), TextColors.GRAY, " - ", scheduler.getBacklog(priority)));
+		}
+		info.add(Text.of(TextColors.GOLD, "Tick Time:"));
+		info.add(Text.of(TextColors.YELLOW, "  Budget", TextColors.GRAY, " - ", String.format("%.2f ms", GTS.getInstance().getConfig().get(ConfigKeys.TICK_BUDGET))));
+		info.add(Text.of(TextColors.YELLOW, "  Last Tick", TextColors.GRAY, " - ", millis(scheduler.getLastTickNanos()), " (", scheduler.getLastTickCount(), " tasks)"));
+		info.add(Text.of(TextColors.YELLOW, "  Peak", TextColors.GRAY, " - ", millis(scheduler.getPeakTickNanos())));
+		info.add(Text.of(TextColors.YELLOW, "  Ticks Over Budget", TextColors.GRAY, " - ", scheduler.getOverBudget()));
+		info.add(Text.of(TextColors.YELLOW, "  Tasks Completed", TextColors.GRAY, " - ", scheduler.getCompleted()));
+		info.add(Text.of(TextColors.GOLD, "Market:"));
+		info.add(Text.of(TextColors.YELLOW, "  Listings", TextColors.GRAY, " - ", GTS.getInstance().getListingIndex().size()));
+		info.add(Text.of(TextColors.YELLOW, "  Awaiting Expiry", TextColors.GRAY, " - ", GTS.getInstance().getListingIndex().getExpiry().size()));
+		info.add(Text.of(TextColors.YELLOW, "  Auctions Taking Bids", TextColors.GRAY, " - ", GTS.getInstance().getAuctions().getActive()));
+		info.add(Text.of(TextColors.YELLOW, "  Bids Accepted", TextColors.GRAY, " - ", GTS.getInstance().getAuctions().getAccepted()));
+		info.add(Text.of(TextColors.YELLOW, "  Bids Rejected", TextColors.GRAY, " - ", GTS.getInstance().getAuctions().getRejected()));
+		info.add(Text.of(TextColors.GOLD, "Mailboxes:"));
+		info.add(Text.of(TextColors.YELLOW, "  Loaded", TextColors.GRAY, " - ", GTS.getInstance().getMailboxes().getLoaded()));
+		info.add(Text.of(TextColors.YELLOW, "  Awaiting Delivery", TextColors.GRAY, " - ", GTS.getInstance().getMailboxes().getPending()));
+		info.add(Text.of(TextColors.YELLOW, "  Lookups Skipped", TextColors.GRAY, " - ", GTS.getInstance().getMailboxes().getSkipped()));
+		info.add(Text.of(TextColors.YELLOW, "  Offline Users Cached", TextColors.GRAY, " - ", GTS.getInstance().getUsers().size()));
+		info.add(Text.of(TextColors.GOLD, "Listing Stages:"));
+		for(ListingStage stage : GTS.getInstance().getListingPipeline().getStages()) {
+			ListingPipeline.Timing timing = GTS.getInstance().getListingPipeline().getTiming(stage.getName());
+			info.add(Text.of(
+					TextColors.YELLOW, "  ", stage.getName(), TextColors.GRAY, " - ", millis(timing.getAverageNanos()), " avg, ",
+					millis(timing.getPeakNanos()), " peak (", timing.getRuns(), " runs, ", timing.getFailures(), " stopped)"
+			));
+		}
+		info.add(Text.of(TextColors.GOLD, "Rate Limited:"));
+		for(RateLimiter.Action action : RateLimiter.Action.values()) {
+			info.add(Text.of(TextColors.YELLOW, "  ", action.name(), TextColors.GRAY, " - ", GTS.getInstance().getRateLimiter().getRejected(action)));
+		}
+
+		PaginationList.builder()
+				.title(Text.of(TextColors.YELLOW, "GTS Stats"))
+				.contents(info)
+				.linesPerPage(14)
+				.sendTo(src);
+		return CommandResult.success();
+	}
+
+	private static String millis(long nanos) {
+		return String.format("%.3f ms", nanos / 1_000_000.0);
+	}
+}
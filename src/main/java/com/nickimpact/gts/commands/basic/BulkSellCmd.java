@@ -0,0 +1,268 @@
+package com.nickimpact.gts.commands.basic;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+import com.nickimpact.gts.GTS;
+import com.nickimpact.gts.api.exceptions.InvalidNBTException;
+import com.nickimpact.gts.api.listings.Listing;
+import com.nickimpact.gts.api.listings.entries.Entry;
+import com.nickimpact.gts.configuration.ConfigKeys;
+import com.nickimpact.gts.entries.items.ItemEntry;
+import com.nickimpact.gts.entries.pixelmon.PokemonEntry;
+import com.nickimpact.gts.entries.prices.MoneyPrice;
+import com.nickimpact.gts.market.RateLimiter;
+import com.nickimpact.gts.utils.ListingUtils;
+import com.nickimpact.impactor.api.commands.SpongeCommand;
+import com.nickimpact.impactor.api.commands.SpongeSubCommand;
+import com.nickimpact.impactor.api.commands.annotations.Aliases;
+import com.nickimpact.impactor.api.commands.annotations.Permission;
+import com.nickimpact.impactor.api.plugins.SpongePlugin;
+import com.pixelmonmod.pixelmon.config.PixelmonEntityList;
+import com.pixelmonmod.pixelmon.entities.pixelmon.EntityPixelmon;
+import com.pixelmonmod.pixelmon.storage.PixelmonStorage;
+import com.pixelmonmod.pixelmon.storage.PlayerStorage;
+import net.minecraft.entity.player.EntityPlayerMP;
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.world.World;
+import org.spongepowered.api.command.CommandException;
+import org.spongepowered.api.command.CommandResult;
+import org.spongepowered.api.command.CommandSource;
+import org.spongepowered.api.command.args.CommandContext;
+import org.spongepowered.api.command.args.CommandElement;
+import org.spongepowered.api.command.args.GenericArguments;
+import org.spongepowered.api.data.key.Keys;
+import org.spongepowered.api.entity.living.player.Player;
+import org.spongepowered.api.item.inventory.ItemStack;
+import org.spongepowered.api.text.Text;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Lists a number of pokemon from a player's party, or item stacks from their hotbar, at a single price each.
+ * Every entry is checked before any are listed, and the whole set is added to the market at once.
+ *
+ * @author NickImpact
+ */
+@Aliases({"bulk", "sellall"})
+public class BulkSellCmd extends SpongeSubCommand {
+
+	private static final Text argPrice = Text.of("price");
+	private static final Text argSlots = Text.of("slots");
+
+	public BulkSellCmd(SpongePlugin plugin) {
+		super(plugin);
+	}
+
+	@Override
+	public CommandElement[] getArgs() {
+		return null;
+	}
+
+	@Override
+	public Text getDescription() {
+		return Text.of("Adds a number of listings to the market at once");
+	}
+
+	@Override
+	public Text getUsage() {
+		return Text.of("/gts bulk <type>");
+	}
+
+	@Override
+	public SpongeCommand[] getSubCommands() {
+		return new SpongeCommand[] {
+				new PokemonSub(this.plugin),
+				new ItemSub(this.plugin)
+		};
+	}
+
+	@Override
+	public CommandResult execute(CommandSource src, CommandContext args) throws CommandException {
+		return CommandResult.empty();
+	}
+
+	private static CommandElement[] arguments() {
+		return new CommandElement[]{
+				GenericArguments.integer(argPrice),
+				GenericArguments.allOf(GenericArguments.integer(argSlots))
+		};
+	}
+
+	private static Player validate(CommandSource src, CommandContext args) throws CommandException {
+		if(!(src instanceof Player)) {
+			throw new CommandException(Text.of("Only players may use this command..."));
+		}
+
+		Player player = (Player) src;
+		if(!GTS.getInstance().getRateLimiter().tryAcquire(player, RateLimiter.Action.Sell)) {
+			throw new CommandException(Text.of("You're doing that too quickly, please slow down..."));
+		}
+
+		if(args.<Integer>getOne(argPrice).get() <= 0) {
+			throw new CommandException(Text.of("Price must be a positive integer..."));
+		}
+
+		MoneyPrice price = new MoneyPrice(args.<Integer>getOne(argPrice).get());
+		if(!price.isLowerOrEqual()) {
+			throw new CommandException(Text.of("Your money request is above the max amount of " + new MoneyPrice(price.getMax()).getText()));
+		}
+
+		return player;
+	}
+
+	private static Listing build(Player player, Entry entry) {
+		return Listing.builder()
+				.player(player)
+				.entry(entry)
+				.doesExpire()
+				.expiration(GTS.getInstance().getConfig().get(ConfigKeys.LISTING_TIME))
+				.deferred()
+				.build();
+	}
+
+	@Aliases({"pokemon", "poke"})
+	@Permission(prefix = "bulk")
+	public class PokemonSub extends SpongeSubCommand {
+
+		public PokemonSub(SpongePlugin plugin) {
+			super(plugin);
+		}
+
+		@Override
+		public CommandElement[] getArgs() {
+			return arguments();
+		}
+
+		@Override
+		public Text getDescription() {
+			return Text.of("Lists a number of pokemon from your party");
+		}
+
+		@Override
+		public Text getUsage() {
+			return Text.of("/gts bulk pokemon <price> <party slot> [party slot...]");
+		}
+
+		@Override
+		public SpongeCommand[] getSubCommands() {
+			return new SpongeCommand[0];
+		}
+
+		@Override
+		public CommandResult execute(CommandSource src, CommandContext args) throws CommandException {
+			if(!GTS.getInstance().getConfig().get(ConfigKeys.POKEMON_ENABLED)) {
+				throw new CommandException(Text.of("The selling of pokemon is disabled..."));
+			}
+
+			Player player = validate(src, args);
+			int price = args.<Integer>getOne(argPrice).get();
+			Set<Integer> slots = Sets.newLinkedHashSet(args.getAll(argSlots));
+
+			PlayerStorage storage = PixelmonStorage.pokeBallManager.getPlayerStorage((EntityPlayerMP) player)
+					.orElseThrow(() -> new CommandException(Text.of("Unable to find your party data...")));
+
+			List<PokemonEntry> entries = Lists.newArrayList();
+			List<Listing> listings = Lists.newArrayList();
+			int team = 0;
+			for(int slot : slots) {
+				if(slot < 1 || slot > 6) {
+					throw new CommandException(Text.of("Party slots range from 1 to 6..."));
+				}
+
+				NBTTagCompound nbt = storage.getNBT(storage.getIDFromPosition(slot - 1));
+				if(nbt == null) {
+					throw new CommandException(Text.of("Unable to find a pokemon in party slot " + slot + "..."));
+				}
+
+				EntityPixelmon pokemon = (EntityPixelmon) PixelmonEntityList.createEntityFromNBT(nbt, (World) player.getWorld());
+				if(!pokemon.isEgg) {
+					team++;
+				}
+
+				try {
+					PokemonEntry entry = new PokemonEntry(pokemon, new MoneyPrice(price));
+					entries.add(entry);
+					listings.add(build(player, entry));
+				} catch (InvalidNBTException e) {
+					e.writeError();
+					throw new CommandException(Text.of("Due to an error, the pokemon in party slot " + slot + " cannot be listed..."));
+				}
+			}
+
+			if(team >= storage.countTeam()) {
+				throw new CommandException(Text.of("You can't sell your last non-egg party member..."));
+			}
+
+			GTS.getInstance().getMarketQueue().submit("bulk list", () -> ListingUtils.addAllToMarket(player, listings, () -> PokemonEntry.takeAll(player, entries)));
+			return CommandResult.success();
+		}
+	}
+
+	@Aliases("item")
+	@Permission(prefix = "bulk")
+	public class ItemSub extends SpongeSubCommand {
+
+		public ItemSub(SpongePlugin plugin) {
+			super(plugin);
+		}
+
+		@Override
+		public CommandElement[] getArgs() {
+			return arguments();
+		}
+
+		@Override
+		public Text getDescription() {
+			return Text.of("Lists a number of item stacks from your hotbar");
+		}
+
+		@Override
+		public Text getUsage() {
+			return Text.of("/gts bulk item <price> <hotbar slot> [hotbar slot...]");
+		}
+
+		@Override
+		public SpongeCommand[] getSubCommands() {
+			return new SpongeCommand[0];
+		}
+
+		@Override
+		public CommandResult execute(CommandSource src, CommandContext args) throws CommandException {
+			if(!GTS.getInstance().getConfig().get(ConfigKeys.ITEMS_ENABLED)) {
+				throw new CommandException(Text.of("The selling of items is disabled..."));
+			}
+
+			Player player = validate(src, args);
+			int price = args.<Integer>getOne(argPrice).get();
+			Set<Integer> slots = Sets.newLinkedHashSet(args.getAll(argSlots));
+
+			Map<Integer, ItemStack> stacks = Maps.newLinkedHashMap();
+			List<Listing> listings = Lists.newArrayList();
+			for(int slot : slots) {
+				if(slot < 1 || slot > 9) {
+					throw new CommandException(Text.of("Hotbar slots range from 1 to 9..."));
+				}
+
+				Optional<ItemStack> item = ItemEntry.hotbarSlot(player, slot - 1).peek();
+				if(!item.isPresent() || item.get().isEmpty()) {
+					throw new CommandException(Text.of("Unable to find an item in hotbar slot " + slot + "..."));
+				}
+
+				if(!GTS.getInstance().getConfig().get(ConfigKeys.CUSTOM_NAME_ALLOWED) && item.get().get(Keys.DISPLAY_NAME).isPresent()) {
+					throw new CommandException(Text.of("Items with a custom name can't be listed..."));
+				}
+
+				ItemStack stack = item.get().copy();
+				stacks.put(slot - 1, stack);
+				listings.add(build(player, new ItemEntry(stack, new MoneyPrice(price))));
+			}
+
+			GTS.getInstance().getMarketQueue().submit("bulk list", () -> ListingUtils.addAllToMarket(player, listings, () -> ItemEntry.takeAll(player, stacks)));
+			return CommandResult.success();
+		}
+	}
+}
@@ -50,15 +50,11 @@ public class IgnoreCmd extends SpongeSubCommand {
 	public CommandResult execute(CommandSource src, CommandContext args) throws CommandException {
 		if(src instanceof Player) {
 			Player player = (Player)src;
-			if(GTS.getInstance().getIgnorers().contains(player.getUniqueId())) {
-				GTS.getInstance().getIgnorers().remove(player.getUniqueId());
-				GTS.getInstance().getStorage().removeIgnorer(player.getUniqueId());
+			if(!GTS.getInstance().getRecipients().toggle(player)) {
 				player.sendMessages(
 						Text.of(GTSInfo.PREFIX, "You are no longer ignoring GTS broadcasts!")
 				);
 			} else {
-				GTS.getInstance().getIgnorers().add(player.getUniqueId());
-				GTS.getInstance().getStorage().addIgnorer(player.getUniqueId());
 				player.sendMessages(
 						Text.of(GTSInfo.PREFIX, "Now ignoring GTS broadcasts!")
 				);
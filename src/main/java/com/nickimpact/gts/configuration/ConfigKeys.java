@@ -63,6 +63,9 @@ public class ConfigKeys implements IConfigKeys {
 	/** The max number of listings a player can have in the GTS */
 	public static final ConfigKey<Integer> MAX_LISTINGS = IntegerKey.of("listings.listings-max", 5);
 
+	/** Raised listing limits, granted to users holding the paired permission, in the format "permission:limit" */
+	public static final ConfigKey<List<String>> MAX_LISTINGS_TIERS = ListKey.of("listings.listings-max-tiers", Lists.newArrayList());
+
 	/** Whether or not taxes should be applied on listing entries */
 	public static final ConfigKey<Boolean> TAX_ENABLED = BooleanKey.of("tax.enabled", false);
 	public static final ConfigKey<Double> TAX_MONEY_TAX = DoubleKey.of("tax.money.tax", 0.08);
@@ -73,6 +76,12 @@ public class ConfigKeys implements IConfigKeys {
 
 	public static final ConfigKey<Boolean> CUSTOM_NAME_ALLOWED = BooleanKey.of("entries.items.custom-names-allowed", true);
 
+	/** The largest an item listing may serialize to, in KB. Set to 0 to disable */
+	public static final ConfigKey<Integer> ITEMS_MAX_SIZE = IntegerKey.of("entries.items.max-size-kb", 64);
+
+	/** The largest a pokemon listing may serialize to, in KB. Set to 0 to disable */
+	public static final ConfigKey<Integer> POKEMON_MAX_SIZE = IntegerKey.of("entries.pokemon.max-size-kb", 32);
+
 
 	//------------------------------------------------------------------------------------------------------------------
 	// Blacklist config settings
@@ -97,6 +106,72 @@ public class ConfigKeys implements IConfigKeys {
 
 	/** The table prefix for the main SQL tables */
 	public static final ConfigKey<String> SQL_TABLE_PREFIX = EnduringKey.wrap(StringKey.of("storage.data.table_prefix", "gts_"));
+
+	/** Whether or not GTS should take its own backups of the storage provider */
+	public static final ConfigKey<Boolean> BACKUPS_ENABLED = EnduringKey.wrap(BooleanKey.of("storage.backups.enabled", false));
+
+	/** How often a full snapshot is taken, in minutes. Default = 6 hours */
+	public static final ConfigKey<Integer> BACKUPS_SNAPSHOT_INTERVAL = EnduringKey.wrap(IntegerKey.of("storage.backups.snapshot-interval", 360));
+
+	/** How often recorded changes are written out between snapshots, in seconds */
+	public static final ConfigKey<Integer> BACKUPS_SEGMENT_INTERVAL = EnduringKey.wrap(IntegerKey.of("storage.backups.segment-interval", 60));
+
+	/** The number of snapshots to keep on disk. Changes older than the oldest snapshot are discarded */
+	public static final ConfigKey<Integer> BACKUPS_RETAINED = IntegerKey.of("storage.backups.snapshots-retained", 5);
+
+	/** The maximum rate at which backups may be written, in kilobytes per second. 0 = unthrottled */
+	public static final ConfigKey<Integer> BACKUPS_MAX_KB_PER_SECOND = IntegerKey.of("storage.backups.max-kb-per-second", 1024);
+
+	//------------------------------------------------------------------------------------------------------------------
+	// Scheduling config settings
+	//------------------------------------------------------------------------------------------------------------------
+
+	/** The most time GTS may spend on queued work within a single server tick, in milliseconds */
+	public static final ConfigKey<Double> TICK_BUDGET = DoubleKey.of("scheduling.tick-budget-ms", 2.0);
+
+	//------------------------------------------------------------------------------------------------------------------
+	// Broadcast config settings
+	//------------------------------------------------------------------------------------------------------------------
+
+	/** How long announcements are gathered for before being sent, in milliseconds */
+	public static final ConfigKey<Integer> BROADCAST_COALESCE_WINDOW = IntegerKey.of("broadcasts.coalesce-window-ms", 2000);
+
+	/** How many announcements of the same kind, by the same user, are summarized into a digest. 0 = never */
+	public static final ConfigKey<Integer> BROADCAST_DIGEST_THRESHOLD = IntegerKey.of("broadcasts.digest-threshold", 3);
+
+	/** The most broadcasts a single player may receive each minute. 0 = unlimited */
+	public static final ConfigKey<Integer> BROADCAST_PLAYER_LIMIT = IntegerKey.of("broadcasts.max-per-player-per-minute", 30);
+
+	//------------------------------------------------------------------------------------------------------------------
+	// Mailbox config settings
+	//------------------------------------------------------------------------------------------------------------------
+
+	/** How long to wait before retrying delivery of anything a player was unable to receive, in seconds */
+	public static final ConfigKey<Integer> MAILBOX_RETRY_INTERVAL = IntegerKey.of("mailbox.retry-interval", 30);
+
+	//------------------------------------------------------------------------------------------------------------------
+	// Rate limit config settings
+	//------------------------------------------------------------------------------------------------------------------
+
+	/** How many actions of a kind a player may perform in a burst. 0 = unlimited */
+	public static final ConfigKey<Integer> RATE_LIMIT_SELL_CAPACITY = IntegerKey.of("rate-limits.sell.burst", 5);
+	public static final ConfigKey<Integer> RATE_LIMIT_BID_CAPACITY = IntegerKey.of("rate-limits.bid.burst", 5);
+	public static final ConfigKey<Integer> RATE_LIMIT_PURCHASE_CAPACITY = IntegerKey.of("rate-limits.purchase.burst", 5);
+	public static final ConfigKey<Integer> RATE_LIMIT_MENU_CAPACITY = IntegerKey.of("rate-limits.menu.burst", 10);
+
+	/** How many actions of a kind a player may sustain each second, once their burst is spent */
+	public static final ConfigKey<Double> RATE_LIMIT_SELL_RATE = DoubleKey.of("rate-limits.sell.per-second", 0.5);
+	public static final ConfigKey<Double> RATE_LIMIT_BID_RATE = DoubleKey.of("rate-limits.bid.per-second", 1.0);
+	public static final ConfigKey<Double> RATE_LIMIT_PURCHASE_RATE = DoubleKey.of("rate-limits.purchase.per-second", 1.0);
+	public static final ConfigKey<Double> RATE_LIMIT_MENU_RATE = DoubleKey.of("rate-limits.menu.per-second", 2.0);
+
+	//------------------------------------------------------------------------------------------------------------------
+	// Economy config settings
+	//------------------------------------------------------------------------------------------------------------------
+
+	/** Whether balance checks, payments, and rewards of monetary prices are made off the server thread. Opt-in */
+	public static final ConfigKey<Boolean> ECONOMY_ASYNC = BooleanKey.of("economy.async-transactions", false);
+
 	public static final ConfigKey<Double> MIN_PRICING_POKEMON_BASE = DoubleKey.of("min-pricing.pokemon.base", 5000.0);
 	public static final ConfigKey<Double> MIN_PRICING_POKEMON_IVS_PRICE = DoubleKey.of("min-pricing.pokemon.ivs.price", 5000.0);
 	public static final ConfigKey<Integer> MIN_PRICING_POKEMON_IVS_MINVAL = IntegerKey.of("min-pricing.pokemon.ivs.min-iv", 28);
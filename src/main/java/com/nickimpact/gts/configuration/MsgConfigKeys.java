@@ -49,9 +49,15 @@ public class MsgConfigKeys implements IConfigKeys {
 	public static final ConfigKey<List<String>> MAX_LISTINGS = ListKey.of("general.max-listings", Lists.newArrayList(
 			"{{gts_prefix}} &cUnfortunately, you can't deposit another listing, since you already have {{max_listings}} deposited..."
 	));
+	public static final ConfigKey<List<String>> LISTING_TOO_LARGE = ListKey.of("general.listing-too-large", Lists.newArrayList(
+			"{{gts_prefix}} &cYour &e{{listing_name}} &cholds too much data to be listed &7(&e{{listing_size}}&7/&e{{max_size}}&7)"
+	));
 	public static final ConfigKey<List<String>> ADD_TEMPLATE = ListKey.of("general.addition-to-seller", Lists.newArrayList(
 			"{{gts_prefix}} &7Your &a{{listing_name}} &7has been added to the market!"
 	));
+	public static final ConfigKey<List<String>> ADD_BULK_TEMPLATE = ListKey.of("general.addition-bulk-to-seller", Lists.newArrayList(
+			"{{gts_prefix}} &7Your &a{{count}} {{entry_type}} &7listings have been added to the market!"
+	));
 	public static final ConfigKey<List<String>> TAX_APPLICATION = ListKey.of("general.taxes.applied", Lists.newArrayList(
 			"&c&l- {{tax}} &7(&aTaxes&7)"
 	));
@@ -64,6 +70,9 @@ public class MsgConfigKeys implements IConfigKeys {
 	public static final ConfigKey<List<String>> PURCHASE_PAY = ListKey.of("general.prices.pay", Lists.newArrayList(
 			"{{gts_prefix}} &7You have purchased a &a{{listing_specifics}} &7for &e{{price}}&7!"
 	));
+	public static final ConfigKey<List<String>> PRICE_HELD = ListKey.of("general.prices.held", Lists.newArrayList(
+			"{{gts_prefix}} &7You have received &e{{held_price}} &7from a listing which sold whilst you were away!"
+	));
 	public static final ConfigKey<List<String>> PURCHASE_RECEIVE = ListKey.of("general.prices.receive", Lists.newArrayList(
 			"{{gts_prefix}} &7You have received your price of &e{{price}} from your &a{{listing_name}} &7listing!"
 	));
@@ -91,6 +100,27 @@ public class MsgConfigKeys implements IConfigKeys {
 	public static final ConfigKey<List<String>> REMOVAL_EXPIRES = ListKey.of("general.removal.expires", Lists.newArrayList(
 			"{{gts_prefix}} &7Your &a{{listing_name}} &7listing has expired, and has thus been returned!"
 	));
+	public static final ConfigKey<List<String>> REMOVAL_HELD = ListKey.of("general.removal.held", Lists.newArrayList(
+			"{{gts_prefix}} &7Your &a{{entry_name}} &7listing expired whilst you were away, and has now been returned!"
+	));
+	public static final ConfigKey<List<String>> DIGEST_ADDITION = ListKey.of("general.digests.addition", Lists.newArrayList(
+			"{{gts_prefix}} &c{{broadcaster}} &7has added &a{{count}} {{entry_type}} &7listings to the GTS!"
+	));
+	public static final ConfigKey<List<String>> DIGEST_BID = ListKey.of("general.digests.bid", Lists.newArrayList(
+			"{{gts_prefix}} &e{{broadcaster}} &7has placed &a{{count}} &7bids on {{entry_type}} auctions!"
+	));
+	public static final ConfigKey<List<String>> DIGEST_AUCTION_WIN = ListKey.of("general.digests.win", Lists.newArrayList(
+			"{{gts_prefix}} &e{{broadcaster}} &7has won &a{{count}} {{entry_type}} &7auctions!"
+	));
+	public static final ConfigKey<List<String>> DIGEST_PURCHASE = ListKey.of("general.digests.purchase", Lists.newArrayList(
+			"{{broadcaster}} just purchased {{count}} {{entry_type}} listings!"
+	));
+	public static final ConfigKey<List<String>> DIGEST_EXPIRATION = ListKey.of("general.digests.expiration", Lists.newArrayList(
+			"{{count}} of {{broadcaster}}'s {{entry_type}} listings have now expired!"
+	));
+	public static final ConfigKey<List<String>> DIGEST_REMOVAL = ListKey.of("general.digests.removal", Lists.newArrayList(
+			"{{broadcaster}} has removed {{count}} {{entry_type}} listings from the GTS!"
+	));
 	public static final ConfigKey<List<String>> MIN_PRICE_ERROR = ListKey.of("general.prices.min-price.invalid", Lists.newArrayList(
 			"{{gts_error}} &7In order to sell your &a{{listing_name}}&7, you need to list it for the price of &e{{min_price}}&7..."
 	));
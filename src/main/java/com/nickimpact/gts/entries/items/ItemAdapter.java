@@ -22,9 +22,8 @@ public class ItemAdapter implements JsonSerializer<DataContainer>, JsonDeseriali
 		try {
 			return DataFormats.JSON.read(data);
 		} catch (IOException e) {
-			e.printStackTrace();
+			throw new JsonParseException("Invalid item data", e);
 		}
-		return null;
 	}
 
 	@Override
@@ -11,6 +11,7 @@ import com.nickimpact.gts.api.listings.pricing.Price;
 import com.nickimpact.gts.configuration.ConfigKeys;
 import com.nickimpact.gts.configuration.MsgConfigKeys;
 import com.nickimpact.gts.entries.prices.MoneyPrice;
+import com.nickimpact.gts.market.RateLimiter;
 import com.nickimpact.gts.utils.ListingUtils;
 import com.nickimpact.impactor.api.commands.SpongeCommand;
 import com.nickimpact.impactor.api.commands.SpongeSubCommand;
@@ -30,10 +31,12 @@ import org.spongepowered.api.data.type.HandTypes;
 import org.spongepowered.api.entity.living.player.Player;
 import org.spongepowered.api.entity.living.player.User;
 import org.spongepowered.api.item.ItemTypes;
+import org.spongepowered.api.item.inventory.Inventory;
 import org.spongepowered.api.item.inventory.InventoryTransformation;
 import org.spongepowered.api.item.inventory.ItemStack;
 import org.spongepowered.api.item.inventory.entity.Hotbar;
 import org.spongepowered.api.item.inventory.entity.MainPlayerInventory;
+import org.spongepowered.api.item.inventory.property.SlotIndex;
 import org.spongepowered.api.item.inventory.query.QueryOperationTypes;
 import org.spongepowered.api.text.Text;
 import org.spongepowered.api.text.format.TextColors;
@@ -166,6 +169,11 @@ public class ItemEntry extends Entry<DataContainer> {
 		return lore;
 	}
 
+	@Override
+	public long getMaxSize() {
+		return GTS.getInstance().getConfig().get(ConfigKeys.ITEMS_MAX_SIZE) * 1024L;
+	}
+
 	@Override
 	public boolean supportsOffline() {
 		return false;
@@ -202,6 +210,38 @@ public class ItemEntry extends Entry<DataContainer> {
 		return false;
 	}
 
+	/**
+	 * Takes a set of stacks from the player's hotbar at once. Should any slot no longer hold the stack expected
+	 * of it, nothing is taken, and the player is told why.
+	 *
+	 * @param player The player to take the items from
+	 * @param stacks The stacks to take, keyed by their hotbar slot index
+	 * @return True if every stack was taken, false otherwise
+	 */
+	public static boolean takeAll(Player player, Map<Integer, ItemStack> stacks) {
+		for(Map.Entry<Integer, ItemStack> stack : stacks.entrySet()) {
+			Optional<ItemStack> held = hotbarSlot(player, stack.getKey()).peek();
+			if(!held.isPresent() || !held.get().equalTo(stack.getValue())) {
+				player.sendMessage(Text.of(GTSInfo.ERROR, TextColors.GRAY, "Your hotbar changed before your items could be listed..."));
+				return false;
+			}
+		}
+
+		stacks.keySet().forEach(index -> hotbarSlot(player, index).clear());
+		return true;
+	}
+
+	/**
+	 * @param player The player whose hotbar to query
+	 * @param index The index of the slot, from 0 to 8
+	 * @return The slot within the player's hotbar at the given index
+	 */
+	public static Inventory hotbarSlot(Player player, int index) {
+		return player.getInventory()
+				.query(QueryOperationTypes.INVENTORY_TYPE.of(Hotbar.class))
+				.query(QueryOperationTypes.INVENTORY_PROPERTY.of(SlotIndex.of(index)));
+	}
+
 	@Aliases("item")
 	@Permission(prefix = "sell")
 	public class ItemSub extends SpongeSubCommand {
@@ -249,6 +289,10 @@ public class ItemEntry extends Entry<DataContainer> {
 
 			if(src instanceof Player) {
 				Player player = (Player)src;
+				if(!GTS.getInstance().getRateLimiter().tryAcquire(player, RateLimiter.Action.Sell)) {
+					throw new CommandException(Text.of("You're doing that too quickly, please slow down..."));
+				}
+
 				int price = args.<Integer>getOne(argPrice).get();
 				if(price <= 0) {
 					throw new CommandException(Text.of("Price must be a positive integer!"));
@@ -1,6 +1,5 @@
 package com.nickimpact.gts.entries.pixelmon;
 
-import com.nickimpact.gts.utils.GsonUtils;
 import com.pixelmonmod.pixelmon.config.PixelmonEntityList;
 import com.pixelmonmod.pixelmon.entities.pixelmon.EntityPixelmon;
 import net.minecraft.nbt.JsonToNBT;
@@ -22,11 +21,32 @@ public class Pokemon {
 
 	private String nbtJSON;
 
+	/** The format of nbtJSON. Absent from legacy payloads, which thus read as 0 */
+	private int version;
+
 	public Pokemon(EntityPixelmon pokemon) {
 		this.pokemon = pokemon;
 		NBTTagCompound nbt = new NBTTagCompound();
 		this.nbt = pokemon.writeToNBT(nbt);
 		nbtJSON = this.nbt.toString();
+		this.version = PokemonUpgrades.CURRENT;
+	}
+
+	/**
+	 * Migrates the stored payload to the current format, if it is outdated.
+	 *
+	 * @return <code>true</code> if the payload changed, and should be written back to storage
+	 */
+	public boolean upgrade() {
+		if(this.version >= PokemonUpgrades.CURRENT) {
+			return false;
+		}
+
+		this.nbtJSON = PokemonUpgrades.upgrade(this.version, this.nbtJSON);
+		this.version = PokemonUpgrades.CURRENT;
+		this.nbt = null;
+		this.pokemon = null;
+		return true;
 	}
 
 	public EntityPixelmon getPokemon() {
@@ -40,10 +60,11 @@ public class Pokemon {
 	}
 
 	private NBTTagCompound decode() {
+		this.upgrade();
 		try {
 			return nbt != null ? nbt : (nbt = JsonToNBT.getTagFromJson(nbtJSON));
 		} catch (NBTException e) {
-			return nbt = GsonUtils.deserialize(nbtJSON);
+			throw new IllegalStateException("Invalid pokemon data", e);
 		}
 	}
 }
@@ -15,6 +15,7 @@ import com.nickimpact.gts.api.utils.MessageUtils;
 import com.nickimpact.gts.configuration.ConfigKeys;
 import com.nickimpact.gts.configuration.MsgConfigKeys;
 import com.nickimpact.gts.entries.prices.MoneyPrice;
+import com.nickimpact.gts.market.RateLimiter;
 import com.nickimpact.impactor.api.commands.SpongeCommand;
 import com.nickimpact.impactor.api.commands.SpongeSubCommand;
 import com.nickimpact.impactor.api.commands.annotations.Aliases;
@@ -54,6 +55,7 @@ import org.spongepowered.api.text.format.TextColors;
 import org.spongepowered.common.item.inventory.util.ItemStackUtil;
 
 import java.math.BigDecimal;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 import java.util.function.Function;
@@ -169,6 +171,16 @@ public class PokemonEntry extends Entry<Pokemon> implements Minable {
 				GTS.getInstance().getMsgConfig().get(MsgConfigKeys.POKEMON_ENTRY_CONFIRM_LORE_AUCTION);
 	}
 
+	@Override
+	public long getMaxSize() {
+		return GTS.getInstance().getConfig().get(ConfigKeys.POKEMON_MAX_SIZE) * 1024L;
+	}
+
+	@Override
+	public boolean upgrade() {
+		return this.getEntry().upgrade();
+	}
+
 	@Override
 	public boolean supportsOffline() {
 		return false;
@@ -192,27 +204,48 @@ public class PokemonEntry extends Entry<Pokemon> implements Minable {
 
 	@Override
 	public boolean doTakeAway(Player player) {
+		return takeAll(player, Collections.singletonList(this));
+	}
+
+	/**
+	 * Takes a set of pokemon from the player's party at once. Should any one of them be unable to be taken,
+	 * none of them are, and the player is told why.
+	 *
+	 * @param player The player to take the pokemon from
+	 * @param entries The entries holding the pokemon to take
+	 * @return True if every pokemon was taken, false otherwise
+	 */
+	public static boolean takeAll(Player player, List<PokemonEntry> entries) {
 		if(BattleRegistry.getBattle((EntityPlayer) player) != null) {
 			player.sendMessage(Text.of(GTSInfo.ERROR, TextColors.GRAY, "You are in battle, you can't sell any pokemon currently..."));
 			return false;
 		}
 
-		if(UNTRADABLE.matches(this.getEntry().getPokemon())) {
-			player.sendMessage(Text.of(GTSInfo.ERROR, TextColors.GRAY, "This pokemon is marked as untradeable, and cannot be sold..."));
-			return false;
-		}
-
-		if(GTS.getInstance().getConfig().get(ConfigKeys.BLACKLISTED_POKEMON).stream().anyMatch(name -> name.equalsIgnoreCase(this.getEntry().getPokemon().getName()))){
-			player.sendMessage(Text.of(GTSInfo.ERROR, TextColors.GRAY, "Sorry, but ", TextColors.YELLOW, this.getName(), TextColors.GRAY, " has been blacklisted from the GTS..."));
-			return false;
-		}
-
 		PlayerStorage ps = PixelmonStorage.pokeBallManager.getPlayerStorage((EntityPlayerMP)player).orElse(null);
 		if(ps == null)
 			return false;
 
+		for(PokemonEntry entry : entries) {
+			if(UNTRADABLE.matches(entry.getEntry().getPokemon())) {
+				player.sendMessage(Text.of(GTSInfo.ERROR, TextColors.GRAY, "This pokemon is marked as untradeable, and cannot be sold..."));
+				return false;
+			}
+
+			if(GTS.getInstance().getConfig().get(ConfigKeys.BLACKLISTED_POKEMON).stream().anyMatch(name -> name.equalsIgnoreCase(entry.getEntry().getPokemon().getName()))){
+				player.sendMessage(Text.of(GTSInfo.ERROR, TextColors.GRAY, "Sorry, but ", TextColors.YELLOW, entry.getName(), TextColors.GRAY, " has been blacklisted from the GTS..."));
+				return false;
+			}
+
+			if(ps.getPosition(entry.getEntry().getPokemon().getPokemonId()) < 0) {
+				player.sendMessage(Text.of(GTSInfo.ERROR, TextColors.GRAY, "Your ", TextColors.YELLOW, entry.getName(), TextColors.GRAY, " is no longer in your party..."));
+				return false;
+			}
+		}
+
 		ps.recallAllPokemon();
-		ps.removeFromPartyPlayer(ps.getPosition(this.getEntry().getPokemon().getPokemonId()));
+		for(PokemonEntry entry : entries) {
+			ps.removeFromPartyPlayer(ps.getPosition(entry.getEntry().getPokemon().getPokemonId()));
+		}
 		ps.sendUpdatedList();
 
 		return true;
@@ -334,6 +367,10 @@ public class PokemonEntry extends Entry<Pokemon> implements Minable {
 
 			if(src instanceof Player) {
 				Player player = (Player)src;
+				if(!GTS.getInstance().getRateLimiter().tryAcquire(player, RateLimiter.Action.Sell)) {
+					throw new CommandException(Text.of("You're doing that too quickly, please slow down..."));
+				}
+
 				int pos = args.<Integer>getOne(argPos).get() - 1;
 				int price = args.<Integer>getOne(argPrice).get();
 				if(price <= 0) {
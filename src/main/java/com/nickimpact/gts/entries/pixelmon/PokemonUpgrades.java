@@ -0,0 +1,67 @@
+package com.nickimpact.gts.entries.pixelmon;
+
+import com.google.common.collect.Maps;
+import com.nickimpact.gts.utils.GsonUtils;
+import net.minecraft.nbt.JsonToNBT;
+import net.minecraft.nbt.NBTException;
+
+import java.util.Map;
+import java.util.function.UnaryOperator;
+
+/**
+ * Holds the chain of upgraders used to migrate a stored {@link Pokemon} payload to the current format. Each
+ * upgrader is registered against the version it reads, and produces a payload of the following version.
+ *
+ * <p>Payloads stored before versioning was introduced are considered version 0.</p>
+ *
+ * @author NickImpact
+ */
+public class PokemonUpgrades {
+
+	/** The format version written by this build of GTS */
+	public static final int CURRENT = 1;
+
+	private static final Map<Integer, UnaryOperator<String>> upgraders = Maps.newConcurrentMap();
+
+	static {
+		// Version 0 payloads were written either as raw NBT strings, or as GSON maps. Settle on the former,
+		// so only a single parse is ever needed from here on.
+		register(0, nbtJSON -> {
+			try {
+				return JsonToNBT.getTagFromJson(nbtJSON).toString();
+			} catch (NBTException e) {
+				return GsonUtils.deserialize(nbtJSON).toString();
+			}
+		});
+	}
+
+	/**
+	 * Registers an upgrader, replacing any which was previously registered for the version.
+	 *
+	 * @param from The version the upgrader reads
+	 * @param upgrader A function converting a payload of that version to the next
+	 */
+	public static void register(int from, UnaryOperator<String> upgrader) {
+		upgraders.put(from, upgrader);
+	}
+
+	/**
+	 * Runs a payload through every upgrader between its version and {@link #CURRENT}.
+	 *
+	 * @param version The version of the payload
+	 * @param nbtJSON The payload itself
+	 * @return The payload, in the current format
+	 */
+	public static String upgrade(int version, String nbtJSON) {
+		for(int i = version; i < CURRENT; i++) {
+			UnaryOperator<String> upgrader = upgraders.get(i);
+			if(upgrader == null) {
+				throw new IllegalStateException("No pokemon upgrader registered for version " + i);
+			}
+
+			nbtJSON = upgrader.apply(nbtJSON);
+		}
+
+		return nbtJSON;
+	}
+}
@@ -6,6 +6,7 @@ import com.nickimpact.gts.api.listings.entries.Maxable;
 import com.nickimpact.gts.api.listings.pricing.Auctionable;
 import com.nickimpact.gts.api.listings.pricing.Price;
 import com.nickimpact.gts.api.listings.pricing.PricingException;
+import com.nickimpact.gts.api.utils.Futures;
 import com.nickimpact.gts.configuration.ConfigKeys;
 import org.spongepowered.api.Sponge;
 import org.spongepowered.api.entity.living.player.Player;
@@ -13,10 +14,13 @@ import org.spongepowered.api.entity.living.player.User;
 import org.spongepowered.api.event.cause.Cause;
 import org.spongepowered.api.event.cause.EventContext;
 import org.spongepowered.api.service.economy.account.UniqueAccount;
+import org.spongepowered.api.service.economy.transaction.ResultType;
+import org.spongepowered.api.service.economy.transaction.TransactionResult;
 import org.spongepowered.api.text.Text;
 
 import java.math.BigDecimal;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * (Some note will go here)
@@ -63,19 +67,47 @@ public class MoneyPrice extends Price<BigDecimal> implements Auctionable<MoneyPr
 		return acc.getBalance(GTS.getInstance().getEconomy().getDefaultCurrency()).compareTo(price) >= 0;
 	}
 
+	@Override
+	public CompletableFuture<Boolean> canPayAsync(User user) {
+		if(!GTS.getInstance().getConfig().get(ConfigKeys.ECONOMY_ASYNC)) {
+			return super.canPayAsync(user);
+		}
+		return Futures.async(() -> this.canPay(user));
+	}
+
 	@Override
 	public void pay(User user) throws PricingException {
+		this.withdraw(user, Sponge.getCauseStackManager().getCurrentCause());
+	}
+
+	@Override
+	public CompletableFuture<Void> payAsync(User user) {
+		if(!GTS.getInstance().getConfig().get(ConfigKeys.ECONOMY_ASYNC)) {
+			return super.payAsync(user);
+		}
+
+		// The cause stack may only be read from the server thread, so the cause is built up front
+		Cause cause = offThreadCause();
+		return Futures.async(() -> {
+			this.withdraw(user, cause);
+			return null;
+		});
+	}
+
+	private void withdraw(User user, Cause cause) throws PricingException {
 		this.isAvailable();
 		UniqueAccount acc = GTS.getInstance().getEconomy().getOrCreateAccount(user.getUniqueId()).orElse(null);
 
 		if(acc == null)
 			throw new PricingException(user.getName() + "'s economic account was unable to be found...");
 
-		acc.withdraw(
+		TransactionResult result = acc.withdraw(
 				GTS.getInstance().getEconomy().getDefaultCurrency(),
 				this.price,
-				Sponge.getCauseStackManager().getCurrentCause()
+				cause
 		);
+		if(result.getResult() != ResultType.SUCCESS)
+			throw new PricingException("Unable to withdraw " + this.price + " from " + user.getName() + " (" + result.getResult() + ")");
 	}
 
 	@Override
@@ -98,17 +130,40 @@ public class MoneyPrice extends Price<BigDecimal> implements Auctionable<MoneyPr
 
 	@Override
 	public void reward(UUID uuid) throws PricingException {
+		this.deposit(uuid, Sponge.getCauseStackManager().getCurrentCause());
+	}
+
+	@Override
+	public CompletableFuture<Void> rewardAsync(UUID uuid) {
+		if(!GTS.getInstance().getConfig().get(ConfigKeys.ECONOMY_ASYNC)) {
+			return super.rewardAsync(uuid);
+		}
+
+		Cause cause = offThreadCause();
+		return Futures.async(() -> {
+			this.deposit(uuid, cause);
+			return null;
+		});
+	}
+
+	private void deposit(UUID uuid, Cause cause) throws PricingException {
 		this.isAvailable();
 		UniqueAccount acc = GTS.getInstance().getEconomy().getOrCreateAccount(uuid).orElse(null);
 
 		if(acc == null)
 			throw new PricingException(uuid.toString() + "'s economic account was unable to be found...");
 
-		acc.deposit(
+		TransactionResult result = acc.deposit(
 				GTS.getInstance().getEconomy().getDefaultCurrency(),
 				this.price,
-				Sponge.getCauseStackManager().getCurrentCause()
+				cause
 		);
+		if(result.getResult() != ResultType.SUCCESS)
+			throw new PricingException("Unable to deposit " + this.price + " to " + uuid.toString() + " (" + result.getResult() + ")");
+	}
+
+	private static Cause offThreadCause() {
+		return Cause.builder().append(GTS.getInstance()).build(EventContext.empty());
 	}
 
 	@Override
@@ -1,35 +1,86 @@
 package com.nickimpact.gts.listeners;
 
-import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Maps;
 import com.nickimpact.gts.GTS;
 import com.nickimpact.gts.api.listings.Listing;
+import com.nickimpact.gts.api.listings.ListingState;
+import com.nickimpact.gts.commands.AsyncSubCommand;
 import com.nickimpact.gts.configuration.MsgConfigKeys;
 import com.nickimpact.gts.logs.Log;
 import com.nickimpact.gts.logs.LogAction;
 import com.nickimpact.gts.utils.ListingUtils;
 import io.github.nucleuspowered.nucleus.api.exceptions.NucleusException;
+import lombok.AllArgsConstructor;
 import org.spongepowered.api.entity.living.player.Player;
 import org.spongepowered.api.event.Listener;
 import org.spongepowered.api.event.network.ClientConnectionEvent;
 
+import java.util.List;
 import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
 /**
  * On a client connection, we need to check and see if any entries in the GTS have expired for the player
  * logging in. If so, we will collect these entries, return them to the owner, and purge them from the system.
+ * The player's mailbox is fetched as well, so anything parked for them whilst they were offline is handed over.
+ *
+ * <p>Both lookups are started whilst the player authenticates, off the main thread, so by the time they join
+ * only the delivery itself remains to be done.</p>
  *
  * @author NickImpact
  */
 public class JoinListener {
 
+	/** How long a prefetch is kept for, should the player never finish joining */
+	private static final long PREFETCH_TTL = TimeUnit.MINUTES.toMillis(1);
+
+	/** The expired listings found for each player as they authenticated */
+	private final Map<UUID, Prefetch> prefetched = Maps.newConcurrentMap();
+
+	@Listener
+	public void onAuth(ClientConnectionEvent.Auth e) {
+		UUID uuid = e.getProfile().getUniqueId();
+		long now = System.currentTimeMillis();
+		this.prefetched.values().removeIf(prefetch -> now - prefetch.time > PREFETCH_TTL);
+
+		GTS.getInstance().getMailboxes().prefetch(uuid);
+		this.prefetched.put(uuid, new Prefetch(this.findExpired(uuid), now));
+	}
+
 	@Listener
 	public void onJoin(ClientConnectionEvent.Join e) {
 		Player player = e.getTargetEntity();
+		GTS.getInstance().getListingLimits().invalidate(player.getUniqueId());
+		GTS.getInstance().getUsers().invalidate(player.getUniqueId());
+		GTS.getInstance().getRecipients().join(player);
+		GTS.getInstance().getMailboxes().load(player);
+
+		Prefetch prefetch = this.prefetched.remove(player.getUniqueId());
+		List<Listing> expired = prefetch != null ? prefetch.expired : this.findExpired(player.getUniqueId());
+		if(!expired.isEmpty()) {
+			GTS.getInstance().getMarketQueue().submit("return to " + player.getName(), () -> this.returnEntries(player, expired));
+		}
+	}
 
-		ImmutableList.copyOf(GTS.getInstance().getListingsCache()).stream()
-				.filter(listing -> listing.getOwnerUUID().equals(player.getUniqueId()))
+	private List<Listing> findExpired(UUID owner) {
+		return GTS.getInstance().getListingIndex().getByOwner(owner).stream()
 				.filter(Listing::hasExpired)
+				.collect(Collectors.toList());
+	}
+
+	/**
+	 * Returns the expired listings found for a player. Any settled in the meantime, such as by the expiry
+	 * task, fail to be claimed, and are skipped.
+	 */
+	private void returnEntries(Player player, List<Listing> expired) {
+		if(!player.isOnline()) {
+			return;
+		}
+
+		expired.stream()
+				.filter(Listing::claim)
 				.forEach(listing -> {
 					Map<String, Object> variables = Maps.newHashMap();
 					variables.put("listing_specifics", listing);
@@ -37,6 +88,7 @@ public class JoinListener {
 					variables.put("time_left", listing);
 					variables.put("id", listing);
 					if(listing.getEntry().giveEntry(player)) {
+						listing.complete(ListingState.EXPIRED);
 						ListingUtils.deleteEntry(listing);
 						Log expires = Log.builder()
 								.action(LogAction.Expiration)
@@ -55,6 +107,7 @@ public class JoinListener {
 							e1.printStackTrace();
 						}
 					} else {
+						listing.release();
 						try {
 							player.sendMessages(GTS.getInstance().getTextParsingUtils().parse(
 									"{{gts_error}} &7Your &a{{listing_name}} &7listing has expired, but was unable to be returned. It is now in a queue for retrieval once you meet the proper conditions...",
@@ -68,4 +121,21 @@ public class JoinListener {
 					}
 				});
 	}
+
+	@Listener
+	public void onQuit(ClientConnectionEvent.Disconnect e) {
+		GTS.getInstance().getListingLimits().invalidate(e.getTargetEntity().getUniqueId());
+		GTS.getInstance().getRecipients().quit(e.getTargetEntity().getUniqueId());
+		GTS.getInstance().getMailboxes().unload(e.getTargetEntity().getUniqueId());
+		GTS.getInstance().getRateLimiter().invalidate(e.getTargetEntity().getUniqueId());
+		GTS.getInstance().getUsers().invalidate(e.getTargetEntity().getUniqueId());
+		AsyncSubCommand.cancel(e.getTargetEntity().getUniqueId());
+		this.prefetched.remove(e.getTargetEntity().getUniqueId());
+	}
+
+	@AllArgsConstructor
+	private static class Prefetch {
+		private final List<Listing> expired;
+		private final long time;
+	}
 }
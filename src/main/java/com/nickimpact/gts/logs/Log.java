@@ -2,7 +2,9 @@ package com.nickimpact.gts.logs;
 
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
+import com.google.gson.annotations.JsonAdapter;
 import com.nickimpact.gts.GTS;
+import com.nickimpact.gts.api.json.EpochMillisAdapter;
 import com.nickimpact.gts.api.listings.Listing;
 import io.github.nucleuspowered.nucleus.api.exceptions.NucleusException;
 import lombok.Builder;
@@ -15,7 +17,6 @@ import org.spongepowered.api.text.format.TextColors;
 import org.spongepowered.api.text.serializer.TextSerializers;
 
 import java.text.SimpleDateFormat;
-import java.time.Instant;
 import java.util.Date;
 import java.util.List;
 import java.util.Map;
@@ -36,8 +37,9 @@ public class Log {
 	/** The ID of the log */
 	private final UUID id = UUID.randomUUID();
 
-	/** The date the log was issued */
-	private final Date date = Date.from(Instant.now());
+	/** The time the log was issued, in epoch millis */
+	@JsonAdapter(EpochMillisAdapter.class)
+	private final long date = System.currentTimeMillis();
 
 	/** The individual this log belongs to */
 	private final UUID source;
@@ -76,12 +78,12 @@ public class Log {
 	public Text toText(CommandSource src, int id) {
 		Map<String, Object> variables = Maps.newHashMap();
 		variables.put("action", this.action.name());
-		variables.put("issued", sdf.format(this.date));
+		variables.put("issued", sdf.format(new Date(this.date)));
 
 		//try {
 			Text base = Text.of(
 					TextColors.GREEN, id, TextColors.GRAY, ") ", TextColors.YELLOW, this.action.name(),
-					TextColors.GRAY, " - Issued: ", TextColors.GREEN, sdf.format(this.date)
+					TextColors.GRAY, " - Issued: ", TextColors.GREEN, sdf.format(new Date(this.date))
 			);
 
 			return Text.builder().append(base).onHover(TextActions.showText(this.toSingle())).build();
@@ -0,0 +1,64 @@
+package com.nickimpact.gts.mailbox;
+
+import com.google.common.collect.Lists;
+import com.nickimpact.gts.api.listings.entries.EntryHolder;
+import com.nickimpact.gts.api.listings.pricing.PriceHolder;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Holds every entry and price waiting to be handed to a single user, such as an entry which expired whilst
+ * they were offline, or the price of a listing sold whilst they were away.
+ *
+ * @author NickImpact
+ */
+@Getter
+public class Mailbox {
+
+	private final UUID owner;
+	private final List<EntryHolder> entries;
+	private final List<PriceHolder> prices;
+
+	/** The earliest time at which delivery of this mailbox should next be attempted */
+	@Setter private long nextAttempt;
+
+	public Mailbox(UUID owner) {
+		this(owner, Lists.newArrayList(), Lists.newArrayList());
+	}
+
+	public Mailbox(UUID owner, List<EntryHolder> entries, List<PriceHolder> prices) {
+		this.owner = owner;
+		this.entries = entries;
+		this.prices = prices;
+	}
+
+	public int size() {
+		return this.entries.size() + this.prices.size();
+	}
+
+	public boolean isEmpty() {
+		return this.size() == 0;
+	}
+
+	/**
+	 * Adds the contents of another mailbox for the same user to this one, skipping anything already held.
+	 *
+	 * @param other The mailbox to merge in
+	 */
+	public void merge(Mailbox other) {
+		for(EntryHolder entry : other.entries) {
+			if(this.entries.stream().noneMatch(held -> held.getId().equals(entry.getId()))) {
+				this.entries.add(entry);
+			}
+		}
+
+		for(PriceHolder price : other.prices) {
+			if(this.prices.stream().noneMatch(held -> held.getId().equals(price.getId()))) {
+				this.prices.add(price);
+			}
+		}
+	}
+}
@@ -0,0 +1,336 @@
+package com.nickimpact.gts.mailbox;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.nickimpact.gts.GTS;
+import com.nickimpact.gts.api.listings.entries.EntryHolder;
+import com.nickimpact.gts.api.listings.pricing.PriceHolder;
+import com.nickimpact.gts.api.listings.pricing.RewardException;
+import com.nickimpact.gts.configuration.ConfigKeys;
+import com.nickimpact.gts.configuration.MsgConfigKeys;
+import io.github.nucleuspowered.nucleus.api.exceptions.NucleusException;
+import lombok.AllArgsConstructor;
+import org.spongepowered.api.Sponge;
+import org.spongepowered.api.command.CommandSource;
+import org.spongepowered.api.entity.living.player.Player;
+import org.spongepowered.api.scheduler.Task;
+import org.spongepowered.api.text.Text;
+import org.spongepowered.api.text.serializer.TextSerializers;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Holds the mailbox of every player currently online, and hands over its contents once they are able to receive
+ * them. A player's mailbox is fetched from storage as they join, and dropped once they leave, so only the rewards
+ * of players online are ever held in memory.
+ *
+ * <p>Anything a player is unable to receive, such as a Pokemon whilst their party and PC are full, is left in
+ * their mailbox, and delivery is retried on an interval for as long as they remain online.</p>
+ *
+ * <p>Most players have nothing waiting for them as they join, so a filter over every user with mail is kept,
+ * letting the storage lookup be skipped for those it rules out.</p>
+ *
+ * @author NickImpact
+ */
+public class MailboxManager {
+
+	/** How long a prefetched mailbox is kept for, should its owner never finish joining */
+	private static final long PREFETCH_TTL = TimeUnit.MINUTES.toMillis(1);
+
+	private final Map<UUID, Mailbox> loaded = Maps.newConcurrentMap();
+
+	/** Mailboxes fetched as their owners authenticate, awaiting the owner joining the server */
+	private final Map<UUID, Prefetch> prefetched = Maps.newConcurrentMap();
+
+	/** Every user who may have something in their mailbox */
+	private final OwnerFilter owners = new OwnerFilter();
+
+	/** The number of mailbox lookups ruled out by the owner filter */
+	private final LongAdder skipped = new LongAdder();
+
+	private Task task;
+
+	public void init(GTS plugin) {
+		this.rebuild();
+		this.task = Sponge.getScheduler().createTaskBuilder()
+				.execute(this::sweep)
+				.interval(1, TimeUnit.SECONDS)
+				.name("GTS Mailbox Delivery")
+				.submit(plugin);
+	}
+
+	public void shutdown() {
+		if(this.task != null) {
+			this.task.cancel();
+		}
+		this.loaded.clear();
+		this.prefetched.clear();
+	}
+
+	/**
+	 * Begins fetching a user's mailbox from storage ahead of them joining, such as whilst they authenticate.
+	 *
+	 * @param uuid The UUID of the user
+	 */
+	public void prefetch(UUID uuid) {
+		this.prefetched.put(uuid, new Prefetch(new Mailbox(uuid), this.fetch(uuid), System.currentTimeMillis()));
+	}
+
+	/**
+	 * Fetches a player's mailbox from storage, unless it was already prefetched, and delivers whatever it holds.
+	 * Anything posted to the player whilst the fetch is underway is kept, and merged with what was stored.
+	 *
+	 * @param player The player who has joined
+	 */
+	public void load(Player player) {
+		UUID uuid = player.getUniqueId();
+		Prefetch prefetch = this.prefetched.remove(uuid);
+		Mailbox mailbox = prefetch != null ? prefetch.mailbox : new Mailbox(uuid);
+		CompletableFuture<Mailbox> fetch = prefetch != null ? prefetch.fetch : this.fetch(uuid);
+		this.loaded.put(uuid, mailbox);
+
+		fetch.thenAccept(stored -> GTS.getInstance().getMarketQueue().submit("deliver mailbox", () -> {
+			// The player may have left, or even rejoined, since the fetch began
+			if(this.loaded.get(uuid) != mailbox) {
+				return;
+			}
+
+			mailbox.merge(stored);
+			this.deliver(player, mailbox);
+		}));
+	}
+
+	/**
+	 * Fetches a user's mailbox from storage, unless the owner filter rules out them having anything waiting.
+	 */
+	private CompletableFuture<Mailbox> fetch(UUID uuid) {
+		if(!this.owners.mightHaveMail(uuid)) {
+			this.skipped.increment();
+			return CompletableFuture.completedFuture(new Mailbox(uuid));
+		}
+
+		return GTS.getInstance().getStorage().getMailbox(uuid);
+	}
+
+	public void unload(UUID uuid) {
+		this.loaded.remove(uuid);
+	}
+
+	/**
+	 * Fetches the mailbox of every player online once more, such as after a backup has been restored.
+	 */
+	public void reload() {
+		this.rebuild();
+		this.loaded.clear();
+		Sponge.getServer().getOnlinePlayers().forEach(this::load);
+	}
+
+	/**
+	 * Rebuilds the owner filter from storage, dropping those whose mail has since been delivered. Until the
+	 * rebuild completes, every mailbox is fetched from storage.
+	 */
+	public void rebuild() {
+		this.owners.begin();
+		GTS.getInstance().getStorage().getMailOwners().whenComplete((owners, error) -> {
+			if(owners != null) {
+				this.owners.complete(owners);
+			}
+		});
+	}
+
+	/**
+	 * Stores an entry for a user who is unable to receive it right now. The entry is only placed into its
+	 * owner's mailbox once it has been written, so it can never be delivered, and removed from storage, before
+	 * the write lands.
+	 *
+	 * @param holder The entry, alongside the user it belongs to
+	 */
+	public void post(EntryHolder holder) {
+		GTS.getInstance().getStorage().addHeldElement(holder).thenRun(() ->
+				GTS.getInstance().getMarketQueue().submit("post mail entry", () -> this.receive(holder))
+		);
+	}
+
+	/**
+	 * Stores a price for a user who is unable to receive it right now. The price is only placed into its
+	 * owner's mailbox once it has been written, so it can never be delivered, and removed from storage, before
+	 * the write lands.
+	 *
+	 * @param holder The price, alongside the user it belongs to
+	 */
+	public void post(PriceHolder holder) {
+		GTS.getInstance().getStorage().addHeldPrice(holder).thenRun(() ->
+				GTS.getInstance().getMarketQueue().submit("post mail price", () -> this.receive(holder))
+		);
+	}
+
+	/**
+	 * Places an entry which is already in storage into its owner's mailbox, should they be online. This must
+	 * be called through the market queue, where mailboxes are delivered.
+	 *
+	 * @param holder The entry, alongside the user it belongs to
+	 */
+	public void receive(EntryHolder holder) {
+		this.owners.add(holder.getUuid());
+		Mailbox mailbox = this.find(holder.getUuid());
+
+		// The mailbox may have been fetched after the entry was written, and so already hold it
+		if(mailbox != null && mailbox.getEntries().stream().noneMatch(held -> held.getId().equals(holder.getId()))) {
+			mailbox.getEntries().add(holder);
+			mailbox.setNextAttempt(0);
+		}
+	}
+
+	/**
+	 * Places a price which is already in storage into its owner's mailbox, should they be online. This must
+	 * be called through the market queue, where mailboxes are delivered.
+	 *
+	 * @param holder The price, alongside the user it belongs to
+	 */
+	public void receive(PriceHolder holder) {
+		this.owners.add(holder.getUuid());
+		Mailbox mailbox = this.find(holder.getUuid());
+
+		// The mailbox may have been fetched after the price was written, and so already hold it
+		if(mailbox != null && mailbox.getPrices().stream().noneMatch(held -> held.getId().equals(holder.getId()))) {
+			mailbox.getPrices().add(holder);
+			mailbox.setNextAttempt(0);
+		}
+	}
+
+	/**
+	 * Finds the mailbox anything sent to a user should be placed into, which may be one still being prefetched.
+	 */
+	private Mailbox find(UUID uuid) {
+		Mailbox mailbox = this.loaded.get(uuid);
+		if(mailbox == null) {
+			Prefetch prefetch = this.prefetched.get(uuid);
+			return prefetch != null ? prefetch.mailbox : null;
+		}
+		return mailbox;
+	}
+
+	public Optional<Mailbox> get(UUID uuid) {
+		return Optional.ofNullable(this.loaded.get(uuid));
+	}
+
+	/**
+	 * @return The number of mailboxes currently held in memory
+	 */
+	public int getLoaded() {
+		return this.loaded.size();
+	}
+
+	/**
+	 * @return The number of entries and prices awaiting delivery to players online
+	 */
+	public int getPending() {
+		return this.loaded.values().stream().mapToInt(Mailbox::size).sum();
+	}
+
+	/**
+	 * @return The number of mailbox lookups skipped, as the owner filter ruled out anything awaiting the user
+	 */
+	public long getSkipped() {
+		return this.skipped.sum();
+	}
+
+	private void sweep() {
+		long now = System.currentTimeMillis();
+		this.prefetched.values().removeIf(prefetch -> now - prefetch.time > PREFETCH_TTL);
+
+		for(Mailbox mailbox : this.loaded.values()) {
+			if(mailbox.isEmpty() || mailbox.getNextAttempt() > now) {
+				continue;
+			}
+
+			Sponge.getServer().getPlayer(mailbox.getOwner()).ifPresent(player -> {
+				mailbox.setNextAttempt(now + this.retryInterval());
+				GTS.getInstance().getMarketQueue().submit("deliver mailbox", () -> this.deliver(player, mailbox));
+			});
+		}
+	}
+
+	/**
+	 * Hands over everything within a mailbox the player is able to receive, and removes all that was delivered
+	 * from storage in a single batch.
+	 */
+	private void deliver(Player player, Mailbox mailbox) {
+		if(!player.isOnline() || mailbox.isEmpty()) {
+			return;
+		}
+
+		List<UUID> delivered = Lists.newArrayList();
+
+		Iterator<EntryHolder> entries = mailbox.getEntries().iterator();
+		while(entries.hasNext()) {
+			EntryHolder holder = entries.next();
+			if(!holder.getEntry().giveEntry(player)) {
+				continue;
+			}
+
+			entries.remove();
+			delivered.add(holder.getId());
+
+			Map<String, Function<CommandSource, Optional<Text>>> tokens = Maps.newHashMap();
+			tokens.put("entry_name", src -> Optional.of(TextSerializers.FORMATTING_CODE.deserialize(holder.getEntry().getName())));
+			this.notify(player, GTS.getInstance().getMsgConfig().get(MsgConfigKeys.REMOVAL_HELD), tokens);
+		}
+
+		Iterator<PriceHolder> prices = mailbox.getPrices().iterator();
+		while(prices.hasNext()) {
+			PriceHolder holder = prices.next();
+			try {
+				holder.getPrice().reward(player.getUniqueId());
+			} catch (RewardException e) {
+				continue;
+			} catch (Exception e) {
+				e.printStackTrace();
+				continue;
+			}
+
+			prices.remove();
+			delivered.add(holder.getId());
+
+			Map<String, Function<CommandSource, Optional<Text>>> tokens = Maps.newHashMap();
+			tokens.put("held_price", src -> Optional.of(holder.getPrice().getText()));
+			this.notify(player, GTS.getInstance().getMsgConfig().get(MsgConfigKeys.PRICE_HELD), tokens);
+		}
+
+		if(!delivered.isEmpty()) {
+			GTS.getInstance().getStorage().removeMail(player.getUniqueId(), delivered);
+		}
+
+		if(!mailbox.isEmpty()) {
+			mailbox.setNextAttempt(System.currentTimeMillis() + this.retryInterval());
+		}
+	}
+
+	private void notify(Player player, List<String> template, Map<String, Function<CommandSource, Optional<Text>>> tokens) {
+		try {
+			player.sendMessages(GTS.getInstance().getTextParsingUtils().parse(template, player, tokens, null));
+		} catch (NucleusException e) {
+			e.printStackTrace();
+		}
+	}
+
+	private long retryInterval() {
+		return TimeUnit.SECONDS.toMillis(Math.max(1, GTS.getInstance().getConfig().get(ConfigKeys.MAILBOX_RETRY_INTERVAL)));
+	}
+
+	@AllArgsConstructor
+	private static class Prefetch {
+		/** Holds anything sent to the user whilst the fetch is underway */
+		private final Mailbox mailbox;
+		private final CompletableFuture<Mailbox> fetch;
+		private final long time;
+	}
+}
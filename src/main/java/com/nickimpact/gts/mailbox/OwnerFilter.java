@@ -0,0 +1,94 @@
+package com.nickimpact.gts.mailbox;
+
+import com.google.common.collect.Sets;
+import com.google.common.hash.BloomFilter;
+import com.google.common.hash.Funnel;
+
+import java.util.Collection;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * A bloom filter over every user with something in their mailbox, through which the storage lookup of a user
+ * with nothing awaiting them, by far the most common case, can be skipped entirely.
+ *
+ * <p>The filter may report a user has mail when they do not, in which case their mailbox is simply fetched as
+ * it would be otherwise, but never the reverse. As nothing can be taken out of a bloom filter, users whose mail
+ * has since been delivered remain within it until it is next rebuilt from storage. Whilst a rebuild is underway,
+ * every user is reported as possibly having mail.</p>
+ *
+ * @author NickImpact
+ */
+public class OwnerFilter {
+
+	/** The rate of false positives the filter is sized for */
+	private static final double FALSE_POSITIVES = 0.01;
+
+	/** The fewest owners the filter is sized for, so those added after a rebuild don't quickly saturate it */
+	private static final int MIN_EXPECTED = 10000;
+
+	private static final Funnel<UUID> FUNNEL = (uuid, into) -> into
+			.putLong(uuid.getMostSignificantBits())
+			.putLong(uuid.getLeastSignificantBits());
+
+	private BloomFilter<UUID> filter;
+
+	/**
+	 * Owners added whilst a rebuild is underway, which may be missing from the rows it was built from. The filter
+	 * starts out awaiting its first build, so nothing posted before the server has started is lost.
+	 */
+	private Set<UUID> pending = Sets.newHashSet();
+
+	/**
+	 * Marks the start of a rebuild, which must happen before the owners it is built from are read from storage.
+	 */
+	public synchronized void begin() {
+		this.filter = null;
+		this.pending = Sets.newHashSet();
+	}
+
+	/**
+	 * Completes a rebuild, started through {@link #begin()}, from every owner held in storage.
+	 *
+	 * @param owners Every user with something in their mailbox
+	 */
+	public synchronized void complete(Collection<UUID> owners) {
+		Set<UUID> added = this.pending != null ? this.pending : Sets.<UUID>newHashSet();
+		BloomFilter<UUID> filter = BloomFilter.create(FUNNEL, Math.max(MIN_EXPECTED, (owners.size() + added.size()) * 2), FALSE_POSITIVES);
+		owners.forEach(filter::put);
+		added.forEach(filter::put);
+
+		this.filter = filter;
+		this.pending = null;
+	}
+
+	/**
+	 * Records that a user has something in their mailbox.
+	 *
+	 * @param owner The UUID of the user
+	 */
+	public synchronized void add(UUID owner) {
+		if(this.filter != null) {
+			this.filter.put(owner);
+		}
+
+		if(this.pending != null) {
+			this.pending.add(owner);
+		}
+	}
+
+	/**
+	 * @param owner The UUID of the user
+	 * @return False only if the user certainly has nothing in their mailbox
+	 */
+	public synchronized boolean mightHaveMail(UUID owner) {
+		return this.filter == null || this.filter.mightContain(owner);
+	}
+
+	/**
+	 * @return Whether the filter has been built, and is able to rule out lookups
+	 */
+	public synchronized boolean isReady() {
+		return this.filter != null;
+	}
+}
@@ -0,0 +1,321 @@
+package com.nickimpact.gts.market;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.nickimpact.gts.GTS;
+import com.nickimpact.gts.GTSInfo;
+import com.nickimpact.gts.api.listings.Listing;
+import com.nickimpact.gts.api.listings.ListingState;
+import com.nickimpact.gts.api.listings.data.AuctionData;
+import com.nickimpact.gts.api.listings.pricing.PricingException;
+import com.nickimpact.gts.api.utils.Futures;
+import com.nickimpact.gts.broadcast.Announcement;
+import com.nickimpact.gts.configuration.MsgConfigKeys;
+import com.nickimpact.gts.entries.prices.MoneyPrice;
+import com.nickimpact.gts.scheduling.TickScheduler;
+import io.github.nucleuspowered.nucleus.api.exceptions.NucleusException;
+import org.spongepowered.api.Sponge;
+import org.spongepowered.api.entity.living.player.Player;
+import org.spongepowered.api.text.Text;
+import org.spongepowered.api.text.action.TextActions;
+import org.spongepowered.api.text.format.TextColors;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Processes every bid placed on an auction. Each auction being bid on has its own mailbox, through which its bids
+ * are taken one at a time, in the order they arrived. A bid is validated and applied through the {@link MarketQueue},
+ * alongside every other mutation of the market, with only the balance check of the bidder left off the server
+ * thread, and only should the economy permit it. The mailbox waits for each bid to be applied before validating
+ * the next, so the price of an auction always matches its high bidder.
+ *
+ * <p>A bid is only applied whilst the engine holds the claim on its listing, so an auction being settled never
+ * accepts another bid. The changes made by a run of bids are written to storage together, rather than once per
+ * bid, and the players who were outbid are notified by the engine as each bid is applied. Every message is
+ * rendered on the server thread.</p>
+ *
+ * @author NickImpact
+ */
+public class AuctionEngine {
+
+	/** Bids placed with less than this much time left on an auction extend it, so it can't be sniped */
+	private static final long SNIPE_WINDOW = TimeUnit.SECONDS.toMillis(15);
+
+	/** How many bids may be applied to an auction before its changes are written, should its bids keep arriving */
+	private static final int FLUSH_EVERY = 32;
+
+	private final Map<UUID, Mailbox> mailboxes = Maps.newConcurrentMap();
+
+	private final LongAdder accepted = new LongAdder();
+	private final LongAdder rejected = new LongAdder();
+
+	/**
+	 * Queues a bid on an auction. The bidder is messaged once their bid has been applied, or rejected.
+	 *
+	 * @param player The player placing the bid
+	 * @param listing The auction to bid on
+	 */
+	public void bid(Player player, Listing listing) {
+		if(listing.getAucData() == null) {
+			return;
+		}
+
+		Bid bid = new Bid(player, listing);
+		Mailbox mailbox = this.mailboxes.compute(listing.getUuid(), (uuid, existing) -> {
+			Mailbox target = existing != null ? existing : new Mailbox(listing);
+			target.queue.add(bid);
+			return target;
+		});
+		mailbox.schedule();
+	}
+
+	public long getAccepted() {
+		return this.accepted.sum();
+	}
+
+	public long getRejected() {
+		return this.rejected.sum();
+	}
+
+	/**
+	 * @return The number of auctions with bids currently being processed
+	 */
+	public int getActive() {
+		return this.mailboxes.size();
+	}
+
+	private void reject(Bid bid, List<Text> reason) {
+		this.rejected.increment();
+		notify(bid.player, reason);
+	}
+
+	/**
+	 * Sends a message to the bidder, rendered from its template on the server thread.
+	 */
+	private static void notify(Bid bid, List<String> template) {
+		GTS.getInstance().getTickScheduler().submit(TickScheduler.Priority.NOTIFICATION, "bid messages", () -> {
+			if(bid.player.isOnline()) {
+				bid.player.sendMessages(parse(template, bid.player, bid.variables));
+			}
+		});
+	}
+
+	private static void notify(Player player, List<Text> lines) {
+		if(lines.isEmpty()) {
+			return;
+		}
+
+		GTS.getInstance().getTickScheduler().submit(TickScheduler.Priority.NOTIFICATION, "bid messages", () -> {
+			if(player.isOnline()) {
+				player.sendMessages(lines);
+			}
+		});
+	}
+
+	private static List<Text> parse(List<String> template, Player player, Map<String, Object> variables) {
+		try {
+			return GTS.getInstance().getTextParsingUtils().parse(template, player, null, variables);
+		} catch (NucleusException e) {
+			GTS.getInstance().getConsole().ifPresent(console -> console.sendMessage(Text.of(
+					GTSInfo.ERROR, "Unable to send a bid message for ", player.getName()
+			)));
+			return Lists.newArrayList();
+		}
+	}
+
+	/**
+	 * The bids waiting to be applied to a single auction. Only one thread ever drains a mailbox at a time, and it
+	 * lets go of the mailbox once no bids remain.
+	 */
+	private class Mailbox {
+
+		private final Listing listing;
+		private final Queue<Bid> queue = new ConcurrentLinkedQueue<>();
+		private final AtomicBoolean draining = new AtomicBoolean();
+
+		/**
+		 * The number of bids applied since the auction was last written to storage. The mailbox only moves on once
+		 * each bid has been applied, so this is never touched by two threads at once
+		 */
+		private int unflushed;
+
+		private Mailbox(Listing listing) {
+			this.listing = listing;
+		}
+
+		private void schedule() {
+			if(this.draining.compareAndSet(false, true)) {
+				GTS.getInstance().getAsyncExecutorService().execute(this::next);
+			}
+		}
+
+		private void next() {
+			Bid bid = this.queue.poll();
+			if(bid == null) {
+				this.flush();
+				this.draining.set(false);
+
+				// A bid may have arrived after the queue was found empty, but before the mailbox was let go of
+				if(!this.queue.isEmpty()) {
+					this.schedule();
+				} else {
+					mailboxes.computeIfPresent(this.listing.getUuid(), (uuid, mailbox) -> mailbox == this && mailbox.isIdle() ? null : mailbox);
+				}
+				return;
+			}
+
+			// Only the balance check may leave the server thread, and the bid carries on through the market queue once
+			// it completes
+			Executor market = GTS.getInstance().getMarketQueue().executor("auction bid " + this.listing.getUuid());
+			CompletableFuture.supplyAsync(() -> this.validate(bid), market).thenCompose(validation -> validation).thenAcceptAsync(valid -> {
+				if(valid) {
+					this.apply(bid);
+				}
+			}, market).whenCompleteAsync((ignored, error) -> {
+				try {
+					if(error != null) {
+						Futures.unwrap(error).printStackTrace();
+						reject(bid, Lists.newArrayList(Text.of(GTSInfo.ERROR, "Your bid was unable to be placed, please try again...")));
+					}
+				} finally {
+					this.next();
+				}
+			}, GTS.getInstance().getAsyncExecutorService());
+		}
+
+		private boolean isIdle() {
+			return !this.draining.get() && this.queue.isEmpty();
+		}
+
+		/**
+		 * Checks a bid may be placed, against the auction as it stands after every bid which arrived before it.
+		 * This is run on the server thread, as a mutation of the market.
+		 *
+		 * @return A future completed with whether the bid may be applied
+		 */
+		private CompletableFuture<Boolean> validate(Bid bid) {
+			AuctionData ad = this.listing.getAucData();
+			if(this.listing.getState() != ListingState.ACTIVE || this.listing.hasExpired()) {
+				reject(bid, Lists.newArrayList(Text.of(GTSInfo.ERROR, "That auction is no longer accepting bids...")));
+				return CompletableFuture.completedFuture(false);
+			}
+
+			if(bid.player.getUniqueId().equals(ad.getHighBidder())) {
+				rejected.increment();
+				notify(bid, GTS.getInstance().getMsgConfig().get(MsgConfigKeys.AUCTION_IS_HIGH_BIDDER));
+				return CompletableFuture.completedFuture(false);
+			}
+
+			MoneyPrice price;
+			try {
+				price = ((MoneyPrice) this.listing.getEntry().getPrice()).calculate(ad.getIncrement());
+			} catch (PricingException e) {
+				reject(bid, Lists.newArrayList(Text.of(GTSInfo.ERROR, "Your bid was unable to be placed, please try again...")));
+				return CompletableFuture.completedFuture(false);
+			}
+
+			return price.canPayAsync(bid.player).thenApply(affordable -> {
+				if(!affordable) {
+					reject(bid, Lists.newArrayList(Text.of(GTSInfo.ERROR, "Your balance is too low to bid...")));
+				}
+				return affordable;
+			});
+		}
+
+		/**
+		 * Applies a validated bid to the auction. This is run on the server thread, as a mutation of the market.
+		 */
+		private void apply(Bid bid) {
+			// The auction is being settled, so it's too late to bid
+			if(!this.listing.claim()) {
+				reject(bid, Lists.newArrayList(Text.of(GTSInfo.ERROR, "That auction is no longer accepting bids...")));
+				return;
+			}
+
+			AuctionData ad = this.listing.getAucData();
+			UUID outbid;
+			try {
+				if(this.listing.hasExpired()) {
+					reject(bid, Lists.newArrayList(Text.of(GTSInfo.ERROR, "That auction is no longer accepting bids...")));
+					return;
+				}
+
+				outbid = ad.getHighBidder();
+				ad.setHighBidder(bid.player.getUniqueId());
+				ad.setHbName(Text.of(bid.player.getName()));
+				ad.setHbNameString(bid.player.getName());
+				((MoneyPrice) this.listing.getEntry().getPrice()).add(ad.getIncrement());
+				if(this.listing.getTimeLeft(GTS.getInstance().getTickScheduler().currentTime()) < SNIPE_WINDOW) {
+					GTS.getInstance().getListingIndex().update(this.listing, Listing::increaseTimeForBid);
+				}
+			} catch (PricingException e) {
+				// The price is only ever raised by the engine, and the economy was present to validate the bid
+				e.printStackTrace();
+				return;
+			} finally {
+				this.listing.release();
+			}
+
+			accepted.increment();
+			if(++this.unflushed >= FLUSH_EVERY) {
+				this.flush();
+			}
+
+			notify(bid, GTS.getInstance().getMsgConfig().get(MsgConfigKeys.AUCTION_BID));
+			if(outbid != null) {
+				Text message = Text.of(
+						GTSInfo.PREFIX, TextColors.GRAY,
+						TextActions.executeCallback(src -> bid((Player) src, this.listing)),
+						TextActions.showText(Text.of(TextColors.GRAY, "Click to bid!")),
+						"You've been ", TextColors.RED, "outbid", TextColors.GRAY, "... Click here to bid once more!"
+				);
+				GTS.getInstance().getTickScheduler().submit(TickScheduler.Priority.NOTIFICATION, "outbid message", () ->
+						Sponge.getServer().getPlayer(outbid).ifPresent(player -> player.sendMessage(message))
+				);
+			}
+
+			GTS.getInstance().getBroadcasts().announce(Announcement.builder()
+					.kind(Announcement.Kind.Bid)
+					.source(bid.player.getUniqueId())
+					.sourceName(bid.player.getName())
+					.category(this.listing.getEntry().getId())
+					.lines(parse(GTS.getInstance().getMsgConfig().get(MsgConfigKeys.AUCTION_BID_BROADCAST), bid.player, bid.variables))
+					.build()
+			);
+		}
+
+		private void flush() {
+			if(this.unflushed == 0) {
+				return;
+			}
+
+			this.unflushed = 0;
+			if(this.listing.getState() == ListingState.ACTIVE || this.listing.getState() == ListingState.CLAIMING) {
+				GTS.getInstance().getStorage().updateListing(this.listing);
+			}
+		}
+	}
+
+	private static class Bid {
+
+		private final Player player;
+		private final Map<String, Object> variables = Maps.newHashMap();
+
+		private Bid(Player player, Listing listing) {
+			this.player = player;
+			this.variables.put("listing_specifics", listing);
+			this.variables.put("listing_name", listing);
+			this.variables.put("time_left", listing);
+			this.variables.put("id", listing);
+		}
+	}
+}
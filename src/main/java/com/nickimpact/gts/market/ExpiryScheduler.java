@@ -0,0 +1,111 @@
+package com.nickimpact.gts.market;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import lombok.AllArgsConstructor;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tracks when each listing on the market is next due to be processed for expiration, such that the expiry
+ * task only ever touches the listings which are actually due.
+ *
+ * <p>Each listing holds a single authoritative deadline. Rather than searching the queue when a listing is
+ * extended or removed, the deadline is simply replaced or dropped, and the outdated queue entry is discarded
+ * once it reaches the head. Listings which could not be processed, typically as their owner was offline, are
+ * retried with an increasing delay rather than on every run.</p>
+ *
+ * @author NickImpact
+ */
+public class ExpiryScheduler {
+
+	private static final long RETRY_BASE = TimeUnit.SECONDS.toMillis(5);
+	private static final long RETRY_MAX = TimeUnit.MINUTES.toMillis(5);
+
+	private final PriorityQueue<Due> queue = new PriorityQueue<>(Comparator.comparingLong(due -> due.deadline));
+	private final Map<UUID, Long> deadlines = Maps.newHashMap();
+	private final Map<UUID, Integer> attempts = Maps.newHashMap();
+
+	/**
+	 * Schedules a listing to be processed once it expires, replacing any deadline it previously held.
+	 *
+	 * @param uuid The uuid of the listing
+	 * @param expiration The time the listing expires, in epoch millis
+	 */
+	public synchronized void schedule(UUID uuid, long expiration) {
+		this.push(uuid, expiration);
+	}
+
+	/**
+	 * Drops any deadline held by the listing, such as when it has left the market.
+	 *
+	 * @param uuid The uuid of the listing
+	 */
+	public synchronized void cancel(UUID uuid) {
+		deadlines.remove(uuid);
+		attempts.remove(uuid);
+	}
+
+	/**
+	 * Schedules a listing which failed to process to be attempted again. Each consecutive failure doubles
+	 * the delay before the next attempt, up to a maximum of five minutes.
+	 *
+	 * @param uuid The uuid of the listing
+	 * @param now The current time, in epoch millis
+	 */
+	public synchronized void retry(UUID uuid, long now) {
+		int attempt = attempts.merge(uuid, 1, Integer::sum);
+		long delay = Math.min(RETRY_MAX, RETRY_BASE << Math.min(attempt - 1, 16));
+		this.push(uuid, now + delay);
+	}
+
+	public synchronized void clear() {
+		queue.clear();
+		deadlines.clear();
+		attempts.clear();
+	}
+
+	/**
+	 * Removes and returns every listing whose deadline has passed. Should nothing be due, this only ever
+	 * inspects the head of the queue.
+	 *
+	 * @param now The current time, in epoch millis
+	 * @return The uuids of all listings now due, soonest first
+	 */
+	public synchronized List<UUID> poll(long now) {
+		List<UUID> due = Lists.newArrayList();
+		while(!queue.isEmpty() && queue.peek().deadline <= now) {
+			Due next = queue.poll();
+			Long deadline = deadlines.get(next.uuid);
+			if(deadline == null || deadline != next.deadline) {
+				// Outdated, the listing has since been removed or rescheduled
+				continue;
+			}
+
+			deadlines.remove(next.uuid);
+			due.add(next.uuid);
+		}
+
+		return due;
+	}
+
+	public synchronized int size() {
+		return deadlines.size();
+	}
+
+	private void push(UUID uuid, long deadline) {
+		deadlines.put(uuid, deadline);
+		queue.add(new Due(uuid, deadline));
+	}
+
+	@AllArgsConstructor
+	private static class Due {
+		private final UUID uuid;
+		private final long deadline;
+	}
+}
@@ -0,0 +1,374 @@
+package com.nickimpact.gts.market;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+import com.nickimpact.gts.api.listings.Listing;
+import com.nickimpact.gts.utils.PersistentMap;
+import com.nickimpact.gts.utils.PersistentTree;
+import lombok.Getter;
+import org.spongepowered.api.Sponge;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * Holds every listing currently on the market, indexed by its UUID, its owner, the type of entry it holds,
+ * and the time it expires. Each index is updated under a single write lock, so a reader will never observe
+ * a listing present in one index but not another.
+ *
+ * <p>All views handed out are immutable, and as such, are safe to iterate whilst the market changes beneath
+ * them. Reads by UUID, and reads of the market as a whole, are served from persistent structures without taking
+ * a lock or copying. Changes made on the server thread are published as a single {@link MarketSnapshot} once
+ * the tick's work is done, for readers such as UIs which track its version. Listings which expire are
+ * additionally kept scheduled within the {@link ExpiryScheduler}.</p>
+ *
+ * @author NickImpact
+ */
+public class ListingIndex {
+
+	/** Orders listings by their expiration, falling back to their UUID so no two listings ever collide */
+	private static final Comparator<Listing> EXPIRATION = Comparator.comparingLong(Listing::getExpiration).thenComparing(Listing::getUuid);
+
+	private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+	private volatile PersistentMap<UUID, MarketSnapshot.Slot> byUUID = PersistentMap.empty();
+	private volatile PersistentTree<Listing> bySeq = PersistentTree.empty();
+	private long seq;
+	private final Map<UUID, Set<Listing>> byOwner = Maps.newHashMap();
+	private final Map<String, Set<Listing>> byType = Maps.newHashMap();
+	private final NavigableSet<Listing> byExpiration = Sets.newTreeSet(EXPIRATION);
+
+	/** The total stored size of the listings each owner holds on the market, in bytes */
+	private final Map<UUID, Long> bytesByOwner = Maps.newHashMap();
+	private long totalBytes;
+
+	/** Tracks when each listing is next due to be processed for expiration */
+	@Getter private final ExpiryScheduler expiry = new ExpiryScheduler();
+
+	/** The state of the market as of the last batch of changes */
+	private volatile MarketSnapshot snapshot = MarketSnapshot.EMPTY;
+
+	/** Whether the market has changed since the last snapshot was published */
+	private volatile boolean dirty;
+
+	/**
+	 * Adds a listing to the index. If a listing with the same UUID is already present, it is replaced.
+	 *
+	 * @param listing The listing to add
+	 */
+	public void add(Listing listing) {
+		lock.writeLock().lock();
+		try {
+			this.unlink(listing.getUuid());
+			this.link(listing, seq++);
+			this.changed();
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	public void addAll(Collection<Listing> listings) {
+		lock.writeLock().lock();
+		try {
+			for(Listing listing : listings) {
+				this.unlink(listing.getUuid());
+				this.link(listing, seq++);
+			}
+			this.changed();
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * Removes a listing from the index.
+	 *
+	 * @param listing The listing to remove
+	 * @return True if the listing was present, false otherwise
+	 */
+	public boolean remove(Listing listing) {
+		return this.remove(listing.getUuid()).isPresent();
+	}
+
+	public Optional<Listing> remove(UUID uuid) {
+		lock.writeLock().lock();
+		try {
+			Listing removed = this.unlink(uuid);
+			if(removed != null) {
+				this.changed();
+			}
+			return Optional.ofNullable(removed);
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	public void clear() {
+		lock.writeLock().lock();
+		try {
+			byUUID = PersistentMap.empty();
+			bySeq = PersistentTree.empty();
+			byOwner.clear();
+			byType.clear();
+			byExpiration.clear();
+			bytesByOwner.clear();
+			totalBytes = 0;
+			expiry.clear();
+			this.changed();
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * Applies a change to a listing which may affect where it is indexed, such as extending its expiration.
+	 * Should the listing no longer be on the market, the change is still applied, but nothing is re-indexed.
+	 *
+	 * @param listing The listing to change
+	 * @param change The change to apply
+	 */
+	public void update(Listing listing, Consumer<Listing> change) {
+		lock.writeLock().lock();
+		try {
+			MarketSnapshot.Slot slot = byUUID.get(listing.getUuid());
+			if(slot != null) {
+				this.unlink(listing.getUuid());
+			}
+			change.accept(listing);
+			if(slot != null) {
+				// Keep the listing's place in the market's ordering
+				this.link(listing, slot.getSeq());
+				this.changed();
+			}
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * @return The state of the market as of the last batch of changes
+	 */
+	public MarketSnapshot getSnapshot() {
+		return this.snapshot;
+	}
+
+	public Optional<Listing> get(UUID uuid) {
+		MarketSnapshot.Slot slot = this.byUUID.get(uuid);
+		return slot != null ? Optional.of(slot.getListing()) : Optional.empty();
+	}
+
+	public boolean contains(UUID uuid) {
+		return this.byUUID.containsKey(uuid);
+	}
+
+	public boolean contains(Listing listing) {
+		return this.contains(listing.getUuid());
+	}
+
+	public int size() {
+		return this.byUUID.size();
+	}
+
+	/**
+	 * @return Every listing on the market, in the order they were added
+	 */
+	public List<Listing> getAll() {
+		return this.bySeq.asList();
+	}
+
+	public List<Listing> getByOwner(UUID owner) {
+		lock.readLock().lock();
+		try {
+			Set<Listing> listings = byOwner.get(owner);
+			return listings != null ? ImmutableList.copyOf(listings) : ImmutableList.of();
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	public int countByOwner(UUID owner) {
+		lock.readLock().lock();
+		try {
+			Set<Listing> listings = byOwner.get(owner);
+			return listings != null ? listings.size() : 0;
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * @param owner The UUID of an owner
+	 * @return The total stored size of the listings the owner holds on the market, in bytes
+	 */
+	public long getBytesByOwner(UUID owner) {
+		lock.readLock().lock();
+		try {
+			return bytesByOwner.getOrDefault(owner, 0L);
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * @return The total stored size of the listings held by each owner on the market, in bytes
+	 */
+	public Map<UUID, Long> getBytesByOwner() {
+		lock.readLock().lock();
+		try {
+			return ImmutableMap.copyOf(bytesByOwner);
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * @return The total stored size of every listing on the market, in bytes
+	 */
+	public long getTotalBytes() {
+		lock.readLock().lock();
+		try {
+			return totalBytes;
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * Fetches all listings holding an entry of the given type, as specified by the entry's typing id.
+	 *
+	 * @param type The typing id of the entry
+	 * @return All listings holding an entry of that type
+	 */
+	public List<Listing> getByType(String type) {
+		lock.readLock().lock();
+		try {
+			Set<Listing> listings = byType.get(type);
+			return listings != null ? ImmutableList.copyOf(listings) : ImmutableList.of();
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * Fetches all listings which expire at or before the given time, soonest first.
+	 *
+	 * @param time The time to check against, in epoch millis
+	 * @return All listings expiring by the given time
+	 */
+	public List<Listing> getExpiringBy(long time) {
+		lock.readLock().lock();
+		try {
+			ImmutableList.Builder<Listing> expired = ImmutableList.builder();
+			for(Listing listing : byExpiration) {
+				if(listing.getExpiration() > time) {
+					break;
+				}
+				expired.add(listing);
+			}
+			return expired.build();
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * @return The listing which will expire soonest, if any listing is set to expire
+	 */
+	public Optional<Listing> getNextExpiring() {
+		lock.readLock().lock();
+		try {
+			return byExpiration.isEmpty() ? Optional.empty() : Optional.of(byExpiration.first());
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * Publishes the changes made to the market since the last snapshot as a new snapshot. This is called by the
+	 * {@link com.nickimpact.gts.scheduling.TickScheduler} once the work of each tick is done, so a whole batch of
+	 * market changes is published together.
+	 */
+	public void publish() {
+		if(!this.dirty) {
+			return;
+		}
+
+		lock.writeLock().lock();
+		try {
+			if(this.dirty) {
+				this.snapshot = new MarketSnapshot(this.snapshot.getVersion() + 1, byUUID, bySeq);
+				this.dirty = false;
+			}
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	private void changed() {
+		this.dirty = true;
+
+		// Changes made off the server thread, such as loading the market, aren't part of a tick's batch
+		if(!Sponge.isServerAvailable() || !Sponge.getServer().isMainThread()) {
+			this.publish();
+		}
+	}
+
+	private void link(Listing listing, long seq) {
+		byUUID = byUUID.put(listing.getUuid(), new MarketSnapshot.Slot(seq, listing));
+		bySeq = bySeq.put(seq, listing);
+		byOwner.computeIfAbsent(listing.getOwnerUUID(), owner -> Sets.newLinkedHashSet()).add(listing);
+		byType.computeIfAbsent(typeOf(listing), type -> Sets.newLinkedHashSet()).add(listing);
+		bytesByOwner.merge(listing.getOwnerUUID(), listing.getSize(), Long::sum);
+		totalBytes += listing.getSize();
+		if(listing.getExpiration() != 0) {
+			byExpiration.add(listing);
+			expiry.schedule(listing.getUuid(), listing.getExpiration());
+		}
+	}
+
+	private Listing unlink(UUID uuid) {
+		MarketSnapshot.Slot slot = byUUID.get(uuid);
+		if(slot == null) {
+			return null;
+		}
+
+		byUUID = byUUID.remove(uuid);
+		bySeq = bySeq.remove(slot.getSeq());
+		Listing listing = slot.getListing();
+
+		detach(byOwner, listing.getOwnerUUID(), listing);
+		detach(byType, typeOf(listing), listing);
+		bytesByOwner.computeIfPresent(listing.getOwnerUUID(), (owner, bytes) -> bytes > listing.getSize() ? bytes - listing.getSize() : null);
+		totalBytes -= listing.getSize();
+		if(listing.getExpiration() != 0) {
+			byExpiration.remove(listing);
+		}
+		expiry.cancel(uuid);
+		return listing;
+	}
+
+	private static <K> void detach(Map<K, Set<Listing>> index, K key, Listing listing) {
+		Set<Listing> listings = index.get(key);
+		if(listings != null) {
+			listings.remove(listing);
+			if(listings.isEmpty()) {
+				index.remove(key);
+			}
+		}
+	}
+
+	private static String typeOf(Listing listing) {
+		return listing.getEntry().getId();
+	}
+}
@@ -0,0 +1,98 @@
+package com.nickimpact.gts.market;
+
+import com.google.common.collect.Maps;
+import com.nickimpact.gts.GTS;
+import com.nickimpact.gts.configuration.ConfigKeys;
+import lombok.AllArgsConstructor;
+import org.spongepowered.api.entity.living.player.User;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Resolves the maximum number of listings each user may hold on the market at once. A user's limit is the
+ * highest of the configured default, any permission tier they hold, and their "gts-max-listings" option.
+ *
+ * <p>As resolving permissions may be costly, a user's limit is cached for their session. Since permission
+ * changes do not notify us directly, cached limits are also refreshed after a short while.</p>
+ *
+ * @author NickImpact
+ */
+public class ListingLimits {
+
+	/** The subject option which may be used to set a user's limit directly */
+	public static final String OPTION = "gts-max-listings";
+
+	private static final long TTL = TimeUnit.MINUTES.toMillis(1);
+
+	private final Map<UUID, Limit> cache = Maps.newConcurrentMap();
+
+	/**
+	 * Fetches the maximum number of listings the user may hold at once.
+	 *
+	 * @param user The user to check
+	 * @return The user's listing limit
+	 */
+	public int getLimit(User user) {
+		long now = System.currentTimeMillis();
+		Limit limit = cache.get(user.getUniqueId());
+		if(limit == null || limit.expiry < now) {
+			limit = new Limit(this.resolve(user), now + TTL);
+			cache.put(user.getUniqueId(), limit);
+		}
+
+		return limit.value;
+	}
+
+	/**
+	 * Checks whether the user already holds as many listings as they may on the market.
+	 *
+	 * @param user The user to check
+	 * @return True if the user may not list anything further, false otherwise
+	 */
+	public boolean hasMax(User user) {
+		return GTS.getInstance().getListingIndex().countByOwner(user.getUniqueId()) >= this.getLimit(user);
+	}
+
+	public void invalidate(UUID uuid) {
+		cache.remove(uuid);
+	}
+
+	public void invalidateAll() {
+		cache.clear();
+	}
+
+	private int resolve(User user) {
+		int limit = GTS.getInstance().getConfig().get(ConfigKeys.MAX_LISTINGS);
+		for(String tier : GTS.getInstance().getConfig().get(ConfigKeys.MAX_LISTINGS_TIERS)) {
+			int split = tier.lastIndexOf(':');
+			if(split < 1) {
+				continue;
+			}
+
+			try {
+				int amount = Integer.parseInt(tier.substring(split + 1).trim());
+				if(amount > limit && user.hasPermission(tier.substring(0, split).trim())) {
+					limit = amount;
+				}
+			} catch (NumberFormatException ignored) {}
+		}
+
+		Optional<String> option = user.getOption(OPTION);
+		if(option.isPresent()) {
+			try {
+				limit = Math.max(limit, Integer.parseInt(option.get().trim()));
+			} catch (NumberFormatException ignored) {}
+		}
+
+		return limit;
+	}
+
+	@AllArgsConstructor
+	private static class Limit {
+		private final int value;
+		private final long expiry;
+	}
+}
@@ -0,0 +1,291 @@
+package com.nickimpact.gts.market;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.nickimpact.gts.GTS;
+import com.nickimpact.gts.api.listings.Listing;
+import com.nickimpact.gts.api.listings.pipeline.ListingBatch;
+import com.nickimpact.gts.api.listings.pipeline.ListingContext;
+import com.nickimpact.gts.api.listings.pipeline.ListingStage;
+import com.nickimpact.gts.api.utils.MessageUtils;
+import com.nickimpact.gts.scheduling.TickScheduler;
+import lombok.Getter;
+import org.spongepowered.api.Sponge;
+import org.spongepowered.api.entity.living.player.Player;
+import org.spongepowered.api.text.Text;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Carries each listing a player deposits through an ordered set of {@link ListingStage}s on its way to the
+ * market. Stages which must run on the server thread are applied through the {@link MarketQueue}, whilst all
+ * others run on the async executor, so validation, rendering, and persistence never hold up a tick. Consecutive
+ * stages on the same kind of thread are run back to back, without being handed off in between.
+ *
+ * <p>Should any stage fail, every stage already completed is rolled back, latest first. Messages for the player
+ * are gathered as the listing goes, and sent on the server thread once it has finished, whether or not it made
+ * it to the market. The time spent within each stage is recorded, for the stats command.</p>
+ *
+ * <p>Listings deposited together, such as through a bulk sell, pass through the pipeline as a single
+ * {@link ListingBatch}, with each stage applied to the whole batch before the next begins.</p>
+ *
+ * @author NickImpact
+ */
+public class ListingPipeline {
+
+	private final List<ListingStage> stages = new CopyOnWriteArrayList<>(Arrays.asList(ListingStages.values()));
+
+	private final Map<String, Timing> timings = Maps.newConcurrentMap();
+
+	/**
+	 * Places a stage directly after another already within the pipeline.
+	 *
+	 * @param after The name of the stage to follow
+	 * @param stage The stage to add
+	 * @throws IllegalArgumentException If no stage with the given name exists, or one with the same name as the
+	 *                                  new stage already does
+	 */
+	public synchronized void addAfter(String after, ListingStage stage) {
+		this.insert(after, stage, 1);
+	}
+
+	/**
+	 * Places a stage directly before another already within the pipeline.
+	 *
+	 * @param before The name of the stage to precede
+	 * @param stage The stage to add
+	 * @throws IllegalArgumentException If no stage with the given name exists, or one with the same name as the
+	 *                                  new stage already does
+	 */
+	public synchronized void addBefore(String before, ListingStage stage) {
+		this.insert(before, stage, 0);
+	}
+
+	private void insert(String anchor, ListingStage stage, int offset) {
+		if(this.indexOf(stage.getName()) >= 0) {
+			throw new IllegalArgumentException("A listing stage named " + stage.getName() + " already exists");
+		}
+
+		int index = this.indexOf(anchor);
+		if(index < 0) {
+			throw new IllegalArgumentException("No listing stage named " + anchor + " exists");
+		}
+
+		this.stages.add(index + offset, stage);
+	}
+
+	private int indexOf(String name) {
+		for(int i = 0; i < this.stages.size(); i++) {
+			if(this.stages.get(i).getName().equalsIgnoreCase(name)) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	public List<ListingStage> getStages() {
+		return ImmutableList.copyOf(this.stages);
+	}
+
+	/**
+	 * @param stage The name of a stage
+	 * @return The timings recorded for the stage
+	 */
+	public Timing getTiming(String stage) {
+		return this.timings.computeIfAbsent(stage, name -> new Timing());
+	}
+
+	/**
+	 * Carries a listing through every stage of the pipeline.
+	 *
+	 * @param player The player depositing the listing
+	 * @param listing The listing to add to the market
+	 * @return A completable future, completed with whether the listing made it to the market
+	 */
+	public CompletableFuture<Boolean> run(Player player, Listing listing) {
+		return this.start(player, new ListingContext(player, listing), null);
+	}
+
+	/**
+	 * Carries a batch of listings deposited together through every stage of the pipeline. Either every listing
+	 * makes it to the market, or none do.
+	 *
+	 * @param player The player depositing the listings
+	 * @param listings The listings to add to the market
+	 * @param takeAway Takes every entry being listed from the player at once, returning whether it succeeded
+	 * @return A completable future, completed with whether the listings made it to the market
+	 */
+	public CompletableFuture<Boolean> runAll(Player player, List<Listing> listings, BooleanSupplier takeAway) {
+		return this.start(player, null, new ListingBatch(player, listings, takeAway));
+	}
+
+	private CompletableFuture<Boolean> start(Player player, ListingContext context, ListingBatch batch) {
+		CompletableFuture<Boolean> result = new CompletableFuture<>();
+		Run run = new Run(player, context, batch, ImmutableList.copyOf(this.stages), result);
+		run.next(0, Sponge.getServer().isMainThread());
+		return result;
+	}
+
+	private static void dispatch(boolean main, boolean onMain, String name, Runnable action) {
+		if(main == onMain) {
+			action.run();
+		} else if(main) {
+			GTS.getInstance().getMarketQueue().submit(name, action);
+		} else {
+			GTS.getInstance().getAsyncExecutorService().execute(action);
+		}
+	}
+
+	/**
+	 * A single listing, or batch of listings, making its way through the stages of the pipeline, as they stood
+	 * when it set out. Exactly one of the context and batch is present.
+	 */
+	private class Run {
+
+		private final Player player;
+		private final ListingContext context;
+		private final ListingBatch batch;
+		private final List<ListingStage> stages;
+		private final CompletableFuture<Boolean> result;
+
+		private Run(Player player, ListingContext context, ListingBatch batch, List<ListingStage> stages, CompletableFuture<Boolean> result) {
+			this.player = player;
+			this.context = context;
+			this.batch = batch;
+			this.stages = stages;
+			this.result = result;
+		}
+
+		private boolean apply(ListingStage stage) throws Exception {
+			return this.batch != null ? stage.applyAll(this.batch) : stage.apply(this.context);
+		}
+
+		private void undo(ListingStage stage) {
+			if(this.batch != null) {
+				stage.rollbackAll(this.batch);
+			} else {
+				stage.rollback(this.context);
+			}
+		}
+
+		private void next(int index, boolean onMain) {
+			if(index >= this.stages.size()) {
+				this.finish(true);
+				return;
+			}
+
+			ListingStage stage = this.stages.get(index);
+			dispatch(stage.requiresMainThread(), onMain, "list: " + stage.getName(), () -> {
+				boolean passed;
+				long start = System.nanoTime();
+				try {
+					passed = this.apply(stage);
+				} catch (Exception e) {
+					MessageUtils.genAndSendErrorMessage(
+							"Listing Error",
+							"Listing stage " + stage.getName() + " failed",
+							"Player: " + this.player.getName()
+					);
+					e.printStackTrace();
+					passed = false;
+				}
+				getTiming(stage.getName()).record(System.nanoTime() - start, passed);
+
+				if(passed) {
+					this.next(index + 1, stage.requiresMainThread());
+				} else {
+					this.rollback(index - 1, stage.requiresMainThread());
+				}
+			});
+		}
+
+		private void rollback(int index, boolean onMain) {
+			if(index < 0) {
+				this.finish(false);
+				return;
+			}
+
+			ListingStage stage = this.stages.get(index);
+			dispatch(stage.requiresMainThread(), onMain, "rollback listing: " + stage.getName(), () -> {
+				try {
+					this.undo(stage);
+				} catch (Exception e) {
+					MessageUtils.genAndSendErrorMessage(
+							"Listing Error",
+							"Failed to roll back listing stage " + stage.getName(),
+							"Player: " + this.player.getName()
+					);
+					e.printStackTrace();
+				} finally {
+					this.rollback(index - 1, stage.requiresMainThread());
+				}
+			});
+		}
+
+		private void finish(boolean listed) {
+			List<Text> messages = Lists.newArrayList();
+			if(this.batch != null) {
+				this.batch.getContexts().forEach(context -> messages.addAll(context.getMessages()));
+				messages.addAll(this.batch.getMessages());
+			} else {
+				messages.addAll(this.context.getMessages());
+			}
+
+			if(!messages.isEmpty()) {
+				GTS.getInstance().getTickScheduler().submit(TickScheduler.Priority.NOTIFICATION, "listing messages", () -> {
+					if(this.player.isOnline()) {
+						this.player.sendMessages(messages);
+					}
+				});
+			}
+			this.result.complete(listed);
+		}
+	}
+
+	/**
+	 * The time spent within a single stage, across every listing which has passed through it.
+	 */
+	public static class Timing {
+
+		private final LongAdder runs = new LongAdder();
+		private final LongAdder failures = new LongAdder();
+		private final LongAdder nanos = new LongAdder();
+
+		/** The longest time a single listing has spent within the stage, in nanoseconds */
+		@Getter private volatile long peakNanos;
+
+		private void record(long elapsed, boolean passed) {
+			this.runs.increment();
+			this.nanos.add(elapsed);
+			if(!passed) {
+				this.failures.increment();
+			}
+			if(elapsed > this.peakNanos) {
+				this.peakNanos = elapsed;
+			}
+		}
+
+		public long getRuns() {
+			return this.runs.sum();
+		}
+
+		public long getFailures() {
+			return this.failures.sum();
+		}
+
+		/**
+		 * @return The average time a listing spends within the stage, in nanoseconds
+		 */
+		public long getAverageNanos() {
+			long runs = this.runs.sum();
+			return runs > 0 ? this.nanos.sum() / runs : 0;
+		}
+	}
+}
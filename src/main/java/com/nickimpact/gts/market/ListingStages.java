@@ -0,0 +1,408 @@
+package com.nickimpact.gts.market;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.nickimpact.gts.GTS;
+import com.nickimpact.gts.GTSInfo;
+import com.nickimpact.gts.api.events.ListEvent;
+import com.nickimpact.gts.api.listings.Listing;
+import com.nickimpact.gts.api.listings.ListingState;
+import com.nickimpact.gts.api.listings.entries.EntryHolder;
+import com.nickimpact.gts.api.listings.pipeline.ListingBatch;
+import com.nickimpact.gts.api.listings.pipeline.ListingContext;
+import com.nickimpact.gts.api.listings.pipeline.ListingStage;
+import com.nickimpact.gts.api.listings.pricing.PricingException;
+import com.nickimpact.gts.api.utils.MessageUtils;
+import com.nickimpact.gts.broadcast.Announcement;
+import com.nickimpact.gts.configuration.ConfigKeys;
+import com.nickimpact.gts.configuration.MsgConfigKeys;
+import com.nickimpact.gts.logs.Log;
+import com.nickimpact.gts.logs.LogAction;
+import com.nickimpact.gts.utils.ListingUtils;
+import io.github.nucleuspowered.nucleus.api.exceptions.NucleusException;
+import org.spongepowered.api.Sponge;
+import org.spongepowered.api.command.CommandSource;
+import org.spongepowered.api.entity.living.player.Player;
+import org.spongepowered.api.event.cause.Cause;
+import org.spongepowered.api.event.cause.EventContext;
+import org.spongepowered.api.service.economy.account.UniqueAccount;
+import org.spongepowered.api.service.economy.transaction.ResultType;
+import org.spongepowered.api.text.Text;
+import org.spongepowered.api.text.format.TextColors;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * The stages every listing deposited by a player passes through by default, in the order they are applied.
+ *
+ * <p>Stages which touch the economy, the player, or the entry being listed run on the server thread. Those
+ * which charge, take, write, or announce handle a {@link ListingBatch} as a whole, so a bulk sell makes a single
+ * transaction, storage write, and broadcast, rather than one per listing.</p>
+ *
+ * @author NickImpact
+ */
+public enum ListingStages implements ListingStage {
+
+	/** Checks the player has room for another listing */
+	LIMIT(true) {
+		@Override
+		public boolean apply(ListingContext context) {
+			return hasRoom(context);
+		}
+
+		@Override
+		public boolean applyAll(ListingBatch batch) {
+			return hasRoom(batch);
+		}
+	},
+
+	/** Lets other plugins cancel the listing */
+	EVENT(true) {
+		@Override
+		public boolean apply(ListingContext context) {
+			ListEvent event = new ListEvent(context.getPlayer(), context.getListing(), Sponge.getCauseStackManager().getCurrentCause());
+			Sponge.getEventManager().post(event);
+			return !event.isCancelled();
+		}
+	},
+
+	/** Checks the listing against the size and minimum price requirements of its entry */
+	REQUIREMENTS(true) {
+		@Override
+		public boolean apply(ListingContext context) {
+			return ListingUtils.meetsRequirements(context.getPlayer(), context.getListing(), context.getVariables(), context::message);
+		}
+	},
+
+	/** Works out the tax due for the listing */
+	TAX(true) {
+		@Override
+		public boolean apply(ListingContext context) {
+			if(!GTS.getInstance().getConfig().get(ConfigKeys.TAX_ENABLED)) {
+				return true;
+			}
+
+			Player player = context.getPlayer();
+			try {
+				BigDecimal tax = context.getListing().getEntry().getPrice().calcTax(player);
+				if(tax.signum() == -1) {
+					Map<String, Function<CommandSource, Optional<Text>>> tokens = Maps.newHashMap();
+					tokens.put("tax", src -> Optional.of(Text.of(tax)));
+					context.message(parse(context, GTS.getInstance().getMsgConfig().get(MsgConfigKeys.TAX_INVALID), tokens));
+					return false;
+				}
+				context.setTax(tax);
+			} catch (PricingException e) {
+				MessageUtils.genAndSendErrorMessage(
+						"Tax Error",
+						"Unable to calculate tax",
+						"Player: " + player.getName()
+				);
+			}
+			return true;
+		}
+	},
+
+	/** Takes the tax due from the player */
+	CHARGE(true) {
+		@Override
+		public boolean apply(ListingContext context) {
+			if(!GTS.getInstance().getConfig().get(ConfigKeys.TAX_ENABLED)) {
+				return true;
+			}
+
+			Map<String, Function<CommandSource, Optional<Text>>> tokens = Maps.newHashMap();
+			tokens.put("tax", src -> Optional.of(Text.of(GTS.getInstance().getEconomy().getDefaultCurrency().format(context.getTax()))));
+			if(context.getTax().signum() > 0) {
+				UniqueAccount account = GTS.getInstance().getEconomy().getOrCreateAccount(context.getPlayer().getUniqueId()).orElse(null);
+				if(account == null || account.withdraw(
+						GTS.getInstance().getEconomy().getDefaultCurrency(),
+						context.getTax(),
+						Sponge.getCauseStackManager().getCurrentCause()
+				).getResult() != ResultType.SUCCESS) {
+					context.message(parse(context, GTS.getInstance().getMsgConfig().get(MsgConfigKeys.TAX_INVALID), tokens));
+					return false;
+				}
+				context.setCharged(true);
+			}
+
+			context.message(parse(context, GTS.getInstance().getMsgConfig().get(MsgConfigKeys.TAX_APPLICATION), tokens));
+			return true;
+		}
+
+		@Override
+		public void rollback(ListingContext context) {
+			if(!context.isCharged()) {
+				return;
+			}
+
+			GTS.getInstance().getEconomy().getOrCreateAccount(context.getPlayer().getUniqueId()).ifPresent(account -> account.deposit(
+					GTS.getInstance().getEconomy().getDefaultCurrency(),
+					context.getTax(),
+					Cause.builder().append(GTS.getInstance()).build(EventContext.empty())
+			));
+			context.setCharged(false);
+			context.message(Text.of(GTSInfo.ERROR, TextColors.RED, "Your listing failed to be added, so we have refunded the tax applied!"));
+		}
+
+		@Override
+		public boolean applyAll(ListingBatch batch) {
+			if(!GTS.getInstance().getConfig().get(ConfigKeys.TAX_ENABLED)) {
+				return true;
+			}
+
+			batch.setTax(batch.getContexts().stream().map(ListingContext::getTax).reduce(BigDecimal.ZERO, BigDecimal::add));
+			if(batch.getTax().signum() > 0) {
+				UniqueAccount account = GTS.getInstance().getEconomy().getOrCreateAccount(batch.getPlayer().getUniqueId()).orElse(null);
+				if(account == null || account.withdraw(
+						GTS.getInstance().getEconomy().getDefaultCurrency(),
+						batch.getTax(),
+						Sponge.getCauseStackManager().getCurrentCause()
+				).getResult() != ResultType.SUCCESS) {
+					batch.message(parse(batch, GTS.getInstance().getMsgConfig().get(MsgConfigKeys.TAX_INVALID)));
+					return false;
+				}
+				batch.setCharged(true);
+				batch.message(parse(batch, GTS.getInstance().getMsgConfig().get(MsgConfigKeys.TAX_APPLICATION)));
+			}
+			return true;
+		}
+
+		@Override
+		public void rollbackAll(ListingBatch batch) {
+			if(!batch.isCharged()) {
+				return;
+			}
+
+			GTS.getInstance().getEconomy().getOrCreateAccount(batch.getPlayer().getUniqueId()).ifPresent(account -> account.deposit(
+					GTS.getInstance().getEconomy().getDefaultCurrency(),
+					batch.getTax(),
+					Cause.builder().append(GTS.getInstance()).build(EventContext.empty())
+			));
+			batch.setCharged(false);
+			batch.message(Text.of(GTSInfo.ERROR, TextColors.RED, "Your listings failed to be added, so we have refunded the tax applied!"));
+		}
+	},
+
+	/** Takes the entry from the player, and places the listing on the market */
+	TAKE(true) {
+		@Override
+		public boolean apply(ListingContext context) {
+			// Another listing may have been added whilst this one was being checked
+			if(!hasRoom(context) || !context.getListing().getEntry().doTakeAway(context.getPlayer())) {
+				return false;
+			}
+
+			GTS.getInstance().getListingIndex().add(context.getListing());
+			return true;
+		}
+
+		@Override
+		public boolean applyAll(ListingBatch batch) {
+			if(!hasRoom(batch) || !batch.getTakeAway().getAsBoolean()) {
+				return false;
+			}
+
+			GTS.getInstance().getListingIndex().addAll(batch.getListings());
+			return true;
+		}
+
+		@Override
+		public void rollback(ListingContext context) {
+			Listing listing = context.getListing();
+
+			// Someone is already buying or settling the listing, so it's no longer the seller's to take back
+			if(!listing.claim()) {
+				return;
+			}
+
+			GTS.getInstance().getListingIndex().remove(listing);
+			listing.complete(ListingState.REMOVED);
+
+			Player player = context.getPlayer();
+			if(!player.isOnline() || !listing.getEntry().giveEntry(player)) {
+				GTS.getInstance().getMailboxes().post(new EntryHolder(listing.getUuid(), listing.getOwnerUUID(), listing.getEntry()));
+			}
+		}
+	},
+
+	/** Writes the listing to storage. A batch is written alongside its logs, in a single transaction */
+	PERSIST(false) {
+		@Override
+		public boolean apply(ListingContext context) {
+			GTS.getInstance().getStorage().addListing(context.getListing()).join();
+			return true;
+		}
+
+		@Override
+		public void rollback(ListingContext context) {
+			GTS.getInstance().getStorage().removeListing(context.getListing().getUuid());
+		}
+
+		@Override
+		public boolean applyAll(ListingBatch batch) {
+			Player player = batch.getPlayer();
+			List<Log> logs = batch.getListings().stream()
+					.map(listing -> Log.builder()
+							.action(LogAction.Addition)
+							.source(player.getUniqueId())
+							.hover(Log.forgeTemplate(player, listing, LogAction.Addition))
+							.build()
+					)
+					.collect(Collectors.toList());
+			GTS.getInstance().getStorage().addListings(batch.getListings(), logs).join();
+			return true;
+		}
+	},
+
+	/** Renders the messages, broadcast, and log describing the listing */
+	RENDER(false) {
+		@Override
+		public boolean apply(ListingContext context) {
+			Player player = context.getPlayer();
+			context.message(parse(context, GTS.getInstance().getMsgConfig().get(MsgConfigKeys.ADD_TEMPLATE), null));
+
+			List<Text> broadcast = parse(context, GTS.getInstance().getMsgConfig().get(MsgConfigKeys.ADD_BROADCAST), null);
+			context.setBroadcast(!broadcast.isEmpty() ? broadcast : Lists.newArrayList(
+					Text.of(GTSInfo.PREFIX, "&e" + player.getName() + " &7has deposited a new listing!")
+			));
+			context.setDiscordContent(Text.joinWith(Text.NEW_LINE, parse(
+					context,
+					Lists.newArrayList("&c{{player}} &7has added a &a{{listing_specifics}} &7to the GTS for &a{{price}}&7!"),
+					null
+			)).toPlain());
+			context.setLogTemplate(Log.forgeTemplate(player, context.getListing(), LogAction.Addition));
+			return true;
+		}
+
+		@Override
+		public boolean applyAll(ListingBatch batch) {
+			batch.message(parse(batch, GTS.getInstance().getMsgConfig().get(MsgConfigKeys.ADD_BULK_TEMPLATE)));
+
+			List<Text> broadcast = parse(batch, GTS.getInstance().getMsgConfig().get(MsgConfigKeys.DIGEST_ADDITION));
+			batch.setBroadcast(!broadcast.isEmpty() ? broadcast : Lists.newArrayList(
+					Text.of(GTSInfo.PREFIX, "&e" + batch.getPlayer().getName() + " &7has deposited " + batch.getContexts().size() + " new listings!")
+			));
+			return true;
+		}
+	},
+
+	/** Announces the listing to the rest of the server, and records it in the logs */
+	ANNOUNCE(false) {
+		@Override
+		public boolean apply(ListingContext context) {
+			Player player = context.getPlayer();
+			GTS.getInstance().getBroadcasts().announce(Announcement.builder()
+					.kind(Announcement.Kind.Addition)
+					.source(player.getUniqueId())
+					.sourceName(player.getName())
+					.category(context.getListing().getEntry().getId())
+					.lines(context.getBroadcast())
+					.discord(GTS.getInstance().getConfig().get(ConfigKeys.DISCORD_NEW_LISTING))
+					.discordContent(context.getDiscordContent())
+					.build()
+			);
+
+			GTS.getInstance().getStorage().addLog(Log.builder()
+					.action(LogAction.Addition)
+					.source(player.getUniqueId())
+					.hover(context.getLogTemplate())
+					.build()
+			);
+			return true;
+		}
+
+		@Override
+		public boolean applyAll(ListingBatch batch) {
+			// The logs of a batch were written alongside its listings
+			Player player = batch.getPlayer();
+			GTS.getInstance().getBroadcasts().announce(Announcement.builder()
+					.kind(Announcement.Kind.Addition)
+					.source(player.getUniqueId())
+					.sourceName(player.getName())
+					.category(batch.getContexts().get(0).getListing().getEntry().getId())
+					.lines(batch.getBroadcast())
+					.discord(GTS.getInstance().getConfig().get(ConfigKeys.DISCORD_NEW_LISTING))
+					.discordContent(Text.joinWith(Text.NEW_LINE, batch.getBroadcast()).toPlain())
+					.build()
+			);
+			return true;
+		}
+	};
+
+	private final boolean main;
+
+	ListingStages(boolean main) {
+		this.main = main;
+	}
+
+	@Override
+	public String getName() {
+		return this.name().toLowerCase();
+	}
+
+	@Override
+	public boolean requiresMainThread() {
+		return this.main;
+	}
+
+	private static boolean hasRoom(ListingContext context) {
+		Player player = context.getPlayer();
+		if(!GTS.getInstance().getListingLimits().hasMax(player)) {
+			return true;
+		}
+
+		Map<String, Function<CommandSource, Optional<Text>>> tokens = Maps.newHashMap();
+		tokens.put("max_listings", src -> Optional.of(Text.of(GTS.getInstance().getListingLimits().getLimit(player))));
+		context.message(parse(context, GTS.getInstance().getMsgConfig().get(MsgConfigKeys.MAX_LISTINGS), tokens));
+		return false;
+	}
+
+	private static boolean hasRoom(ListingBatch batch) {
+		Player player = batch.getPlayer();
+		int limit = GTS.getInstance().getListingLimits().getLimit(player);
+		if(GTS.getInstance().getListingIndex().countByOwner(player.getUniqueId()) + batch.getContexts().size() <= limit) {
+			return true;
+		}
+
+		Map<String, Function<CommandSource, Optional<Text>>> tokens = Maps.newHashMap();
+		tokens.put("max_listings", src -> Optional.of(Text.of(limit)));
+		batch.message(parse(player, GTS.getInstance().getMsgConfig().get(MsgConfigKeys.MAX_LISTINGS), tokens, null));
+		return false;
+	}
+
+	private static List<Text> parse(ListingContext context, List<String> template, Map<String, Function<CommandSource, Optional<Text>>> tokens) {
+		return parse(context.getPlayer(), template, tokens, context.getVariables());
+	}
+
+	/**
+	 * Parses a message describing a batch as a whole, with the tax, count, broadcaster, and entry type of the
+	 * batch available as tokens.
+	 */
+	private static List<Text> parse(ListingBatch batch, List<String> template) {
+		Map<String, Function<CommandSource, Optional<Text>>> tokens = Maps.newHashMap();
+		tokens.put("tax", src -> Optional.of(Text.of(GTS.getInstance().getEconomy().getDefaultCurrency().format(batch.getTax()))));
+		tokens.put("count", src -> Optional.of(Text.of(batch.getContexts().size())));
+		tokens.put("broadcaster", src -> Optional.of(Text.of(batch.getPlayer().getName())));
+		tokens.put("entry_type", src -> Optional.of(Text.of(batch.getContexts().get(0).getListing().getEntry().getId())));
+		return parse(batch.getPlayer(), template, tokens, null);
+	}
+
+	private static List<Text> parse(Player player, List<String> template, Map<String, Function<CommandSource, Optional<Text>>> tokens, Map<String, Object> variables) {
+		try {
+			return GTS.getInstance().getTextParsingUtils().parse(template, player, tokens, variables);
+		} catch (NucleusException e) {
+			MessageUtils.genAndSendErrorMessage(
+					"Message Parse Error",
+					"Nucleus was unable to decode a message properly...",
+					"Template: " + template
+			);
+			return Lists.newArrayList();
+		}
+	}
+}
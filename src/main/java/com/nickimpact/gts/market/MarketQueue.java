@@ -0,0 +1,50 @@
+package com.nickimpact.gts.market;
+
+import com.nickimpact.gts.scheduling.TickScheduler;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * Serializes every mutation of the market through a single writer. Mutations may be submitted from any thread,
+ * and are applied strictly in the order they were submitted, as settlement work of the {@link TickScheduler}.
+ *
+ * <p>The writer lives on the server thread, as nearly every mutation hands an entry to or from a player,
+ * which Sponge and Pixelmon only permit from that thread. Storage writes remain asynchronous.</p>
+ *
+ * @author NickImpact
+ */
+public class MarketQueue {
+
+	private final TickScheduler scheduler;
+
+	public MarketQueue(TickScheduler scheduler) {
+		this.scheduler = scheduler;
+	}
+
+	/**
+	 * Queues a mutation to be applied to the market.
+	 *
+	 * @param name A short description of the mutation, used should it fail
+	 * @param action The mutation to apply
+	 * @return A completable future, completed once the mutation has been applied
+	 */
+	public CompletableFuture<Void> submit(String name, Runnable action) {
+		return scheduler.submit(TickScheduler.Priority.SETTLEMENT, name, action);
+	}
+
+	/**
+	 * Fetches an executor through which work is queued as a mutation, such as to continue a purchase on the
+	 * server thread once an asynchronous payment has completed.
+	 *
+	 * @param name A short description of the work, used should it fail
+	 * @return An executor applying its work as a mutation of the market
+	 */
+	public Executor executor(String name) {
+		return action -> this.submit(name, action);
+	}
+
+	public int size() {
+		return scheduler.getBacklog(TickScheduler.Priority.SETTLEMENT);
+	}
+}
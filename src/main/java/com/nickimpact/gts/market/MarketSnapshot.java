@@ -0,0 +1,77 @@
+package com.nickimpact.gts.market;
+
+import com.nickimpact.gts.api.listings.Listing;
+import com.nickimpact.gts.utils.PersistentMap;
+import com.nickimpact.gts.utils.PersistentTree;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+/**
+ * An immutable view of every listing on the market at a single point in time. A new snapshot is published by
+ * the {@link ListingIndex} after each batch of changes, sharing all unchanged structure with the snapshot before it, so
+ * fetching the current snapshot never requires a copy.
+ *
+ * <p>Each snapshot carries a version, which increases with each change. A reader holding onto the results of
+ * an earlier snapshot may compare versions to know whether those results are out of date.</p>
+ *
+ * @author NickImpact
+ */
+public class MarketSnapshot {
+
+	static final MarketSnapshot EMPTY = new MarketSnapshot(0, PersistentMap.empty(), PersistentTree.empty());
+
+	@Getter private final long version;
+
+	private final PersistentMap<UUID, Slot> listings;
+
+	/** The listings, keyed by the order they were added */
+	private final PersistentTree<Listing> ordered;
+
+	MarketSnapshot(long version, PersistentMap<UUID, Slot> listings, PersistentTree<Listing> ordered) {
+		this.version = version;
+		this.listings = listings;
+		this.ordered = ordered;
+	}
+
+	public Optional<Listing> get(UUID uuid) {
+		Slot slot = listings.get(uuid);
+		return slot != null ? Optional.of(slot.listing) : Optional.empty();
+	}
+
+	public boolean contains(UUID uuid) {
+		return listings.containsKey(uuid);
+	}
+
+	public int size() {
+		return listings.size();
+	}
+
+	/**
+	 * @return Every listing within the snapshot, in no particular order
+	 */
+	public Stream<Listing> stream() {
+		return listings.stream().map(slot -> slot.listing);
+	}
+
+	/**
+	 * Fetches every listing within the snapshot, in the order they were added to the market. The list is a view
+	 * of the snapshot itself, so nothing is copied or sorted.
+	 *
+	 * @return Every listing within the snapshot, in the order they were added
+	 */
+	public List<Listing> getListings() {
+		return ordered.asList();
+	}
+
+	@Getter
+	@AllArgsConstructor
+	static class Slot {
+		private final long seq;
+		private final Listing listing;
+	}
+}
@@ -0,0 +1,141 @@
+package com.nickimpact.gts.market;
+
+import com.google.common.collect.Maps;
+import com.nickimpact.gts.GTS;
+import com.nickimpact.gts.configuration.ConfigKeys;
+import com.nickimpact.impactor.api.configuration.ConfigKey;
+import lombok.Getter;
+import org.spongepowered.api.entity.living.player.Player;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Limits how quickly each player may perform costly market actions, such as listing, bidding, or refreshing
+ * the market menu. Every player holds a token bucket per kind of action, which refills at a steady rate up
+ * to a set capacity, so short bursts are allowed whilst sustained spam is not.
+ *
+ * <p>Each bucket is kept as the single time at which it will next be full, and is taken from through a
+ * compare and swap of that time, so checking a limit never takes a lock. Players holding the bypass
+ * permission are only checked for it once their bucket runs dry.</p>
+ *
+ * @author NickImpact
+ */
+public class RateLimiter {
+
+	/** Players holding this permission are never limited */
+	public static final String BYPASS = "gts.bypass.rate-limit";
+
+	private final Map<UUID, AtomicLong[]> buckets = Maps.newConcurrentMap();
+
+	/** The number of actions rejected, per kind of action */
+	private final LongAdder[] rejected = new LongAdder[Action.values().length];
+
+	/** The source of the current time, in nanoseconds */
+	private final LongSupplier clock;
+
+	public RateLimiter() {
+		this(System::nanoTime);
+	}
+
+	RateLimiter(LongSupplier clock) {
+		this.clock = clock;
+		for(int i = 0; i < this.rejected.length; i++) {
+			this.rejected[i] = new LongAdder();
+		}
+	}
+
+	/**
+	 * Takes a token from the player's bucket for the given action.
+	 *
+	 * @param player The player performing the action
+	 * @param action The kind of action being performed
+	 * @return True if the player may go ahead, false if they are acting too quickly
+	 */
+	public boolean tryAcquire(Player player, Action action) {
+		int capacity = GTS.getInstance().getConfig().get(action.getCapacity());
+		double rate = GTS.getInstance().getConfig().get(action.getRate());
+		if(this.take(player.getUniqueId(), action, capacity, rate) || player.hasPermission(BYPASS)) {
+			return true;
+		}
+
+		this.rejected[action.ordinal()].increment();
+		return false;
+	}
+
+	/**
+	 * Takes a token from a bucket, regardless of any permission its owner holds.
+	 *
+	 * @param uuid The UUID of the player owning the bucket
+	 * @param action The kind of action the bucket limits
+	 * @param capacity The most tokens the bucket may hold, where anything below one disables the limit
+	 * @param rate How many tokens are returned to the bucket each second, where zero or below disables the limit
+	 * @return True if a token was taken, false if the bucket is empty
+	 */
+	boolean take(UUID uuid, Action action, int capacity, double rate) {
+		if(capacity <= 0 || rate <= 0) {
+			return true;
+		}
+
+		long interval = (long) (TimeUnit.SECONDS.toNanos(1) / rate);
+		long tolerance = interval * capacity;
+		AtomicLong bucket = this.buckets.computeIfAbsent(uuid, key -> create())[action.ordinal()];
+
+		long now = this.clock.getAsLong();
+		while(true) {
+			long full = bucket.get();
+			long next = Math.max(full, now) + interval;
+			if(next - now > tolerance) {
+				return false;
+			}
+
+			if(bucket.compareAndSet(full, next)) {
+				return true;
+			}
+		}
+	}
+
+	/**
+	 * @param action The kind of action
+	 * @return The number of times that action has been rejected since the server started
+	 */
+	public long getRejected(Action action) {
+		return this.rejected[action.ordinal()].sum();
+	}
+
+	public void invalidate(UUID uuid) {
+		this.buckets.remove(uuid);
+	}
+
+	private static AtomicLong[] create() {
+		AtomicLong[] buckets = new AtomicLong[Action.values().length];
+		for(int i = 0; i < buckets.length; i++) {
+			buckets[i] = new AtomicLong(Long.MIN_VALUE);
+		}
+		return buckets;
+	}
+
+	@Getter
+	public enum Action {
+
+		Sell(ConfigKeys.RATE_LIMIT_SELL_CAPACITY, ConfigKeys.RATE_LIMIT_SELL_RATE),
+		Bid(ConfigKeys.RATE_LIMIT_BID_CAPACITY, ConfigKeys.RATE_LIMIT_BID_RATE),
+		Purchase(ConfigKeys.RATE_LIMIT_PURCHASE_CAPACITY, ConfigKeys.RATE_LIMIT_PURCHASE_RATE),
+		Menu(ConfigKeys.RATE_LIMIT_MENU_CAPACITY, ConfigKeys.RATE_LIMIT_MENU_RATE);
+
+		/** The most tokens a player's bucket may hold */
+		private final ConfigKey<Integer> capacity;
+
+		/** How many tokens are returned to a player's bucket each second */
+		private final ConfigKey<Double> rate;
+
+		Action(ConfigKey<Integer> capacity, ConfigKey<Double> rate) {
+			this.capacity = capacity;
+			this.rate = rate;
+		}
+	}
+}
@@ -0,0 +1,133 @@
+package com.nickimpact.gts.market;
+
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+import com.nickimpact.gts.GTS;
+import lombok.AllArgsConstructor;
+import org.spongepowered.api.Sponge;
+import org.spongepowered.api.entity.living.player.Player;
+import org.spongepowered.api.entity.living.player.User;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Holds the users referenced by the market whilst they are offline, such as the owner of a listing due to be
+ * returned. Resolving an offline user through the {@link org.spongepowered.api.service.user.UserStorageService}
+ * may read their player data from disk, so users are only ever loaded off the main thread, and kept for a short
+ * while once loaded.
+ *
+ * <p>A user who isn't yet cached is reported as missing, whilst they are loaded in the background, so anything
+ * settling on the main thread should simply try again later. A user's handle is dropped as they join or leave,
+ * so neither a stale name nor stale player data is ever handed out.</p>
+ *
+ * @author NickImpact
+ */
+public class UserCache {
+
+	/** How long a loaded user is kept for */
+	private static final long TTL = TimeUnit.MINUTES.toMillis(5);
+
+	/** How far ahead of a listing expiring its owner is loaded */
+	public static final long LOOKAHEAD = TimeUnit.SECONDS.toMillis(30);
+
+	private final Map<UUID, Handle> cache = Maps.newConcurrentMap();
+
+	/** Users currently being loaded in the background */
+	private final Set<UUID> loading = Sets.newConcurrentHashSet();
+
+	/**
+	 * Fetches a user without ever blocking, starting to load them in the background should they be offline and
+	 * not yet cached.
+	 *
+	 * @param uuid The UUID of the user
+	 * @return The user, if they are online or already cached
+	 */
+	public Optional<User> getIfPresent(UUID uuid) {
+		Optional<Player> online = Sponge.getServer().getPlayer(uuid);
+		if(online.isPresent()) {
+			return Optional.of(online.get());
+		}
+
+		Handle handle = this.cache.get(uuid);
+		if(handle != null && !handle.isStale(System.currentTimeMillis())) {
+			return Optional.ofNullable(handle.user);
+		}
+
+		this.prefetch(uuid);
+		return Optional.empty();
+	}
+
+	/**
+	 * Begins loading a user in the background, unless they are online, already cached, or already loading.
+	 *
+	 * @param uuid The UUID of the user
+	 */
+	public void prefetch(UUID uuid) {
+		if(Sponge.getServer().getPlayer(uuid).isPresent()) {
+			return;
+		}
+
+		Handle handle = this.cache.get(uuid);
+		if(handle != null && !handle.isStale(System.currentTimeMillis())) {
+			return;
+		}
+
+		if(!this.loading.add(uuid)) {
+			return;
+		}
+
+		GTS.getInstance().getAsyncExecutorService().execute(() -> {
+			try {
+				User user = GTS.getInstance().getUserStorageService().get(uuid).orElse(null);
+				this.cache.put(uuid, new Handle(user, System.currentTimeMillis()));
+			} catch (Exception e) {
+				e.printStackTrace();
+			} finally {
+				this.loading.remove(uuid);
+			}
+		});
+	}
+
+	/**
+	 * Drops the cached handle of a user, such as once they join, as their name may have since changed.
+	 *
+	 * @param uuid The UUID of the user
+	 */
+	public void invalidate(UUID uuid) {
+		this.cache.remove(uuid);
+	}
+
+	/**
+	 * Drops every handle which has outlived its time to live.
+	 */
+	public void cleanup() {
+		long now = System.currentTimeMillis();
+		this.cache.values().removeIf(handle -> handle.isStale(now));
+	}
+
+	public void clear() {
+		this.cache.clear();
+	}
+
+	/**
+	 * @return The number of users currently cached
+	 */
+	public int size() {
+		return this.cache.size();
+	}
+
+	@AllArgsConstructor
+	private static class Handle {
+		/** The user, or null if no such user exists */
+		private final User user;
+		private final long time;
+
+		private boolean isStale(long now) {
+			return now - this.time > TTL;
+		}
+	}
+}
@@ -0,0 +1,195 @@
+package com.nickimpact.gts.scheduling;
+
+import com.google.common.collect.Maps;
+import com.nickimpact.gts.GTS;
+import com.nickimpact.gts.api.utils.MessageUtils;
+import com.nickimpact.gts.configuration.ConfigKeys;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.spongepowered.api.Sponge;
+import org.spongepowered.api.scheduler.Task;
+
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Runs all work GTS performs on the server thread under a fixed time budget per tick. Work is taken in order of
+ * {@link Priority}, and within a priority, in the order it was submitted. Once the budget for a tick is spent,
+ * any remaining work carries over to the next tick.
+ *
+ * <p>At least one piece of work is always run per tick, so a single piece larger than the budget can never
+ * stall the queue.</p>
+ *
+ * @author NickImpact
+ */
+public class TickScheduler {
+
+	public enum Priority {
+
+		/** Changes to the market itself, such as purchases, and returning expired listings */
+		SETTLEMENT,
+
+		/** Messages and broadcasts sent to players */
+		NOTIFICATION,
+
+		/** Purely visual work, such as refreshing open menus */
+		COSMETIC,
+	}
+
+	private final Map<Priority, Queue<Work>> queues = Maps.newEnumMap(Priority.class);
+
+	private Task task;
+
+	/** The wall clock time at which the current tick began, in epoch millis */
+	private volatile long time;
+
+	/** The time spent running work on the last tick, in nanoseconds */
+	@Getter private volatile long lastTickNanos;
+
+	/** The most time spent running work on a single tick, in nanoseconds */
+	@Getter private volatile long peakTickNanos;
+
+	/** The number of pieces of work run on the last tick */
+	@Getter private volatile int lastTickCount;
+
+	/** The number of ticks on which work was left over once the budget was spent */
+	private final LongAdder overBudget = new LongAdder();
+
+	private final LongAdder completed = new LongAdder();
+
+	public TickScheduler() {
+		for(Priority priority : Priority.values()) {
+			queues.put(priority, new ConcurrentLinkedQueue<>());
+		}
+	}
+
+	public void init(GTS plugin) {
+		this.task = Sponge.getScheduler().createTaskBuilder()
+				.execute(this::tick)
+				.intervalTicks(1)
+				.name("GTS Tick Scheduler")
+				.submit(plugin);
+	}
+
+	/**
+	 * Fetches the time at which the current tick began. Everything checking the time within a tick, such as
+	 * whether each listing has expired, shares this one reading of the clock. Until the scheduler has started,
+	 * the clock is read directly.
+	 *
+	 * @return The current time, in epoch millis
+	 */
+	public long currentTime() {
+		long time = this.time;
+		return time != 0 ? time : System.currentTimeMillis();
+	}
+
+	/**
+	 * Stops the scheduler, running any outstanding settlement work so no trade is left half complete.
+	 * Other work is discarded.
+	 */
+	public void shutdown() {
+		if(this.task != null) {
+			this.task.cancel();
+		}
+
+		Work work;
+		while((work = queues.get(Priority.SETTLEMENT).poll()) != null) {
+			this.run(work);
+		}
+		queues.values().forEach(Queue::clear);
+	}
+
+	/**
+	 * Queues a piece of work to run on the server thread.
+	 *
+	 * @param priority The priority of the work
+	 * @param name A short description of the work, used should it fail
+	 * @param action The work itself
+	 * @return A completable future, completed once the work has run
+	 */
+	public CompletableFuture<Void> submit(Priority priority, String name, Runnable action) {
+		CompletableFuture<Void> future = new CompletableFuture<>();
+		queues.get(priority).add(new Work(name, action, future));
+		return future;
+	}
+
+	public int getBacklog(Priority priority) {
+		return queues.get(priority).size();
+	}
+
+	public int getBacklog() {
+		return queues.values().stream().mapToInt(Queue::size).sum();
+	}
+
+	public long getCompleted() {
+		return completed.sum();
+	}
+
+	public long getOverBudget() {
+		return overBudget.sum();
+	}
+
+	public void resetPeak() {
+		this.peakTickNanos = 0;
+	}
+
+	private void tick() {
+		this.time = System.currentTimeMillis();
+		long budget = (long) (GTS.getInstance().getConfig().get(ConfigKeys.TICK_BUDGET) * TimeUnit.MILLISECONDS.toNanos(1));
+		long start = System.nanoTime();
+		int count = 0;
+
+		outer:
+		for(Priority priority : Priority.values()) {
+			Queue<Work> queue = queues.get(priority);
+			Work work;
+			while((work = queue.poll()) != null) {
+				this.run(work);
+				count++;
+				if(System.nanoTime() - start >= budget) {
+					if(this.getBacklog() > 0) {
+						overBudget.increment();
+					}
+					break outer;
+				}
+			}
+		}
+
+		// Any market changes made this tick are published to readers together
+		GTS.getInstance().getListingIndex().publish();
+
+		long elapsed = System.nanoTime() - start;
+		this.lastTickNanos = elapsed;
+		this.lastTickCount = count;
+		if(elapsed > this.peakTickNanos) {
+			this.peakTickNanos = elapsed;
+		}
+	}
+
+	private void run(Work work) {
+		try {
+			work.action.run();
+			work.future.complete(null);
+		} catch (Exception e) {
+			MessageUtils.genAndSendErrorMessage(
+					"Scheduler Error",
+					"Failed to run scheduled work: " + work.name,
+					"Error report is as follows: "
+			);
+			e.printStackTrace();
+			work.future.completeExceptionally(e);
+		}
+		completed.increment();
+	}
+
+	@AllArgsConstructor
+	private static class Work {
+		private final String name;
+		private final Runnable action;
+		private final CompletableFuture<Void> future;
+	}
+}
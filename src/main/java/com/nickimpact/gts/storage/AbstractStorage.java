@@ -34,12 +34,14 @@ import com.nickimpact.gts.api.listings.pricing.Price;
 import com.nickimpact.gts.api.listings.pricing.PriceHolder;
 import com.nickimpact.gts.api.utils.MessageUtils;
 import com.nickimpact.gts.logs.Log;
+import com.nickimpact.gts.mailbox.Mailbox;
 import com.nickimpact.gts.storage.dao.AbstractDao;
 import com.nickimpact.gts.storage.wrappings.PhasedStorage;
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 import org.spongepowered.api.Sponge;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 import java.util.concurrent.Callable;
@@ -87,6 +89,11 @@ public class AbstractStorage implements Storage {
 		return dao.getName();
 	}
 
+	@Override
+	public AbstractDao getDao() {
+		return dao;
+	}
+
 	@Override
 	public void init() {
 		try {
@@ -120,6 +127,11 @@ public class AbstractStorage implements Storage {
 		return makeFuture(() -> dao.addListing(listing));
 	}
 
+	@Override
+	public CompletableFuture<Void> addListings(Collection<Listing> listings, Collection<Log> logs) {
+		return makeFuture(() -> dao.addListings(listings, logs));
+	}
+
 	@Override
 	public CompletableFuture<Void> updateListing(Listing listing) {
 		return makeFuture(() -> dao.updateListing(listing));
@@ -160,11 +172,6 @@ public class AbstractStorage implements Storage {
 		return makeFuture(() -> dao.removeHeldElement(holder));
 	}
 
-	@Override
-	public CompletableFuture<List<EntryHolder>> getHeldElements() {
-		return makeFuture(dao::getHeldElements);
-	}
-
 	@Override
 	public CompletableFuture<Void> addHeldPrice(PriceHolder holder) {
 		return makeFuture(() -> dao.addHeldPrice(holder));
@@ -176,8 +183,18 @@ public class AbstractStorage implements Storage {
 	}
 
 	@Override
-	public CompletableFuture<List<PriceHolder>> getHeldPrices() {
-		return makeFuture(dao::getHeldPrices);
+	public CompletableFuture<Mailbox> getMailbox(UUID owner) {
+		return makeFuture(() -> dao.getMailbox(owner));
+	}
+
+	@Override
+	public CompletableFuture<List<UUID>> getMailOwners() {
+		return makeFuture(dao::getMailOwners);
+	}
+
+	@Override
+	public CompletableFuture<Void> removeMail(UUID owner, Collection<UUID> ids) {
+		return makeFuture(() -> dao.removeMail(owner, ids));
 	}
 
 	@Override
@@ -195,6 +212,21 @@ public class AbstractStorage implements Storage {
 		return makeFuture(dao::getIgnorers);
 	}
 
+	@Override
+	public CompletableFuture<List<QuarantinedRow>> getQuarantined() {
+		return makeFuture(dao::getQuarantined);
+	}
+
+	@Override
+	public CompletableFuture<Boolean> restoreQuarantined(UUID uuid) {
+		return makeFuture(() -> dao.restoreQuarantined(uuid));
+	}
+
+	@Override
+	public CompletableFuture<Void> removeQuarantined(UUID uuid) {
+		return makeFuture(() -> dao.removeQuarantined(uuid));
+	}
+
 	@Override
 	public CompletableFuture<Void> purge(boolean logs) {
 		return makeFuture(() -> dao.purge(logs));
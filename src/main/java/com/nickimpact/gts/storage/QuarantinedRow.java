@@ -0,0 +1,33 @@
+package com.nickimpact.gts.storage;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.UUID;
+
+/**
+ * Represents a row which failed to decode during the startup integrity scan, and was thus moved
+ * out of its original table. The payload is kept exactly as it was read, so that it can either be
+ * inspected, repaired, or re-imported at a later time.
+ *
+ * @author NickImpact
+ */
+@Getter
+@RequiredArgsConstructor
+public class QuarantinedRow {
+
+	/** The ID the row held within its original table */
+	private final UUID uuid;
+
+	/** The data set the row originated from (listings, held_entries, held_prices) */
+	private final String origin;
+
+	/** The raw, undecodable payload */
+	private final String payload;
+
+	/** Why the payload was unable to be decoded */
+	private final String reason;
+
+	/** When the row was quarantined, in epoch millis */
+	private final long time;
+}
@@ -31,7 +31,10 @@ import com.nickimpact.gts.api.listings.entries.EntryHolder;
 import com.nickimpact.gts.api.listings.pricing.Price;
 import com.nickimpact.gts.api.listings.pricing.PriceHolder;
 import com.nickimpact.gts.logs.Log;
+import com.nickimpact.gts.mailbox.Mailbox;
+import com.nickimpact.gts.storage.dao.AbstractDao;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
@@ -40,6 +43,13 @@ public interface Storage {
 
     String getName();
 
+	/**
+	 * Exposes the dao backing this storage instance, for tasks such as backups which manage their own threading.
+	 *
+	 * @return The dao backing this storage instance
+	 */
+	AbstractDao getDao();
+
     /**
      * This method is to initialize our storage provider, loading anything necessary
      * about the provider.
@@ -60,6 +70,16 @@ public interface Storage {
 	 */
 	CompletableFuture<Void> addListing(Listing listing);
 
+	/**
+	 * Adds a set of listings, alongside the logs recording their addition, to the storage provider in a single
+	 * transaction. Either everything is written, or nothing is.
+	 *
+	 * @param listings The listings to add
+	 * @param logs The logs to add alongside them
+	 * @return A completable future in which the listings and logs are added to the storage provider
+	 */
+	CompletableFuture<Void> addListings(Collection<Listing> listings, Collection<Log> logs);
+
 	CompletableFuture<Void> updateListing(Listing listing);
 
 	/**
@@ -117,13 +137,6 @@ public interface Storage {
 	 */
 	CompletableFuture<Void> removeHeldElement(EntryHolder holder);
 
-	/**
-	 * Fetches all of the held elements from the storage provider.
-	 *
-	 * @return All of the held elements from the storage provider.
-	 */
-	CompletableFuture<List<EntryHolder>> getHeldElements();
-
 	/**
 	 * In the event a {@link Price} is unable to be given to a receiver, due to it not supporting
 	 * offline rewarding, we will store the element into storage until their next login.
@@ -145,11 +158,29 @@ public interface Storage {
 	CompletableFuture<Void> removeHeldPrice(PriceHolder holder);
 
 	/**
-	 * Fetches all of the held prices from the storage provider.
+	 * Fetches every held element and price waiting to be delivered to a single user.
+	 *
+	 * @param owner The UUID of the user
+	 * @return The user's mailbox, which will be empty if nothing is waiting for them
+	 */
+	CompletableFuture<Mailbox> getMailbox(UUID owner);
+
+	/**
+	 * Fetches the UUID of every user with at least one held element or price waiting to be delivered.
 	 *
-	 * @return All of the held prices from the storage provider.
+	 * @return Every user with something in their mailbox
 	 */
-	CompletableFuture<List<PriceHolder>> getHeldPrices();
+	CompletableFuture<List<UUID>> getMailOwners();
+
+	/**
+	 * Removes a batch of held elements and prices from a user's mailbox in a single operation, such as once
+	 * they have all been delivered.
+	 *
+	 * @param owner The UUID of the user
+	 * @param ids The IDs of the held elements and prices to remove
+	 * @return A completable future in which the elements and prices are removed from the mailbox
+	 */
+	CompletableFuture<Void> removeMail(UUID owner, Collection<UUID> ids);
 
 	CompletableFuture<Void> addIgnorer(UUID uuid);
 
@@ -162,6 +193,30 @@ public interface Storage {
 	 */
 	CompletableFuture<List<UUID>> getIgnorers();
 
+	/**
+	 * Fetches all rows which failed the integrity scan, and were moved out of their original table.
+	 *
+	 * @return All rows currently held in quarantine
+	 */
+	CompletableFuture<List<QuarantinedRow>> getQuarantined();
+
+	/**
+	 * Attempts to decode a quarantined row once more, applying any known repairs. Should the row now decode,
+	 * it will be moved back into its original table, and loaded into the running cache.
+	 *
+	 * @param uuid The ID of the quarantined row
+	 * @return <code>true</code> if the row was re-imported, <code>false</code> otherwise
+	 */
+	CompletableFuture<Boolean> restoreQuarantined(UUID uuid);
+
+	/**
+	 * Permanently deletes a row from quarantine.
+	 *
+	 * @param uuid The ID of the quarantined row
+	 * @return A completable future in which the row is removed from quarantine
+	 */
+	CompletableFuture<Void> removeQuarantined(UUID uuid);
+
     /**
      * This method is meant to clean out the gts, along with logs if the passed variable
      * is <code>true</code>.
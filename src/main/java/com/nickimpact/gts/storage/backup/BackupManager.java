@@ -0,0 +1,316 @@
+package com.nickimpact.gts.storage.backup;
+
+import com.google.common.collect.Lists;
+import com.google.gson.Gson;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+import com.nickimpact.gts.GTS;
+import com.nickimpact.gts.api.listings.Listing;
+import com.nickimpact.gts.api.utils.MessageUtils;
+import com.nickimpact.gts.configuration.ConfigKeys;
+import com.nickimpact.gts.storage.dao.AbstractDao;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Takes periodic online snapshots of the storage provider, and between those snapshots, flushes the
+ * {@link MutationJournal} of the dao as incremental segments. Together, these allow the data to be restored
+ * to any point in time covered by the retained backups.
+ *
+ * <p>All work is performed on a single, minimum priority thread with throttled output, such that taking
+ * a backup never holds up the trade path. A snapshot is first read out of the provider into a plain, unthrottled
+ * file, so the provider is only held for as long as its rows take to read, and is then compressed at the
+ * throttled rate once the provider has been let go of.</p>
+ *
+ * @author NickImpact
+ */
+public class BackupManager {
+
+	private static final Gson GSON = new Gson();
+
+	private static final Pattern SNAPSHOT = Pattern.compile("^snapshot-(?<time>[0-9]+)-(?<seq>[0-9]+)\\.json\\.gz$");
+	private static final Pattern SEGMENT = Pattern.compile("^segment-(?<first>[0-9]+)-(?<last>[0-9]+)\\.json\\.gz$");
+
+	private final GTS plugin;
+	private final AbstractDao dao;
+	private final File directory;
+
+	private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+		Thread thread = new Thread(runnable, "GTS Backup Thread");
+		thread.setDaemon(true);
+		thread.setPriority(Thread.MIN_PRIORITY);
+		return thread;
+	});
+
+	public BackupManager(GTS plugin, AbstractDao dao) {
+		this.plugin = plugin;
+		this.dao = dao;
+		this.directory = new File(plugin.getDataDirectory(), "backups");
+	}
+
+	public void init() {
+		if(!plugin.getConfig().get(ConfigKeys.BACKUPS_ENABLED)) {
+			return;
+		}
+
+		this.directory.mkdirs();
+		dao.getJournal().resume(this.highestSequence());
+		dao.getJournal().setEnabled(true);
+
+		long snapshots = plugin.getConfig().get(ConfigKeys.BACKUPS_SNAPSHOT_INTERVAL);
+		long segments = plugin.getConfig().get(ConfigKeys.BACKUPS_SEGMENT_INTERVAL);
+		executor.scheduleAtFixedRate(() -> this.run(this::takeSnapshot), 0, snapshots, TimeUnit.MINUTES);
+		executor.scheduleWithFixedDelay(() -> this.run(this::flush), segments, segments, TimeUnit.SECONDS);
+	}
+
+	public void shutdown() {
+		if(!dao.getJournal().isEnabled()) {
+			return;
+		}
+
+		executor.submit(() -> this.run(this::flush));
+		executor.shutdown();
+		try {
+			executor.awaitTermination(10, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	/**
+	 * Queues a snapshot to be taken by the backup thread.
+	 *
+	 * @return A completable future containing the snapshot file
+	 */
+	public CompletableFuture<File> snapshot() {
+		return CompletableFuture.supplyAsync(() -> this.call(this::takeSnapshot), executor);
+	}
+
+	/**
+	 * Restores the storage provider to the state it held at the given time. The newest snapshot taken at or
+	 * before that time is loaded, then all mutations recorded after it, up to the given time, are replayed.
+	 *
+	 * @param time The point in time to restore to, in epoch millis
+	 * @return A completable future in which the restore takes place
+	 */
+	public CompletableFuture<Void> restore(long time) {
+		return CompletableFuture.runAsync(() -> this.call(() -> {
+			this.takeRestore(time);
+			return null;
+		}), executor);
+	}
+
+	/**
+	 * @return All snapshots currently held on disk, from oldest to newest
+	 */
+	public List<File> getSnapshots() {
+		File[] files = this.directory.listFiles((dir, name) -> SNAPSHOT.matcher(name).matches());
+		if(files == null) {
+			return Lists.newArrayList();
+		}
+
+		List<File> snapshots = Lists.newArrayList(files);
+		snapshots.sort(Comparator.comparingLong(file -> this.parse(SNAPSHOT, file, "time")));
+		return snapshots;
+	}
+
+	public long getSnapshotTime(File snapshot) {
+		return this.parse(SNAPSHOT, snapshot, "time");
+	}
+
+	private File takeSnapshot() throws Exception {
+		this.flush();
+
+		long time = System.currentTimeMillis();
+		File raw = new File(this.directory, "snapshot-" + time + ".raw");
+		File temp = new File(this.directory, "snapshot-" + time + ".tmp");
+		long seq;
+		try {
+			try (JsonWriter writer = new JsonWriter(new OutputStreamWriter(new BufferedOutputStream(new FileOutputStream(raw)), StandardCharsets.UTF_8))) {
+				seq = dao.snapshot(writer);
+			}
+
+			try (Reader reader = new InputStreamReader(new BufferedInputStream(new FileInputStream(raw)), StandardCharsets.UTF_8); Writer writer = this.writer(temp)) {
+				char[] buffer = new char[8192];
+				int read;
+				while((read = reader.read(buffer)) != -1) {
+					writer.write(buffer, 0, read);
+				}
+			}
+		} finally {
+			if(raw.exists() && !raw.delete()) {
+				raw.deleteOnExit();
+			}
+		}
+
+		File snapshot = new File(this.directory, "snapshot-" + time + "-" + seq + ".json.gz");
+		if(!temp.renameTo(snapshot)) {
+			throw new IOException("Unable to finalize snapshot " + snapshot.getName());
+		}
+
+		this.prune();
+		return snapshot;
+	}
+
+	private Void flush() throws Exception {
+		List<Mutation> mutations = dao.getJournal().drain();
+		if(mutations.isEmpty()) {
+			return null;
+		}
+
+		long first = mutations.get(0).getSeq();
+		long last = mutations.get(mutations.size() - 1).getSeq();
+		File temp = new File(this.directory, "segment-" + first + ".tmp");
+		try (Writer writer = this.writer(temp)) {
+			GSON.toJson(mutations, writer);
+		}
+
+		File segment = new File(this.directory, "segment-" + first + "-" + last + ".json.gz");
+		if(!temp.renameTo(segment)) {
+			throw new IOException("Unable to finalize segment " + segment.getName());
+		}
+		return null;
+	}
+
+	private void takeRestore(long time) throws Exception {
+		this.flush();
+
+		File snapshot = null;
+		for(File file : this.getSnapshots()) {
+			if(this.parse(SNAPSHOT, file, "time") <= time) {
+				snapshot = file;
+			}
+		}
+
+		if(snapshot == null) {
+			throw new IllegalStateException("No snapshot exists at or before the requested time");
+		}
+
+		long seq = this.parse(SNAPSHOT, snapshot, "seq");
+		List<Mutation> replay = Lists.newArrayList();
+		File[] segments = this.directory.listFiles((dir, name) -> SEGMENT.matcher(name).matches());
+		if(segments != null) {
+			for(File segment : segments) {
+				if(this.parse(SEGMENT, segment, "last") <= seq) {
+					continue;
+				}
+
+				try (Reader reader = this.reader(segment)) {
+					for(Mutation mutation : GSON.fromJson(reader, Mutation[].class)) {
+						if(mutation.getSeq() > seq && mutation.getTime() <= time) {
+							replay.add(mutation);
+						}
+					}
+				}
+			}
+		}
+		replay.sort(Comparator.comparingLong(Mutation::getSeq));
+
+		try (JsonReader reader = new JsonReader(this.reader(snapshot))) {
+			dao.restore(reader, replay);
+		}
+
+		// The history prior to the restore no longer describes the live data, so start a fresh base
+		this.takeSnapshot();
+
+		List<Listing> listings = dao.getListings();
+		List<UUID> ignorers = dao.getIgnorers();
+		plugin.getMarketQueue().submit("restore backup", () -> {
+			plugin.getListingIndex().clear();
+			plugin.getListingIndex().addAll(listings);
+			plugin.getMailboxes().reload();
+			plugin.getRecipients().setIgnorers(ignorers);
+		});
+	}
+
+	private void prune() {
+		List<File> snapshots = this.getSnapshots();
+		int retained = Math.max(1, plugin.getConfig().get(ConfigKeys.BACKUPS_RETAINED));
+		if(snapshots.size() <= retained) {
+			return;
+		}
+
+		for(File expired : snapshots.subList(0, snapshots.size() - retained)) {
+			expired.delete();
+		}
+
+		long oldest = this.parse(SNAPSHOT, snapshots.get(snapshots.size() - retained), "seq");
+		File[] segments = this.directory.listFiles((dir, name) -> SEGMENT.matcher(name).matches());
+		if(segments != null) {
+			Arrays.stream(segments).filter(segment -> this.parse(SEGMENT, segment, "last") <= oldest).forEach(File::delete);
+		}
+	}
+
+	private long highestSequence() {
+		long highest = 0;
+		File[] files = this.directory.listFiles();
+		if(files != null) {
+			for(File file : files) {
+				if(SNAPSHOT.matcher(file.getName()).matches()) {
+					highest = Math.max(highest, this.parse(SNAPSHOT, file, "seq"));
+				} else if(SEGMENT.matcher(file.getName()).matches()) {
+					highest = Math.max(highest, this.parse(SEGMENT, file, "last"));
+				}
+			}
+		}
+
+		return highest;
+	}
+
+	private long parse(Pattern pattern, File file, String group) {
+		Matcher matcher = pattern.matcher(file.getName());
+		return matcher.matches() ? Long.parseLong(matcher.group(group)) : -1;
+	}
+
+	private Writer writer(File file) throws IOException {
+		long throttle = plugin.getConfig().get(ConfigKeys.BACKUPS_MAX_KB_PER_SECOND) * 1024L;
+		return new OutputStreamWriter(
+				new GZIPOutputStream(new ThrottledOutputStream(new BufferedOutputStream(new FileOutputStream(file)), throttle)),
+				StandardCharsets.UTF_8
+		);
+	}
+
+	private Reader reader(File file) throws IOException {
+		return new InputStreamReader(new GZIPInputStream(new BufferedInputStream(new FileInputStream(file))), StandardCharsets.UTF_8);
+	}
+
+	private void run(ThrowingSupplier<?> task) {
+		try {
+			this.call(task);
+		} catch (CompletionException ignored) {
+			// Already reported
+		}
+	}
+
+	private <T> T call(ThrowingSupplier<T> task) {
+		try {
+			return task.get();
+		} catch (Exception e) {
+			MessageUtils.genAndSendErrorMessage(
+					"Backup Error",
+					"Failed to complete a backup task",
+					"Error report is as follows: "
+			);
+			e.printStackTrace();
+			throw new CompletionException(e);
+		}
+	}
+
+	private interface ThrowingSupplier<T> {
+		T get() throws Exception;
+	}
+}
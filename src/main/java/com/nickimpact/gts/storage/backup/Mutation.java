@@ -0,0 +1,33 @@
+package com.nickimpact.gts.storage.backup;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Represents a single write made against a storage table. Mutations are expressed in terms of raw rows, such
+ * that replaying them requires no knowledge of the listing, entry, or price registries.
+ *
+ * <p>A mutation with a <code>null</code> row represents the removal of the row marked by the key, whereas
+ * a mutation with a <code>null</code> key represents the clearing of the entire table.</p>
+ *
+ * @author NickImpact
+ */
+@Getter
+@RequiredArgsConstructor
+public class Mutation {
+
+	/** The position of this mutation within the journal */
+	private final long seq;
+
+	/** When the mutation was recorded, in epoch millis */
+	private final long time;
+
+	/** The table the mutation applies to, without any prefix */
+	private final String table;
+
+	/** The value of the uuid column of the affected row */
+	private final String key;
+
+	/** The full column values of the row after this mutation */
+	private final String[] row;
+}
@@ -0,0 +1,72 @@
+package com.nickimpact.gts.storage.backup;
+
+import com.google.common.collect.Lists;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Records every write made by a storage dao, in order, such that they can be flushed to disk as
+ * incremental segments between full snapshots.
+ *
+ * <p>Recording is a single increment and enqueue, so writers never wait on the backup thread.</p>
+ *
+ * @author NickImpact
+ */
+public class MutationJournal {
+
+	private final AtomicLong sequence = new AtomicLong();
+	private final Queue<Mutation> pending = new ConcurrentLinkedQueue<>();
+
+	/** Whether or not writes should be recorded at all */
+	@Getter @Setter private volatile boolean enabled;
+
+	public void record(String table, String key, String... row) {
+		if(this.enabled) {
+			this.pending.add(new Mutation(this.sequence.incrementAndGet(), System.currentTimeMillis(), table, key, row));
+		}
+	}
+
+	public void remove(String table, String key) {
+		this.record(table, key, (String[]) null);
+	}
+
+	public void clear(String table) {
+		this.record(table, null, (String[]) null);
+	}
+
+	/**
+	 * @return The sequence number of the latest recorded mutation
+	 */
+	public long current() {
+		return this.sequence.get();
+	}
+
+	/**
+	 * Continues numbering after the given sequence, so that sequence numbers stay unique across restarts.
+	 *
+	 * @param sequence The highest sequence number already written to disk
+	 */
+	public void resume(long sequence) {
+		this.sequence.accumulateAndGet(sequence, Math::max);
+	}
+
+	/**
+	 * @return Every mutation recorded since the last drain, in sequence order
+	 */
+	public List<Mutation> drain() {
+		List<Mutation> drained = Lists.newArrayList();
+		Mutation mutation;
+		while((mutation = this.pending.poll()) != null) {
+			drained.add(mutation);
+		}
+
+		// Writers may race between incrementing and enqueueing
+		drained.sort((m1, m2) -> Long.compare(m1.getSeq(), m2.getSeq()));
+		return drained;
+	}
+}
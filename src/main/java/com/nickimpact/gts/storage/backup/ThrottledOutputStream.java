@@ -0,0 +1,67 @@
+package com.nickimpact.gts.storage.backup;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+
+/**
+ * An output stream which caps the rate at which bytes may be written, so a backup never competes
+ * with the server for disk bandwidth.
+ *
+ * @author NickImpact
+ */
+public class ThrottledOutputStream extends FilterOutputStream {
+
+	private final long bytesPerSecond;
+
+	private long windowStart = System.currentTimeMillis();
+	private long written;
+
+	public ThrottledOutputStream(OutputStream out, long bytesPerSecond) {
+		super(out);
+		this.bytesPerSecond = bytesPerSecond;
+	}
+
+	@Override
+	public void write(int b) throws IOException {
+		this.throttle(1);
+		out.write(b);
+	}
+
+	@Override
+	public void write(byte[] b, int off, int len) throws IOException {
+		while(len > 0) {
+			int chunk = (int) Math.min(len, Math.max(1, this.bytesPerSecond));
+			this.throttle(chunk);
+			out.write(b, off, chunk);
+			off += chunk;
+			len -= chunk;
+		}
+	}
+
+	private void throttle(int bytes) throws IOException {
+		if(this.bytesPerSecond <= 0) {
+			return;
+		}
+
+		long now = System.currentTimeMillis();
+		if(now - this.windowStart >= 1000) {
+			this.windowStart = now;
+			this.written = 0;
+		}
+
+		if(this.written + bytes > this.bytesPerSecond) {
+			try {
+				Thread.sleep(Math.max(0, 1000 - (now - this.windowStart)));
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new InterruptedIOException("Interrupted whilst throttling backup output");
+			}
+			this.windowStart = System.currentTimeMillis();
+			this.written = 0;
+		}
+
+		this.written += bytes;
+	}
+}
@@ -25,15 +25,22 @@
 
 package com.nickimpact.gts.storage.dao;
 
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
 import com.nickimpact.gts.GTS;
 import com.nickimpact.gts.api.listings.Listing;
 import com.nickimpact.gts.api.listings.entries.EntryHolder;
 import com.nickimpact.gts.api.listings.pricing.PriceHolder;
 import com.nickimpact.gts.logs.Log;
+import com.nickimpact.gts.mailbox.Mailbox;
+import com.nickimpact.gts.storage.QuarantinedRow;
+import com.nickimpact.gts.storage.backup.Mutation;
+import com.nickimpact.gts.storage.backup.MutationJournal;
 import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
@@ -46,12 +53,18 @@ public abstract class AbstractDao {
 	@Getter
 	public final String name;
 
+	/** Records every write made by this dao, for use with incremental backups */
+	@Getter
+	protected final MutationJournal journal = new MutationJournal();
+
 	public abstract void init();
 
 	public abstract void shutdown();
 
 	public abstract void addListing(Listing listing) throws Exception;
 
+	public abstract void addListings(Collection<Listing> listings, Collection<Log> logs) throws Exception;
+
 	public abstract void updateListing(Listing listing) throws Exception;
 
 	public abstract void removeListing(UUID uuid) throws Exception;
@@ -68,13 +81,15 @@ public abstract class AbstractDao {
 
 	public abstract void removeHeldElement(EntryHolder holder) throws Exception;
 
-	public abstract List<EntryHolder> getHeldElements() throws Exception;
-
 	public abstract void addHeldPrice(PriceHolder holder) throws Exception;
 
 	public abstract void removeHeldPrice(PriceHolder holder) throws Exception;
 
-	public abstract List<PriceHolder> getHeldPrices() throws Exception;
+	public abstract Mailbox getMailbox(UUID owner) throws Exception;
+
+	public abstract List<UUID> getMailOwners() throws Exception;
+
+	public abstract void removeMail(UUID owner, Collection<UUID> ids) throws Exception;
 
 	public abstract void addIgnorer(UUID uuid) throws Exception;
 
@@ -82,6 +97,29 @@ public abstract class AbstractDao {
 
 	public abstract List<UUID> getIgnorers() throws Exception;
 
+	public abstract List<QuarantinedRow> getQuarantined() throws Exception;
+
+	public abstract boolean restoreQuarantined(UUID uuid) throws Exception;
+
+	public abstract void removeQuarantined(UUID uuid) throws Exception;
+
+	/**
+	 * Writes every row held by this dao to the given writer. The provider may be held for as long as the
+	 * snapshot is being written, so the writer should never be throttled.
+	 *
+	 * @param writer The writer receiving the snapshot
+	 * @return The journal sequence the snapshot is consistent with
+	 */
+	public abstract long snapshot(JsonWriter writer) throws Exception;
+
+	/**
+	 * Replaces all data held by this dao with the contents of a snapshot, then replays the given mutations on top.
+	 *
+	 * @param snapshot A reader over a snapshot produced by {@link #snapshot(JsonWriter)}
+	 * @param replay The mutations to replay, in sequence order
+	 */
+	public abstract void restore(JsonReader snapshot, List<Mutation> replay) throws Exception;
+
 	public abstract void purge(boolean logs) throws Exception;
 
 	public abstract void save() throws Exception;
@@ -26,12 +26,17 @@
 package com.nickimpact.gts.storage.dao.file;
 
 import com.google.common.collect.Lists;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
 import com.nickimpact.gts.GTS;
 import com.nickimpact.gts.GTSInfo;
 import com.nickimpact.gts.api.listings.Listing;
 import com.nickimpact.gts.api.listings.entries.EntryHolder;
 import com.nickimpact.gts.api.listings.pricing.PriceHolder;
 import com.nickimpact.gts.logs.Log;
+import com.nickimpact.gts.mailbox.Mailbox;
+import com.nickimpact.gts.storage.QuarantinedRow;
+import com.nickimpact.gts.storage.backup.Mutation;
 import com.nickimpact.gts.storage.dao.AbstractDao;
 import lombok.Getter;
 import ninja.leaping.configurate.ConfigurationNode;
@@ -43,6 +48,7 @@ import java.io.File;
 import java.io.FilenameFilter;
 import java.io.IOException;
 import java.nio.file.Path;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
@@ -160,6 +166,9 @@ public abstract class ConfigurateDao extends AbstractDao {
 	@Override
 	public void addListing(Listing listing) {}
 
+	@Override
+	public void addListings(Collection<Listing> listings, Collection<Log> logs) {}
+
 	@Override
 	public void updateListing(Listing listing) {}
 
@@ -188,11 +197,6 @@ public abstract class ConfigurateDao extends AbstractDao {
 	@Override
 	public void removeHeldElement(EntryHolder holder) {}
 
-	@Override
-	public List<EntryHolder> getHeldElements() {
-		return Lists.newArrayList();
-	}
-
 	@Override
 	public void addHeldPrice(PriceHolder holder) {}
 
@@ -200,10 +204,18 @@ public abstract class ConfigurateDao extends AbstractDao {
 	public void removeHeldPrice(PriceHolder holder) {}
 
 	@Override
-	public List<PriceHolder> getHeldPrices() {
+	public Mailbox getMailbox(UUID owner) {
+		return new Mailbox(owner);
+	}
+
+	@Override
+	public List<UUID> getMailOwners() {
 		return Lists.newArrayList();
 	}
 
+	@Override
+	public void removeMail(UUID owner, Collection<UUID> ids) {}
+
 	@Override
 	public void addIgnorer(UUID uuid) {}
 
@@ -215,6 +227,28 @@ public abstract class ConfigurateDao extends AbstractDao {
 		return Lists.newArrayList();
 	}
 
+	@Override
+	public List<QuarantinedRow> getQuarantined() {
+		return Lists.newArrayList();
+	}
+
+	@Override
+	public boolean restoreQuarantined(UUID uuid) {
+		return false;
+	}
+
+	@Override
+	public void removeQuarantined(UUID uuid) {}
+
+	@Override
+	public long snapshot(JsonWriter writer) throws Exception {
+		writer.beginObject().endObject();
+		return journal.current();
+	}
+
+	@Override
+	public void restore(JsonReader snapshot, List<Mutation> replay) throws Exception {}
+
 	@Override
 	public void purge(boolean logs) throws Exception {}
 
@@ -27,7 +27,12 @@ package com.nickimpact.gts.storage.dao.sql;
 
 import com.google.common.collect.Comparators;
 import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.gson.JsonParseException;
 import com.google.gson.JsonSyntaxException;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
 import com.nickimpact.gts.GTS;
 import com.nickimpact.gts.GTSInfo;
 import com.nickimpact.gts.api.listings.Listing;
@@ -35,6 +40,9 @@ import com.nickimpact.gts.api.listings.entries.EntryHolder;
 import com.nickimpact.gts.api.listings.pricing.PriceHolder;
 import com.nickimpact.gts.api.utils.MessageUtils;
 import com.nickimpact.gts.logs.Log;
+import com.nickimpact.gts.mailbox.Mailbox;
+import com.nickimpact.gts.storage.QuarantinedRow;
+import com.nickimpact.gts.storage.backup.Mutation;
 import com.nickimpact.gts.storage.dao.AbstractDao;
 import com.nickimpact.gts.storage.dao.sql.connection.AbstractConnectionFactory;
 import com.nickimpact.gts.storage.dao.sql.connection.hikari.MySqlConnectionFactory;
@@ -46,11 +54,18 @@ import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.nio.charset.StandardCharsets;
 import java.sql.*;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.function.Function;
 import java.util.regex.Pattern;
+import java.util.stream.Collectors;
 
 
 public class SqlDao extends AbstractDao {
@@ -59,20 +74,35 @@ public class SqlDao extends AbstractDao {
 	private static final String SELECT_ALL_LOGS = "SELECT * FROM `{prefix}logs_v2` WHERE OWNER='%s'";
 	private static final String TRUNCATE_LISTINGS = "TRUNCATE TABLE `{prefix}listings_v2`";
 	private static final String TRUNCATE_LOGS = "TRUNCATE TABLE `{prefix}logs_v2`";
-	private static final String ADD_LISTING = "INSERT INTO `{prefix}listings_v2` VALUES ('%s', '%s', '%s')";
-	private static final String UPDATE_LISTING = "UPDATE `{prefix}listings_v2` SET LISTING='%s' WHERE UUID='%s'";
-	private static final String ADD_LOG = "INSERT INTO `{prefix}logs_v2` VALUES ('%s', '%s', '%s')";
+	private static final String ADD_LISTING = "INSERT INTO `{prefix}listings_v2` VALUES (?, ?, ?)";
+	private static final String UPDATE_LISTING = "UPDATE `{prefix}listings_v2` SET LISTING=? WHERE UUID=?";
+	private static final String ADD_LOG = "INSERT INTO `{prefix}logs_v2` VALUES (?, ?, ?)";
 	private static final String REMOVE_LISTING = "DELETE FROM `{prefix}listings_v2` WHERE UUID='%s'";
 	private static final String REMOVE_LOG = "DELETE FROM `{prefix}logs_v2` WHERE UUID='%s'";
-	private static final String ADD_HELD_ENTRY = "INSERT INTO `{prefix}held_entries_v2` VALUES ('%s', '%s')";
-	private static final String REMOVE_HELD_ENTRY = "DELETE FROM `{prefix}held_entries_v2` WHERE UUID='%s'";
 	private static final String GET_HELD_ENTRIES = "SELECT * FROM `{prefix}held_entries_v2`";
-	private static final String ADD_HELD_PRICE = "INSERT INTO `{prefix}held_prices_v2` VALUES ('%s', '%s')";
-	private static final String REMOVE_HELD_PRICE = "DELETE FROM `{prefix}held_prices_v2` WHERE UUID='%s'";
 	private static final String GET_HELD_PRICES = "SELECT * FROM `{prefix}held_prices_v2`";
+	private static final String ADD_MAIL = "INSERT INTO `{prefix}mailbox` VALUES (?, ?, ?, ?)";
+	private static final String REMOVE_MAIL = "DELETE FROM `{prefix}mailbox` WHERE OWNER=? AND UUID=?";
+	private static final String GET_MAILBOX = "SELECT * FROM `{prefix}mailbox` WHERE OWNER=?";
+	private static final String GET_MAIL_OWNERS = "SELECT DISTINCT OWNER FROM `{prefix}mailbox`";
 	private static final String ADD_IGNORER = "INSERT INTO `{prefix}ignorers` VALUES ('%s')";
 	private static final String REMOVE_IGNORER = "DELETE FROM `{prefix}ignorers` WHERE UUID='%s'";
 	private static final String GET_IGNORERS = "SELECT * FROM `{prefix}ignorers`";
+	private static final String ADD_QUARANTINED = "INSERT INTO `{prefix}quarantine` VALUES (?, ?, ?, ?, ?)";
+	private static final String REMOVE_QUARANTINED = "DELETE FROM `{prefix}quarantine` WHERE UUID=?";
+	private static final String UPDATE_QUARANTINED = "UPDATE `{prefix}quarantine` SET REASON=? WHERE UUID=?";
+	private static final String GET_QUARANTINED = "SELECT * FROM `{prefix}quarantine`";
+	private static final String GET_QUARANTINED_ROW = "SELECT * FROM `{prefix}quarantine` WHERE UUID=?";
+
+	private static final String[] TABLES = {"listings_v2", "logs_v2", "held_entries_v2", "held_prices_v2", "ignorers", "quarantine", "mailbox"};
+
+	private static final String LISTINGS = "listings";
+	private static final String HELD_ENTRIES = "held_entries";
+	private static final String HELD_PRICES = "held_prices";
+
+	/** The kinds of item a mailbox row may hold */
+	private static final String MAIL_ENTRY = "entry";
+	private static final String MAIL_PRICE = "price";
 
 	@Deprecated
 	private static final String TEMP = "SELECT * FROM `{prefix}listings`";
@@ -93,7 +123,7 @@ public class SqlDao extends AbstractDao {
 	}
 
 	private boolean tableExists(String table) throws SQLException {
-		try(Connection connection = provider.getConnection()) {
+		try(Connection connection = provider.acquire()) {
 			try (ResultSet rs = connection.getMetaData().getTables(null, null, "%", null)) {
 				while(rs.next()) {
 					if(rs.getString(3).equalsIgnoreCase(table)) {
@@ -106,7 +136,7 @@ public class SqlDao extends AbstractDao {
 	}
 
 	private void runRemoval(String key, UUID uuid) throws Exception {
-		try (Connection connection = provider.getConnection()) {
+		try (Connection connection = provider.acquire()) {
 			String stmt = prefix.apply(key);
 			stmt = String.format(stmt, uuid);
 			try (PreparedStatement ps = connection.prepareStatement(stmt)) {
@@ -118,7 +148,7 @@ public class SqlDao extends AbstractDao {
 	}
 
 	private void runRemoval(String key, int id) throws Exception {
-		try (Connection connection = provider.getConnection()) {
+		try (Connection connection = provider.acquire()) {
 			String stmt = prefix.apply(key);
 			stmt = String.format(stmt, id);
 			try (PreparedStatement ps = connection.prepareStatement(stmt)) {
@@ -135,7 +165,7 @@ public class SqlDao extends AbstractDao {
 			provider.init();
 
 			// Init tables
-			if(!tableExists(prefix.apply("{prefix}listings_v2"))) {
+			if(!tableExists(prefix.apply("{prefix}listings_v2")) || !tableExists(prefix.apply("{prefix}quarantine")) || !tableExists(prefix.apply("{prefix}mailbox"))) {
 				String schemaFileName = "com/nickimpact/gts/schema/" + provider.getName().toLowerCase() + ".sql";
 				try (InputStream is = plugin.getResourceStream(schemaFileName)) {
 					if(is == null) {
@@ -143,7 +173,7 @@ public class SqlDao extends AbstractDao {
 					}
 
 					try (BufferedReader reader = new BufferedReader(new InputStreamReader(is, StandardCharsets.UTF_8))) {
-						try (Connection connection = provider.getConnection()) {
+						try (Connection connection = provider.acquire()) {
 							try (Statement s = connection.createStatement()) {
 								StringBuilder sb = new StringBuilder();
 								String line;
@@ -181,6 +211,8 @@ public class SqlDao extends AbstractDao {
 					}
 				}
 			}
+
+			this.migrateHeld();
 		} catch (Exception e) {
 			plugin.getConsole().ifPresent(console -> console.sendMessage(Text.of(
 					GTSInfo.ERROR, "An error occurred whilst initializing the database..."
@@ -189,9 +221,41 @@ public class SqlDao extends AbstractDao {
 		}
 	}
 
+	/**
+	 * Moves anything left in the held entry and price tables, which were loaded in full on every boot, into
+	 * the mailbox, where they are instead fetched per player as they log in. Rows which fail to decode are
+	 * quarantined as usual, so the old tables are left empty either way.
+	 */
+	private void migrateHeld() throws Exception {
+		int moved = 0;
+		for(EntryHolder holder : this.scan(HELD_ENTRIES, GET_HELD_ENTRIES, "holder", json -> this.decodeEntryHolder(json, Lists.newArrayList()))) {
+			this.addHeldElement(holder);
+			moved++;
+		}
+		for(PriceHolder holder : this.scan(HELD_PRICES, GET_HELD_PRICES, "holder", this::decodePriceHolder)) {
+			this.addHeldPrice(holder);
+			moved++;
+		}
+
+		try (Connection connection = provider.acquire()) {
+			this.clearTable(connection, "held_entries_v2");
+			this.clearTable(connection, "held_prices_v2");
+		}
+
+		if(moved > 0) {
+			journal.clear("held_entries_v2");
+			journal.clear("held_prices_v2");
+
+			final int total = moved;
+			plugin.getConsole().ifPresent(console -> console.sendMessage(Text.of(
+					GTSInfo.PREFIX, "Moved ", total, " held entries and prices into player mailboxes"
+			)));
+		}
+	}
+
 	@Deprecated
 	private void dropTable(String table) throws Exception {
-		try (Connection connection = provider.getConnection()) {
+		try (Connection connection = provider.acquire()) {
 			String stmt = prefix.apply(String.format(TEMP_DROP, table));
 			try (PreparedStatement ps = connection.prepareStatement(stmt)) {
 				ps.execute();
@@ -212,12 +276,15 @@ public class SqlDao extends AbstractDao {
 
 	@Override
 	public void addListing(Listing listing) throws Exception {
-		try (Connection connection = provider.getConnection()) {
-			String stmt = prefix.apply(ADD_LISTING);
-			stmt = String.format(stmt, listing.getUuid(), listing.getOwnerUUID(), GTS.prettyGson.toJson(listing));
-			try (PreparedStatement ps = connection.prepareStatement(stmt)) {
+		try (Connection connection = provider.acquire()) {
+			String json = GTS.prettyGson.toJson(listing);
+			try (PreparedStatement ps = connection.prepareStatement(prefix.apply(ADD_LISTING))) {
+				ps.setString(1, listing.getUuid().toString());
+				ps.setString(2, listing.getOwnerUUID().toString());
+				ps.setString(3, json);
 				ps.executeUpdate();
 			}
+			journal.record("listings_v2", listing.getUuid().toString(), listing.getUuid().toString(), listing.getOwnerUUID().toString(), json);
 		} catch (Exception e) {
 			GTS.getInstance().getConsole().ifPresent(console -> console.sendMessage(
 					Text.of(GTSInfo.ERROR, "Something happened during the writing process")
@@ -226,14 +293,60 @@ public class SqlDao extends AbstractDao {
 		}
 	}
 
+	@Override
+	public void addListings(Collection<Listing> listings, Collection<Log> logs) throws Exception {
+		Map<Listing, String> listingJson = Maps.newLinkedHashMap();
+		listings.forEach(listing -> listingJson.put(listing, GTS.prettyGson.toJson(listing)));
+		Map<Log, String> logJson = Maps.newLinkedHashMap();
+		logs.forEach(log -> logJson.put(log, GTS.prettyGson.toJson(log)));
+
+		try (Connection connection = provider.acquireExclusive()) {
+			boolean autoCommit = connection.getAutoCommit();
+			connection.setAutoCommit(false);
+			try {
+				try (PreparedStatement ps = connection.prepareStatement(prefix.apply(ADD_LISTING))) {
+					for(Map.Entry<Listing, String> entry : listingJson.entrySet()) {
+						ps.setString(1, entry.getKey().getUuid().toString());
+						ps.setString(2, entry.getKey().getOwnerUUID().toString());
+						ps.setString(3, entry.getValue());
+						ps.addBatch();
+					}
+					ps.executeBatch();
+				}
+
+				try (PreparedStatement ps = connection.prepareStatement(prefix.apply(ADD_LOG))) {
+					for(Map.Entry<Log, String> entry : logJson.entrySet()) {
+						ps.setString(1, String.valueOf(entry.getKey().getId()));
+						ps.setString(2, String.valueOf(entry.getKey().getSource()));
+						ps.setString(3, entry.getValue());
+						ps.addBatch();
+					}
+					ps.executeBatch();
+				}
+
+				connection.commit();
+			} catch (Exception e) {
+				connection.rollback();
+				throw e;
+			} finally {
+				connection.setAutoCommit(autoCommit);
+			}
+		}
+
+		listingJson.forEach((listing, json) -> journal.record("listings_v2", listing.getUuid().toString(), listing.getUuid().toString(), listing.getOwnerUUID().toString(), json));
+		logJson.forEach((log, json) -> journal.record("logs_v2", String.valueOf(log.getId()), String.valueOf(log.getId()), String.valueOf(log.getSource()), json));
+	}
+
 	@Override
 	public void updateListing(Listing listing) throws Exception {
-		try (Connection connection = provider.getConnection()) {
-			String stmt = prefix.apply(UPDATE_LISTING);
-			stmt = String.format(stmt, GTS.prettyGson.toJson(listing), listing.getUuid());
-			try (PreparedStatement ps = connection.prepareStatement(stmt)) {
+		try (Connection connection = provider.acquire()) {
+			String json = GTS.prettyGson.toJson(listing);
+			try (PreparedStatement ps = connection.prepareStatement(prefix.apply(UPDATE_LISTING))) {
+				ps.setString(1, json);
+				ps.setString(2, listing.getUuid().toString());
 				ps.executeUpdate();
 			}
+			journal.record("listings_v2", listing.getUuid().toString(), listing.getUuid().toString(), listing.getOwnerUUID().toString(), json);
 		} catch (Exception e) {
 			GTS.getInstance().getConsole().ifPresent(console -> console.sendMessage(
 					Text.of(GTSInfo.ERROR, "Something happened during the writing process")
@@ -245,6 +358,7 @@ public class SqlDao extends AbstractDao {
 	@Override
 	public void removeListing(UUID uuid) throws Exception {
 		this.runRemoval(REMOVE_LISTING, uuid);
+		journal.remove("listings_v2", uuid.toString());
 	}
 
 	@Override
@@ -253,61 +367,209 @@ public class SqlDao extends AbstractDao {
 	}
 
 	public List<Listing> getListings(String key) throws Exception {
-		List<Listing> entries = Lists.newArrayList();
-		try (Connection connection = provider.getConnection()) {
+		Collection<Listing> stale = new ConcurrentLinkedQueue<>();
+		List<Listing> listings = this.scan(LISTINGS, key, "listing", json -> this.decodeListing(json, stale));
+		this.writeBack(stale, this::updateListing);
+		return listings;
+	}
+
+	/**
+	 * Writes data which was repaired or upgraded whilst being read back to storage in the background, so the
+	 * migration cost is paid once rather than on every boot.
+	 */
+	private <T> void writeBack(Collection<T> stale, ThrowingConsumer<T> writer) {
+		if(stale.isEmpty()) {
+			return;
+		}
+
+		plugin.getAsyncExecutorService().execute(() -> {
+			for(T element : stale) {
+				try {
+					writer.accept(element);
+				} catch (Exception e) {
+					e.printStackTrace();
+				}
+			}
+		});
+	}
+
+	private interface ThrowingConsumer<T> {
+		void accept(T element) throws Exception;
+	}
+
+	/**
+	 * Reads every row of the given query, and decodes the payloads in parallel. Any row which fails to decode
+	 * is moved into the quarantine table along with the reason it failed, so that it is no longer
+	 * processed on every subsequent boot.
+	 *
+	 * @param origin The data set the rows belong to
+	 * @param key The query used to fetch the rows
+	 * @param column The column holding the serialized payload
+	 * @param decoder The function responsible for decoding a payload
+	 * @param <T> The type of the decoded payload
+	 * @return Every payload which was successfully decoded
+	 */
+	private <T> List<T> scan(String origin, String key, String column, Function<String, T> decoder) throws Exception {
+		Map<UUID, String> rows = Maps.newLinkedHashMap();
+		try (Connection connection = provider.acquire()) {
 			try (PreparedStatement query = connection.prepareStatement(prefix.apply(key))) {
 				ResultSet results = query.executeQuery();
 				while(results.next()) {
-					String json = results.getString("listing");
-
-					if(this.provider instanceof MySqlConnectionFactory) {
-						if(json.contains("nbtJSON") && json.contains("\"id\": \"Pokemon\"")) {
-							String nbtJSON = "nbtJSON\": \"{";
-							String nbt = json.substring(json.indexOf(nbtJSON) + nbtJSON.length(), json.indexOf("}\""));
-							int length = nbt.length();
-							String reformated = json.substring(0, json.indexOf(nbtJSON) + nbtJSON.length());
-							reformated += Pattern.compile("\"").matcher(nbt).replaceAll("\\\\\"");
-							reformated += json.substring(json.indexOf(nbt) + length);
-							json = reformated;
-						}
-					}
-					try {
-						entries.add(GTS.prettyGson.fromJson(json, Listing.class));
-					} catch (JsonSyntaxException e) {
-						MessageUtils.genAndSendErrorMessage(
-								"JSON Syntax Error",
-								"Invalid listing JSON detected",
-								"Listing ID: " + results.getString("uuid")
-						);
-					}
+					rows.put(UUID.fromString(results.getString("uuid")), results.getString(column));
 				}
 				results.close();
 			}
 		}
 
-		return entries;
+		return this.decode(origin, rows, decoder);
+	}
+
+	/**
+	 * Decodes a set of rows in parallel, quarantining any which fail to decode.
+	 *
+	 * @param origin The data set the rows belong to
+	 * @param rows The payload of each row, keyed by the row's UUID
+	 * @param decoder The function responsible for decoding a payload
+	 * @param <T> The type of the decoded payload
+	 * @return Every payload which was successfully decoded
+	 */
+	private <T> List<T> decode(String origin, Map<UUID, String> rows, Function<String, T> decoder) throws Exception {
+		Map<UUID, String> failures = Maps.newConcurrentMap();
+		List<T> decoded = rows.entrySet().parallelStream().map(row -> {
+			try {
+				T result = decoder.apply(row.getValue());
+				if(result != null) {
+					return result;
+				}
+
+				failures.put(row.getKey(), "Payload decoded to nothing");
+			} catch (Exception e) {
+				failures.put(row.getKey(), e.getClass().getSimpleName() + ": " + e.getMessage());
+			}
+			return null;
+		}).filter(Objects::nonNull).collect(Collectors.toList());
+
+		for(Map.Entry<UUID, String> failure : failures.entrySet()) {
+			this.quarantine(origin, failure.getKey(), rows.get(failure.getKey()), failure.getValue());
+		}
+
+		return decoded;
+	}
+
+	private void quarantine(String origin, UUID uuid, String payload, String reason) throws Exception {
+		try (Connection connection = provider.acquire()) {
+			try (PreparedStatement ps = connection.prepareStatement(prefix.apply(REMOVE_QUARANTINED))) {
+				ps.setString(1, uuid.toString());
+				ps.executeUpdate();
+			}
+
+			long time = System.currentTimeMillis();
+			try (PreparedStatement ps = connection.prepareStatement(prefix.apply(ADD_QUARANTINED))) {
+				ps.setString(1, uuid.toString());
+				ps.setString(2, origin);
+				ps.setString(3, payload);
+				ps.setString(4, reason);
+				ps.setLong(5, time);
+				ps.executeUpdate();
+			}
+			journal.record("quarantine", uuid.toString(), uuid.toString(), origin, payload, reason, String.valueOf(time));
+		}
+
+		String table = this.tableFor(origin);
+		this.runRemoval("DELETE FROM `{prefix}" + table + "` WHERE UUID='%s'", uuid);
+		journal.remove(table, uuid.toString());
+	}
+
+	/**
+	 * @return The table rows of the given origin now live within
+	 */
+	private String tableFor(String origin) {
+		switch (origin) {
+			case LISTINGS:
+				return "listings_v2";
+			case HELD_ENTRIES:
+			case HELD_PRICES:
+				return "mailbox";
+			default:
+				throw new IllegalArgumentException("Unknown quarantine origin: " + origin);
+		}
+	}
+
+	private Listing decodeListing(String json, Collection<Listing> stale) {
+		Listing listing;
+		boolean repaired = false;
+		try {
+			listing = GTS.prettyGson.fromJson(json, Listing.class);
+		} catch (JsonParseException e) {
+			// Listings written by older versions lost the escaping within their nbtJSON when stored via MySQL
+			if(!(this.provider instanceof MySqlConnectionFactory) || !json.contains("nbtJSON") || !json.contains("\"id\": \"Pokemon\"")) {
+				throw e;
+			}
+
+			String nbtJSON = "nbtJSON\": \"{";
+			String nbt = json.substring(json.indexOf(nbtJSON) + nbtJSON.length(), json.indexOf("}\""));
+			int length = nbt.length();
+			String reformated = json.substring(0, json.indexOf(nbtJSON) + nbtJSON.length());
+			reformated += Pattern.compile("\"").matcher(nbt).replaceAll("\\\\\"");
+			reformated += json.substring(json.indexOf(nbt) + length);
+			listing = GTS.prettyGson.fromJson(reformated, Listing.class);
+			repaired = true;
+		}
+
+		if(listing != null && listing.getEntry() == null) {
+			throw new JsonParseException("Listing holds no entry");
+		}
+
+		if(listing != null && (listing.getEntry().upgrade() || repaired)) {
+			stale.add(listing);
+		}
+		return listing;
+	}
+
+	private EntryHolder decodeEntryHolder(String json, Collection<EntryHolder> stale) {
+		EntryHolder holder = GTS.prettyGson.fromJson(json, EntryHolder.class);
+		if(holder != null && holder.getEntry() == null) {
+			throw new JsonParseException("Holder holds no entry");
+		}
+
+		if(holder != null && holder.getEntry().upgrade()) {
+			stale.add(holder);
+		}
+		return holder;
+	}
+
+	private PriceHolder decodePriceHolder(String json) {
+		PriceHolder holder = GTS.prettyGson.fromJson(json, PriceHolder.class);
+		if(holder != null && holder.getPrice() == null) {
+			throw new JsonParseException("Holder holds no price");
+		}
+		return holder;
 	}
 
 	@Override
 	public void addLog(Log log) throws Exception {
-		try (Connection connection = provider.getConnection()) {
-			String stmt = prefix.apply(ADD_LOG);
-			stmt = String.format(stmt, log.getId(), log.getSource(), GTS.prettyGson.toJson(log));
-			try (PreparedStatement ps = connection.prepareStatement(stmt)) {
+		try (Connection connection = provider.acquire()) {
+			String json = GTS.prettyGson.toJson(log);
+			try (PreparedStatement ps = connection.prepareStatement(prefix.apply(ADD_LOG))) {
+				ps.setString(1, String.valueOf(log.getId()));
+				ps.setString(2, String.valueOf(log.getSource()));
+				ps.setString(3, json);
 				ps.executeUpdate();
 			}
+			journal.record("logs_v2", String.valueOf(log.getId()), String.valueOf(log.getId()), String.valueOf(log.getSource()), json);
 		}
 	}
 
 	@Override
 	public void removeLog(int id) throws Exception {
 		this.runRemoval(REMOVE_LOG, id);
+		journal.remove("logs_v2", String.valueOf(id));
 	}
 
 	@Override
 	public List<Log> getLogs(UUID uuid) throws Exception {
 		List<Log> logs = Lists.newArrayList();
-		try (Connection connection = provider.getConnection()) {
+		try (Connection connection = provider.acquire()) {
 			String stmt = prefix.apply(SELECT_ALL_LOGS);
 			stmt = String.format(stmt, uuid);
 			try (PreparedStatement query = connection.prepareStatement(stmt)) {
@@ -330,116 +592,138 @@ public class SqlDao extends AbstractDao {
 			throw e;
 		}
 
-		logs.sort(Comparator.comparing(Log::getDate));
+		logs.sort(Comparator.comparingLong(Log::getDate));
 		return logs;
 	}
 
 	@Override
 	public void addHeldElement(EntryHolder holder) throws Exception {
-		try (Connection connection = provider.getConnection()) {
-			String stmt = prefix.apply(ADD_HELD_ENTRY);
-			stmt = String.format(stmt, holder.getId(), GTS.prettyGson.toJson(holder));
-			try (PreparedStatement ps = connection.prepareStatement(stmt)) {
-				ps.executeUpdate();
-			}
-		}
+		this.addMail(holder.getId(), holder.getUuid(), MAIL_ENTRY, GTS.prettyGson.toJson(holder));
 	}
 
 	@Override
 	public void removeHeldElement(EntryHolder holder) throws Exception {
-		this.runRemoval(REMOVE_HELD_ENTRY, holder.getId());
+		this.removeMail(holder.getUuid(), Collections.singleton(holder.getId()));
 	}
 
 	@Override
-	public List<EntryHolder> getHeldElements() throws Exception {
-		List<EntryHolder> holders = Lists.newArrayList();
-		try (Connection connection = provider.getConnection()) {
-			try (PreparedStatement query = connection.prepareStatement(prefix.apply(GET_HELD_ENTRIES))) {
-				ResultSet results = query.executeQuery();
-				while(results.next()) {
-					try {
-						holders.add(GTS.prettyGson.fromJson(results.getString("holder"), EntryHolder.class));
-					} catch (JsonSyntaxException e) {
-						MessageUtils.genAndSendErrorMessage(
-								"JSON Syntax Error",
-								"Invalid EntryHolder JSON detected",
-								"Holder ID: " + results.getInt("uuid")
-						);
-					}
-				}
-				results.close();
-			}
-		}
-
-		return holders;
+	public void addHeldPrice(PriceHolder holder) throws Exception {
+		this.addMail(holder.getId(), holder.getUuid(), MAIL_PRICE, GTS.prettyGson.toJson(holder));
 	}
 
 	@Override
-	public void addHeldPrice(PriceHolder holder) throws Exception {
-		try (Connection connection = provider.getConnection()) {
-			String stmt = prefix.apply(ADD_HELD_PRICE);
-			stmt = String.format(stmt, holder.getId(), GTS.prettyGson.toJson(holder));
-			try (PreparedStatement ps = connection.prepareStatement(stmt)) {
+	public void removeHeldPrice(PriceHolder holder) throws Exception {
+		this.removeMail(holder.getUuid(), Collections.singleton(holder.getId()));
+	}
+
+	private void addMail(UUID id, UUID owner, String kind, String json) throws Exception {
+		try (Connection connection = provider.acquire()) {
+			try (PreparedStatement ps = connection.prepareStatement(prefix.apply(ADD_MAIL))) {
+				ps.setString(1, id.toString());
+				ps.setString(2, owner.toString());
+				ps.setString(3, kind);
+				ps.setString(4, json);
 				ps.executeUpdate();
 			}
+			journal.record("mailbox", id.toString(), id.toString(), owner.toString(), kind, json);
 		}
 	}
 
 	@Override
-	public void removeHeldPrice(PriceHolder holder) throws Exception {
-		this.runRemoval(REMOVE_HELD_PRICE, holder.getId());
+	public void removeMail(UUID owner, Collection<UUID> ids) throws Exception {
+		try (Connection connection = provider.acquire()) {
+			try (PreparedStatement ps = connection.prepareStatement(prefix.apply(REMOVE_MAIL))) {
+				for(UUID id : ids) {
+					ps.setString(1, owner.toString());
+					ps.setString(2, id.toString());
+					ps.addBatch();
+				}
+				ps.executeBatch();
+			}
+		}
+
+		for(UUID id : ids) {
+			journal.remove("mailbox", id.toString());
+		}
 	}
 
 	@Override
-	public List<PriceHolder> getHeldPrices() throws Exception {
-		List<PriceHolder> holders = Lists.newArrayList();
-		try (Connection connection = provider.getConnection()) {
-			try (PreparedStatement query = connection.prepareStatement(prefix.apply(GET_HELD_PRICES))) {
+	public Mailbox getMailbox(UUID owner) throws Exception {
+		Map<UUID, String> entries = Maps.newLinkedHashMap();
+		Map<UUID, String> prices = Maps.newLinkedHashMap();
+		try (Connection connection = provider.acquire()) {
+			try (PreparedStatement query = connection.prepareStatement(prefix.apply(GET_MAILBOX))) {
+				query.setString(1, owner.toString());
 				ResultSet results = query.executeQuery();
 				while(results.next()) {
-					try {
-						holders.add(GTS.prettyGson.fromJson(results.getString("holder"), PriceHolder.class));
-					} catch (JsonSyntaxException e) {
-						MessageUtils.genAndSendErrorMessage(
-								"JSON Syntax Error",
-								"Invalid PriceHolder JSON detected",
-								"Holder ID: " + results.getInt("uuid")
-						);
+					UUID uuid = UUID.fromString(results.getString("uuid"));
+					if(results.getString("kind").equals(MAIL_ENTRY)) {
+						entries.put(uuid, results.getString("payload"));
+					} else {
+						prices.put(uuid, results.getString("payload"));
 					}
 				}
 				results.close();
 			}
 		}
 
-		return holders;
+		Collection<EntryHolder> stale = new ConcurrentLinkedQueue<>();
+		Mailbox mailbox = new Mailbox(
+				owner,
+				this.decode(HELD_ENTRIES, entries, json -> this.decodeEntryHolder(json, stale)),
+				this.decode(HELD_PRICES, prices, this::decodePriceHolder)
+		);
+		this.writeBack(stale, holder -> {
+			this.removeHeldElement(holder);
+			this.addHeldElement(holder);
+		});
+		return mailbox;
+	}
+
+	@Override
+	public List<UUID> getMailOwners() throws Exception {
+		List<UUID> owners = Lists.newArrayList();
+		try (Connection connection = provider.acquire()) {
+			try (PreparedStatement query = connection.prepareStatement(prefix.apply(GET_MAIL_OWNERS))) {
+				ResultSet results = query.executeQuery();
+				while(results.next())
+					owners.add(UUID.fromString(results.getString("owner")));
+
+				results.close();
+			}
+		}
+
+		return owners;
 	}
 
 	@Override
 	public void addIgnorer(UUID uuid) throws Exception {
-		try (Connection connection = provider.getConnection()) {
+		try (Connection connection = provider.acquire()) {
 			String stmt = prefix.apply(ADD_IGNORER);
 			stmt = String.format(stmt, uuid);
 			try (PreparedStatement ps = connection.prepareStatement(stmt)) {
 				ps.executeUpdate();
 			}
+			journal.record("ignorers", uuid.toString(), uuid.toString());
 		}
 	}
 
 	@Override
 	public void removeIgnorer(UUID uuid) throws Exception{
-		try (Connection connection = provider.getConnection()) {
+		try (Connection connection = provider.acquire()) {
 			String stmt = prefix.apply(REMOVE_IGNORER);
 			stmt = String.format(stmt, uuid);
 			try (PreparedStatement ps = connection.prepareStatement(stmt)) {
 				ps.executeUpdate();
 			}
+			journal.remove("ignorers", uuid.toString());
 		}
 	}
 
 	@Override
 	public List<UUID> getIgnorers() throws Exception {
 		List<UUID> ignorers = Lists.newArrayList();
-		try (Connection connection = provider.getConnection()) {
+		try (Connection connection = provider.acquire()) {
 			try (PreparedStatement query = connection.prepareStatement(prefix.apply(GET_IGNORERS))) {
 				ResultSet results = query.executeQuery();
 				while(results.next())
@@ -452,9 +736,237 @@ public class SqlDao extends AbstractDao {
 		return ignorers;
 	}
 
+	@Override
+	public List<QuarantinedRow> getQuarantined() throws Exception {
+		List<QuarantinedRow> rows = Lists.newArrayList();
+		try (Connection connection = provider.acquire()) {
+			try (PreparedStatement query = connection.prepareStatement(prefix.apply(GET_QUARANTINED))) {
+				ResultSet results = query.executeQuery();
+				while(results.next()) {
+					rows.add(this.readQuarantined(results));
+				}
+				results.close();
+			}
+		}
+
+		rows.sort(Comparator.comparing(QuarantinedRow::getTime));
+		return rows;
+	}
+
+	private QuarantinedRow readQuarantined(ResultSet results) throws SQLException {
+		return new QuarantinedRow(
+				UUID.fromString(results.getString("uuid")),
+				results.getString("origin"),
+				results.getString("payload"),
+				results.getString("reason"),
+				results.getLong("time")
+		);
+	}
+
+	@Override
+	public boolean restoreQuarantined(UUID uuid) throws Exception {
+		QuarantinedRow row = null;
+		try (Connection connection = provider.acquire()) {
+			try (PreparedStatement query = connection.prepareStatement(prefix.apply(GET_QUARANTINED_ROW))) {
+				query.setString(1, uuid.toString());
+				ResultSet results = query.executeQuery();
+				if(results.next()) {
+					row = this.readQuarantined(results);
+				}
+				results.close();
+			}
+		}
+
+		if(row == null) {
+			return false;
+		}
+
+		try {
+			switch (row.getOrigin()) {
+				case LISTINGS:
+					Listing listing = this.decodeListing(row.getPayload(), Lists.newArrayList());
+					this.addListing(listing);
+					GTS.getInstance().getMarketQueue().submit("restore quarantined listing", () -> GTS.getInstance().getListingIndex().add(listing));
+					break;
+				case HELD_ENTRIES:
+					EntryHolder entry = this.decodeEntryHolder(row.getPayload(), Lists.newArrayList());
+					this.addHeldElement(entry);
+					GTS.getInstance().getMarketQueue().submit("restore quarantined entry", () -> GTS.getInstance().getMailboxes().receive(entry));
+					break;
+				case HELD_PRICES:
+					PriceHolder price = this.decodePriceHolder(row.getPayload());
+					this.addHeldPrice(price);
+					GTS.getInstance().getMarketQueue().submit("restore quarantined price", () -> GTS.getInstance().getMailboxes().receive(price));
+					break;
+				default:
+					throw new IllegalArgumentException("Unknown quarantine origin: " + row.getOrigin());
+			}
+		} catch (Exception e) {
+			try (Connection connection = provider.acquire()) {
+				String reason = e.getClass().getSimpleName() + ": " + e.getMessage();
+				try (PreparedStatement ps = connection.prepareStatement(prefix.apply(UPDATE_QUARANTINED))) {
+					ps.setString(1, reason);
+					ps.setString(2, uuid.toString());
+					ps.executeUpdate();
+				}
+				journal.record("quarantine", uuid.toString(), uuid.toString(), row.getOrigin(), row.getPayload(), reason, String.valueOf(row.getTime()));
+			}
+			return false;
+		}
+
+		this.removeQuarantined(uuid);
+		return true;
+	}
+
+	@Override
+	public void removeQuarantined(UUID uuid) throws Exception {
+		try (Connection connection = provider.acquire()) {
+			try (PreparedStatement ps = connection.prepareStatement(prefix.apply(REMOVE_QUARANTINED))) {
+				ps.setString(1, uuid.toString());
+				ps.executeUpdate();
+			}
+		}
+		journal.remove("quarantine", uuid.toString());
+	}
+
+	@Override
+	public long snapshot(JsonWriter writer) throws Exception {
+		// Any write landing mid-read carries a later sequence, and is thus replayed on restore. The provider is
+		// held until every table has been read, so the writer is expected to be a plain file, never throttled
+		long seq = journal.current();
+		try (Connection connection = provider.acquire()) {
+			writer.beginObject();
+			writer.name("sequence").value(seq);
+			writer.name("tables").beginObject();
+			for(String table : TABLES) {
+				writer.name(table).beginArray();
+				try (PreparedStatement query = connection.prepareStatement(prefix.apply("SELECT * FROM `{prefix}" + table + "`"))) {
+					ResultSet results = query.executeQuery();
+					int columns = results.getMetaData().getColumnCount();
+					while(results.next()) {
+						writer.beginArray();
+						for(int i = 1; i <= columns; i++) {
+							writer.value(results.getString(i));
+						}
+						writer.endArray();
+					}
+					results.close();
+				}
+				writer.endArray();
+			}
+			writer.endObject();
+			writer.endObject();
+		}
+
+		return seq;
+	}
+
+	@Override
+	public void restore(JsonReader snapshot, List<Mutation> replay) throws Exception {
+		List<String> tables = Arrays.asList(TABLES);
+
+		// Where the provider shares its connection, every other write waits until the restore has committed or
+		// rolled back, rather than joining it
+		try (Connection connection = provider.acquireExclusive()) {
+			boolean autoCommit = connection.getAutoCommit();
+			connection.setAutoCommit(false);
+			try {
+				for(String table : TABLES) {
+					this.clearTable(connection, table);
+				}
+
+				snapshot.beginObject();
+				while(snapshot.hasNext()) {
+					if(!snapshot.nextName().equals("tables")) {
+						snapshot.skipValue();
+						continue;
+					}
+
+					snapshot.beginObject();
+					while(snapshot.hasNext()) {
+						String table = snapshot.nextName();
+						if(!tables.contains(table)) {
+							snapshot.skipValue();
+							continue;
+						}
+
+						snapshot.beginArray();
+						while(snapshot.hasNext()) {
+							List<String> row = Lists.newArrayList();
+							snapshot.beginArray();
+							while(snapshot.hasNext()) {
+								if(snapshot.peek() == JsonToken.NULL) {
+									snapshot.nextNull();
+									row.add(null);
+								} else {
+									row.add(snapshot.nextString());
+								}
+							}
+							snapshot.endArray();
+							this.insertRow(connection, table, row.toArray(new String[0]));
+						}
+						snapshot.endArray();
+					}
+					snapshot.endObject();
+				}
+				snapshot.endObject();
+
+				for(Mutation mutation : replay) {
+					if(!tables.contains(mutation.getTable())) {
+						continue;
+					}
+
+					if(mutation.getKey() == null) {
+						this.clearTable(connection, mutation.getTable());
+						continue;
+					}
+
+					try (PreparedStatement ps = connection.prepareStatement(prefix.apply("DELETE FROM `{prefix}" + mutation.getTable() + "` WHERE UUID=?"))) {
+						ps.setString(1, mutation.getKey());
+						ps.executeUpdate();
+					}
+
+					if(mutation.getRow() != null) {
+						this.insertRow(connection, mutation.getTable(), mutation.getRow());
+					}
+				}
+
+				connection.commit();
+			} catch (Exception e) {
+				connection.rollback();
+				throw e;
+			} finally {
+				connection.setAutoCommit(autoCommit);
+			}
+		}
+
+		// Backups taken before the mailbox existed restore into the held tables
+		this.migrateHeld();
+	}
+
+	private void clearTable(Connection connection, String table) throws SQLException {
+		try (PreparedStatement ps = connection.prepareStatement(prefix.apply("DELETE FROM `{prefix}" + table + "`"))) {
+			ps.executeUpdate();
+		}
+	}
+
+	private void insertRow(Connection connection, String table, String[] row) throws SQLException {
+		StringBuilder params = new StringBuilder("?");
+		for(int i = 1; i < row.length; i++) {
+			params.append(", ?");
+		}
+
+		try (PreparedStatement ps = connection.prepareStatement(prefix.apply("INSERT INTO `{prefix}" + table + "` VALUES (" + params + ")"))) {
+			for(int i = 0; i < row.length; i++) {
+				ps.setString(i + 1, row[i]);
+			}
+			ps.executeUpdate();
+		}
+	}
+
 	@Override
 	public void purge(boolean logs) throws Exception {
-		try (Connection connection = provider.getConnection()) {
+		try (Connection connection = provider.acquire()) {
 			try (PreparedStatement stmt = connection.prepareStatement(prefix.apply(TRUNCATE_LISTINGS))) {
 				stmt.executeUpdate();
 			}
@@ -462,9 +974,11 @@ public class SqlDao extends AbstractDao {
 			try (PreparedStatement stmt = connection.prepareStatement(prefix.apply(TRUNCATE_LOGS))) {
 				stmt.executeUpdate();
 			}
+			journal.clear("listings_v2");
+			journal.clear("logs_v2");
 
 			// Clear the cache
-			GTS.getInstance().getListingsCache().clear();
+			GTS.getInstance().getListingIndex().clear();
 			GTS.getInstance().getLogCache().clear();
 		}
 	}
@@ -42,4 +42,26 @@ public abstract class AbstractConnectionFactory {
 	public abstract void shutdown() throws Exception;
 
 	public abstract Connection getConnection() throws SQLException;
+
+	/**
+	 * Fetches a connection for work which runs in auto-commit mode. Providers handing each thread its own
+	 * connection simply return one, whilst those sharing a connection hold off any transaction until it is closed.
+	 *
+	 * @return A connection to the storage
+	 * @throws SQLException If no connection could be made
+	 */
+	public Connection acquire() throws SQLException {
+		return this.getConnection();
+	}
+
+	/**
+	 * Fetches a connection for a transaction. Providers handing each thread its own connection simply return one,
+	 * whilst those sharing a connection hand out no other until it is closed.
+	 *
+	 * @return A connection to the storage
+	 * @throws SQLException If no connection could be made
+	 */
+	public Connection acquireExclusive() throws SQLException {
+		return this.getConnection();
+	}
 }
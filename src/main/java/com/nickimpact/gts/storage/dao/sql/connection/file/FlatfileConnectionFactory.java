@@ -32,7 +32,10 @@ import java.sql.Connection;
 import java.sql.DriverManager;
 import java.sql.SQLException;
 import java.text.DecimalFormat;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 abstract class FlatfileConnectionFactory extends AbstractConnectionFactory {
 
@@ -42,6 +45,12 @@ abstract class FlatfileConnectionFactory extends AbstractConnectionFactory {
 	private final ReentrantLock lock = new ReentrantLock();
 	private Connection connection;
 
+	/**
+	 * Every thread is handed the same connection, so a transaction on it would take in, or roll back, the writes
+	 * of every other thread. Single statements share this lock, whilst transactions hold it exclusively.
+	 */
+	private final ReadWriteLock transactions = new ReentrantReadWriteLock();
+
 	FlatfileConnectionFactory(String name, File file) {
 		super(name);
 		this.file = file;
@@ -84,4 +93,24 @@ abstract class FlatfileConnectionFactory extends AbstractConnectionFactory {
 
 		return this.connection;
 	}
+
+	@Override
+	public Connection acquire() throws SQLException {
+		return this.guard(this.transactions.readLock());
+	}
+
+	@Override
+	public Connection acquireExclusive() throws SQLException {
+		return this.guard(this.transactions.writeLock());
+	}
+
+	private Connection guard(Lock lock) throws SQLException {
+		lock.lock();
+		try {
+			return new GuardedConnection(this.getConnection(), lock);
+		} catch (SQLException | RuntimeException e) {
+			lock.unlock();
+			throw e;
+		}
+	}
 }
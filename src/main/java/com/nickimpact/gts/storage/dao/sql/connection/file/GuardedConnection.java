@@ -0,0 +1,45 @@
+package com.nickimpact.gts.storage.dao.sql.connection.file;
+
+import lombok.experimental.Delegate;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.locks.Lock;
+
+/**
+ * A connection which holds a lock on its provider for as long as it is open, releasing it once closed.
+ *
+ * @author NickImpact
+ */
+final class GuardedConnection implements Connection {
+
+	@Delegate(excludes = Exclude.class)
+	private final Connection delegate;
+
+	private final Lock lock;
+
+	private boolean closed;
+
+	GuardedConnection(Connection delegate, Lock lock) {
+		this.delegate = delegate;
+		this.lock = lock;
+	}
+
+	@Override
+	public void close() throws SQLException {
+		if(this.closed) {
+			return;
+		}
+
+		this.closed = true;
+		try {
+			this.delegate.close();
+		} finally {
+			this.lock.unlock();
+		}
+	}
+
+	private interface Exclude {
+		void close() throws SQLException;
+	}
+}
@@ -31,10 +31,14 @@ import com.nickimpact.gts.api.listings.entries.EntryHolder;
 import com.nickimpact.gts.api.listings.pricing.Price;
 import com.nickimpact.gts.api.listings.pricing.PriceHolder;
 import com.nickimpact.gts.logs.Log;
+import com.nickimpact.gts.mailbox.Mailbox;
+import com.nickimpact.gts.storage.QuarantinedRow;
 import com.nickimpact.gts.storage.Storage;
+import com.nickimpact.gts.storage.dao.AbstractDao;
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
@@ -63,6 +67,11 @@ public class PhasedStorage implements Storage {
 		return delegate.getName();
 	}
 
+	@Override
+	public AbstractDao getDao() {
+		return delegate.getDao();
+	}
+
 	@Override
 	public void init() {
 		delegate.init();
@@ -89,6 +98,16 @@ public class PhasedStorage implements Storage {
 		}
 	}
 
+	@Override
+	public CompletableFuture<Void> addListings(Collection<Listing> listings, Collection<Log> logs) {
+		phaser.register();
+		try {
+			return delegate.addListings(listings, logs);
+		} finally {
+			phaser.arriveAndDeregister();
+		}
+	}
+
 	@Override
 	public CompletableFuture<Void> updateListing(Listing listing) {
 		phaser.register();
@@ -170,40 +189,50 @@ public class PhasedStorage implements Storage {
 	}
 
 	@Override
-	public CompletableFuture<List<EntryHolder>> getHeldElements() {
+	public CompletableFuture<Void> addHeldPrice(PriceHolder holder) {
 		phaser.register();
 		try {
-			return delegate.getHeldElements();
+			return delegate.addHeldPrice(holder);
 		} finally {
 			phaser.arriveAndDeregister();
 		}
 	}
 
 	@Override
-	public CompletableFuture<Void> addHeldPrice(PriceHolder holder) {
+	public CompletableFuture<Void> removeHeldPrice(PriceHolder holder) {
 		phaser.register();
 		try {
-			return delegate.addHeldPrice(holder);
+			return delegate.removeHeldPrice(holder);
 		} finally {
 			phaser.arriveAndDeregister();
 		}
 	}
 
 	@Override
-	public CompletableFuture<Void> removeHeldPrice(PriceHolder holder) {
+	public CompletableFuture<Mailbox> getMailbox(UUID owner) {
 		phaser.register();
 		try {
-			return delegate.removeHeldPrice(holder);
+			return delegate.getMailbox(owner);
 		} finally {
 			phaser.arriveAndDeregister();
 		}
 	}
 
 	@Override
-	public CompletableFuture<List<PriceHolder>> getHeldPrices() {
+	public CompletableFuture<List<UUID>> getMailOwners() {
 		phaser.register();
 		try {
-			return delegate.getHeldPrices();
+			return delegate.getMailOwners();
+		} finally {
+			phaser.arriveAndDeregister();
+		}
+	}
+
+	@Override
+	public CompletableFuture<Void> removeMail(UUID owner, Collection<UUID> ids) {
+		phaser.register();
+		try {
+			return delegate.removeMail(owner, ids);
 		} finally {
 			phaser.arriveAndDeregister();
 		}
@@ -239,6 +268,36 @@ public class PhasedStorage implements Storage {
 		}
 	}
 
+	@Override
+	public CompletableFuture<List<QuarantinedRow>> getQuarantined() {
+		phaser.register();
+		try {
+			return delegate.getQuarantined();
+		} finally {
+			phaser.arriveAndDeregister();
+		}
+	}
+
+	@Override
+	public CompletableFuture<Boolean> restoreQuarantined(UUID uuid) {
+		phaser.register();
+		try {
+			return delegate.restoreQuarantined(uuid);
+		} finally {
+			phaser.arriveAndDeregister();
+		}
+	}
+
+	@Override
+	public CompletableFuture<Void> removeQuarantined(UUID uuid) {
+		phaser.register();
+		try {
+			return delegate.removeQuarantined(uuid);
+		} finally {
+			phaser.arriveAndDeregister();
+		}
+	}
+
 	@Override
 	public CompletableFuture<Void> purge(boolean logs) {
 		phaser.register();
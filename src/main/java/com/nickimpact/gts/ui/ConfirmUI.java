@@ -4,11 +4,13 @@ import com.google.common.collect.Maps;
 import com.nickimpact.gts.GTS;
 import com.nickimpact.gts.GTSInfo;
 import com.nickimpact.gts.api.listings.Listing;
+import com.nickimpact.gts.api.listings.ListingState;
+import com.nickimpact.gts.broadcast.Announcement;
 import com.nickimpact.gts.configuration.ConfigKeys;
 import com.nickimpact.gts.configuration.MsgConfigKeys;
-import com.nickimpact.gts.discord.Message;
 import com.nickimpact.gts.logs.Log;
 import com.nickimpact.gts.logs.LogAction;
+import com.nickimpact.gts.market.RateLimiter;
 import com.nickimpact.gts.ui.shared.SharedItems;
 import com.nickimpact.gts.utils.ListingUtils;
 import com.nickimpact.impactor.gui.v2.Displayable;
@@ -137,14 +139,18 @@ public class ConfirmUI implements Displayable, Observer {
 						.add(Keys.DISPLAY_NAME, Text.of(TextColors.RED, "Remove from GTS"))
 						.build()
 		);
-		icon.addListener(clickable -> {
-			if (!GTS.getInstance().getListingsCache().contains(this.target)) {
+		icon.addListener(clickable -> GTS.getInstance().getMarketQueue().submit("remove", () -> {
+			if (!GTS.getInstance().getListingIndex().contains(this.target) || !this.target.claim()) {
 				clickable.getPlayer().sendMessages(
 						Text.of(GTSInfo.ERROR, "Unfortunately, your listing has already been claimed...")
 				);
 				return;
 			}
-			this.target.getEntry().giveEntry(clickable.getPlayer());
+			if(!this.target.getEntry().giveEntry(clickable.getPlayer())) {
+				this.target.release();
+				return;
+			}
+			this.target.complete(ListingState.REMOVED);
 			ListingUtils.deleteEntry(this.target);
 			try {
 				clickable.getPlayer().sendMessages(
@@ -165,10 +171,15 @@ public class ConfirmUI implements Displayable, Observer {
 						null,
 						variables
 				).toPlain();
-				GTS.getInstance().getDiscordNotifier().ifPresent(notifier -> {
-					Message message = notifier.forgeMessage(GTS.getInstance().getConfig().get(ConfigKeys.DISCORD_REMOVE), b);
-					notifier.sendMessage(message);
-				});
+				GTS.getInstance().getBroadcasts().announce(Announcement.builder()
+						.kind(Announcement.Kind.Removal)
+						.source(player.getUniqueId())
+						.sourceName(player.getName())
+						.category(target.getEntry().getId())
+						.discord(GTS.getInstance().getConfig().get(ConfigKeys.DISCORD_REMOVE))
+						.discordContent(b)
+						.build()
+				);
 			} catch (NucleusException e) {
 				e.printStackTrace();
 			}
@@ -180,7 +191,7 @@ public class ConfirmUI implements Displayable, Observer {
 					.build();
 			GTS.getInstance().getStorage().addLog(remove);
 			clickable.getPlayer().closeInventory();
-		});
+		}));
 
 		return icon;
 	}
@@ -189,13 +200,19 @@ public class ConfirmUI implements Displayable, Observer {
 		Icon icon = SharedItems.confirmIcon(this.target.getAucData() != null);
 		icon.addListener(clickable -> {
 			if (confirmed) {
+				RateLimiter.Action action = this.target.getAucData() != null ? RateLimiter.Action.Bid : RateLimiter.Action.Purchase;
+				if (!GTS.getInstance().getRateLimiter().tryAcquire(clickable.getPlayer(), action)) {
+					clickable.getPlayer().sendMessage(Text.of(GTSInfo.ERROR, TextColors.GRAY, "You're doing that too quickly, please slow down..."));
+					return;
+				}
+
 				if (this.target.getAucData() != null) {
 					ListingUtils.bid(clickable.getPlayer(), this.target);
 					if (!GTS.getInstance().getConfig().get(ConfigKeys.BID_KEEP_UI_OPEN)) {
 						clickable.getPlayer().closeInventory();
 					}
 				} else {
-					ListingUtils.purchase(clickable.getPlayer(), this.target);
+					GTS.getInstance().getMarketQueue().submit("purchase", () -> ListingUtils.purchase(clickable.getPlayer(), this.target));
 					clickable.getPlayer().closeInventory();
 				}
 			} else {
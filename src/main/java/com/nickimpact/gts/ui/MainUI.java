@@ -3,10 +3,13 @@ package com.nickimpact.gts.ui;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Lists;
 import com.nickimpact.gts.GTS;
+import com.nickimpact.gts.GTSInfo;
 import com.nickimpact.gts.configuration.MsgConfigKeys;
 import com.nickimpact.gts.api.listings.Listing;
 import com.nickimpact.gts.entries.items.ItemEntry;
 import com.nickimpact.gts.entries.pixelmon.PokemonEntry;
+import com.nickimpact.gts.market.MarketSnapshot;
+import com.nickimpact.gts.market.RateLimiter;
 import com.nickimpact.gts.ui.shared.SharedItems;
 import com.nickimpact.gts.utils.ItemUtils;
 import com.nickimpact.impactor.gui.v2.Icon;
@@ -49,6 +52,9 @@ public class MainUI implements PageDisplayable, Observer {
 	/** Whether or not we should show the player's listings or not */
 	private boolean justPlayer = false;
 
+	/** The version of the market snapshot the listings were last drawn from */
+	private long version = -1;
+
 	private static final Icon BORDER = Icon.from(ItemStack.builder().from(Icon.BORDER.getDisplay()).add(Keys.DISPLAY_NAME, Text.of(TextColors.YELLOW, "Click to refresh UI")).build());
 
 	public MainUI(Player player) {
@@ -63,7 +69,11 @@ public class MainUI implements PageDisplayable, Observer {
 	 */
 	public MainUI(Player player, Collection<Predicate<Listing>> conditions) {
 		if(BORDER.getListeners().isEmpty()) {
-			BORDER.addListener(clickable -> apply());
+			BORDER.addListener(clickable -> {
+				if(!this.throttled(clickable.getPlayer())) {
+					this.apply();
+				}
+			});
 		}
 		this.player = player;
 		this.searchConditions.addAll(conditions);
@@ -118,6 +128,10 @@ public class MainUI implements PageDisplayable, Observer {
 		ItemStack pListings = ItemStack.builder().itemType(ItemTypes.WRITTEN_BOOK).add(Keys.DISPLAY_NAME, pLTitle).add(Keys.ITEM_LORE, pLLore).build();
 		Icon pl = new Icon(pListings);
 		pl.addListener(clickable -> {
+			if(this.throttled(clickable.getPlayer())) {
+				return;
+			}
+
 			this.justPlayer = !this.justPlayer;
 			List<Text> lore = Lists.newArrayList(Text.of(TextColors.GRAY, "Status: ", this.justPlayer ? Text.of(TextColors.GREEN, "Enabled") : Text.of(TextColors.RED, "Disabled")));
 			lore.addAll(additional);
@@ -147,6 +161,10 @@ public class MainUI implements PageDisplayable, Observer {
 
 		Icon pIcon = Icon.from(pokemon);
 		pIcon.addListener(clickable -> {
+			if(this.throttled(clickable.getPlayer())) {
+				return;
+			}
+
 			if(this.hasCondition(pokeCondition)) {
 				this.searchConditions.remove(pokeCondition);
 			} else {
@@ -169,6 +187,10 @@ public class MainUI implements PageDisplayable, Observer {
 
 		Icon iIcon = Icon.from(items);
 		iIcon.addListener(clickable -> {
+			if(this.throttled(clickable.getPlayer())) {
+				return;
+			}
+
 			if(this.hasCondition(itemCondition)) {
 				this.searchConditions.remove(itemCondition);
 			} else {
@@ -192,6 +214,18 @@ public class MainUI implements PageDisplayable, Observer {
 		return lb.build();
 	}
 
+	/**
+	 * Checks whether the player is refreshing the menu faster than they are allowed to, and lets them know if so.
+	 */
+	private boolean throttled(Player player) {
+		if(GTS.getInstance().getRateLimiter().tryAcquire(player, RateLimiter.Action.Menu)) {
+			return false;
+		}
+
+		player.sendMessage(Text.of(GTSInfo.ERROR, TextColors.GRAY, "You're doing that too quickly, please slow down..."));
+		return true;
+	}
+
 	private boolean hasCondition(Predicate<Listing> predicate) {
 		return this.searchConditions.contains(predicate);
 	}
@@ -202,12 +236,15 @@ public class MainUI implements PageDisplayable, Observer {
 	}
 
 	private List<Listing> getListings() {
+		MarketSnapshot snapshot = GTS.getInstance().getListingIndex().getSnapshot();
+		this.version = snapshot.getVersion();
+
 		List<Listing> listings;
 		if(justPlayer) {
-			listings = GTS.getInstance().getListingsCache().stream().filter(listing -> listing.getOwnerUUID().equals(this.player.getUniqueId())).collect(Collectors.toList());
+			listings = GTS.getInstance().getListingIndex().getByOwner(this.player.getUniqueId());
 		} else {
 			if (!this.searchConditions.isEmpty()) {
-				listings = GTS.getInstance().getListingsCache().stream().filter(listing -> {
+				listings = snapshot.getListings().stream().filter(listing -> {
 					boolean passed = false;
 					for(Predicate<Listing> predicate : this.searchConditions) {
 						passed = predicate.test(listing);
@@ -216,7 +253,7 @@ public class MainUI implements PageDisplayable, Observer {
 					return passed;
 				}).collect(Collectors.toList());
 			} else {
-				listings = GTS.getInstance().getListingsCache();
+				listings = snapshot.getListings();
 			}
 		}
 
@@ -230,7 +267,7 @@ public class MainUI implements PageDisplayable, Observer {
 			Icon icon = new Icon(listing.getDisplay(this.player, false));
 			icon.addListener(clickable -> {
 				UUID uuid = listing.getUuid();
-				if(GTS.getInstance().getListingsCache().stream().anyMatch(listing1 -> listing1.getUuid() == uuid)) {
+				if(GTS.getInstance().getListingIndex().contains(uuid)) {
 					Sponge.getScheduler().createTaskBuilder()
 							.execute(() -> {
 								this.close(player);
@@ -248,6 +285,8 @@ public class MainUI implements PageDisplayable, Observer {
 
 	@Override
 	public void update(Observable o, Object arg) {
-		this.apply();
+		if(GTS.getInstance().getListingIndex().getSnapshot().getVersion() != this.version) {
+			this.apply();
+		}
 	}
 }
@@ -1,5 +1,8 @@
 package com.nickimpact.gts.ui.updater;
 
+import com.nickimpact.gts.GTS;
+import com.nickimpact.gts.scheduling.TickScheduler;
+
 import java.util.Observable;
 
 /**
@@ -10,7 +13,9 @@ import java.util.Observable;
 public class GuiUpdater extends Observable {
 
 	public void sendUpdate() {
-		this.setChanged();
-		this.notifyObservers();
+		GTS.getInstance().getTickScheduler().submit(TickScheduler.Priority.COSMETIC, "ui update", () -> {
+			this.setChanged();
+			this.notifyObservers();
+		});
 	}
 }
@@ -1,27 +1,35 @@
 package com.nickimpact.gts.utils;
 
-import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Maps;
 import com.nickimpact.gts.GTS;
 import com.nickimpact.gts.GTSInfo;
 import com.nickimpact.gts.api.listings.Listing;
+import com.nickimpact.gts.api.listings.ListingState;
 import com.nickimpact.gts.api.listings.data.AuctionData;
+import com.nickimpact.gts.api.listings.entries.Entry;
+import com.nickimpact.gts.api.listings.entries.EntryHolder;
+import com.nickimpact.gts.api.listings.pricing.Price;
+import com.nickimpact.gts.api.listings.pricing.PriceHolder;
+import com.nickimpact.gts.api.utils.Futures;
+import com.nickimpact.gts.broadcast.Announcement;
 import com.nickimpact.gts.configuration.ConfigKeys;
 import com.nickimpact.gts.configuration.MsgConfigKeys;
-import com.nickimpact.gts.discord.Message;
 import com.nickimpact.gts.logs.Log;
 import com.nickimpact.gts.logs.LogAction;
+import com.nickimpact.gts.market.ListingIndex;
+import com.nickimpact.gts.market.UserCache;
 import io.github.nucleuspowered.nucleus.api.exceptions.NucleusException;
 import org.spongepowered.api.Sponge;
 import org.spongepowered.api.entity.living.player.Player;
 import org.spongepowered.api.entity.living.player.User;
 import org.spongepowered.api.text.Text;
 
-import java.sql.Date;
-import java.time.Instant;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -33,70 +41,120 @@ public class ListingTasks {
 
     public static void updateTask() {
         Sponge.getScheduler().createTaskBuilder().execute(() -> {
-            long start = System.nanoTime();
-
-            final List<Listing> listings = ImmutableList.copyOf(GTS.getInstance().getListingsCache());
-	        listings.stream().filter(listing -> listing.getExpiration().before(Date.from(Instant.now()))).forEach(listing -> {
-	            boolean successful;
-
-	            AuctionData ad = listing.getAucData();
-	        	if(ad != null && ad.getHighBidder() != null) {
-	        		successful = award(PlayerUtils.getUserFromUUID(ad.getHighBidder()).orElse(null), listing);
-	        		// Even if we can't give the winning player their award, due to them being offline, at least
-			        // give the auctioneer their winnings
-	        		if(!ad.isOwnerReceived()) {
-				        try {
-					        listing.getEntry().getPrice().reward(listing.getOwnerUUID());
-					        ad.setOwnerReceived(true);
-					        if(!successful) {
-					        	GTS.getInstance().getStorage().updateListing(listing);
-					        }
-					        Sponge.getServer().getPlayer(listing.getOwnerUUID()).ifPresent(player -> {
-						        try {
-							        Map<String, Object> variables = Maps.newHashMap();
-							        variables.put("dummy", listing.getEntry().getEntry());
-							        variables.put("dummy2", listing);
-							        variables.put("dummy3", listing.getEntry());
-							        player.sendMessages(GTS.getInstance().getTextParsingUtils().parse(
-									        GTS.getInstance().getMsgConfig().get(MsgConfigKeys.AUCTION_SOLD),
-									        player,
-									        null,
-									        variables
-							        ));
-						        } catch (NucleusException e) {
-							        e.printStackTrace();
-						        }
-					        });
-				        } catch (Exception e) {
-					        e.printStackTrace();
-				        }
-			        }
-	            } else {
-		            successful = expire(listing);
-	            }
-
-	            if(successful) {
-	        		ListingUtils.deleteEntry(listing);
-	            }
-            });
-
-            long end = System.nanoTime();
-	        //GTS.getInstance().getConsole().ifPresent(console -> console.sendMessage(Text.of(
-			//        GTSInfo.DEBUG, "Execution Time: ", ((end - start) / Math.pow(10, 6)) + " ms"
-	        //)));
+            final long now = GTS.getInstance().getTickScheduler().currentTime();
 
+            // Load the owners of listings about to expire ahead of time, so settling them never waits on player data
+	        UserCache users = GTS.getInstance().getUsers();
+	        users.cleanup();
+	        for(Listing listing : GTS.getInstance().getListingIndex().getExpiringBy(now + UserCache.LOOKAHEAD)) {
+	        	if(listing.getEntry().supportsOffline()) {
+	        		users.prefetch(listing.getOwnerUUID());
+		        }
+	        }
+
+            // Settle each listing on its own, so a burst of expirations is spread across ticks as needed
+	        for(UUID uuid : GTS.getInstance().getListingIndex().getExpiry().poll(now)) {
+	        	GTS.getInstance().getMarketQueue().submit("expire " + uuid, () -> settle(uuid, now));
+	        }
         }).interval(1, TimeUnit.SECONDS).submit(GTS.getInstance());
     }
 
+    private static void settle(UUID uuid, long now) {
+		final ListingIndex index = GTS.getInstance().getListingIndex();
+		Listing listing = index.get(uuid).orElse(null);
+		if(listing == null) {
+			return;
+		}
+
+		// Someone else is settling the listing, so check back once they're done
+		if(!listing.claim()) {
+			index.getExpiry().retry(uuid, now);
+			return;
+		}
+
+		AuctionData ad = listing.getAucData();
+		boolean auction = ad != null && ad.getHighBidder() != null;
+		Executor market = GTS.getInstance().getMarketQueue().executor("settle " + uuid);
+
+		CompletableFuture<Boolean> settled;
+		if(auction) {
+			// The winner must be online to pay for and receive their award, so there's no need to load them
+			settled = award(Sponge.getServer().getPlayer(ad.getHighBidder()).orElse(null), listing, market).thenComposeAsync(
+					successful -> rewardOwner(listing, ad, successful, market).thenApply(ignore -> successful),
+					market
+			);
+		} else {
+			settled = CompletableFuture.completedFuture(expire(listing));
+		}
+
+		settled.whenCompleteAsync((successful, error) -> {
+			if(error != null) {
+				Futures.unwrap(error).printStackTrace();
+			}
+
+			if(error == null && successful) {
+				listing.complete(auction ? ListingState.SOLD : ListingState.EXPIRED);
+				ListingUtils.deleteEntry(listing);
+			} else {
+				listing.release();
+				index.getExpiry().retry(uuid, now);
+			}
+		}, market);
+    }
+
+	/**
+	 * Even if we can't give the winning player their award, due to them being offline, at least give the
+	 * auctioneer their winnings.
+	 */
+	private static CompletableFuture<Void> rewardOwner(Listing listing, AuctionData ad, boolean awarded, Executor market) {
+		if(ad.isOwnerReceived()) {
+			return CompletableFuture.completedFuture(null);
+		}
+
+		Price<?> price = listing.getEntry().getPrice();
+		return price.rewardAsync(listing.getOwnerUUID()).handleAsync((ignore, error) -> {
+			if(error != null) {
+				Futures.unwrap(error).printStackTrace();
+				return null;
+			}
+
+			ad.setOwnerReceived(true);
+			if(!awarded) {
+				GTS.getInstance().getStorage().updateListing(listing);
+			}
+			Sponge.getServer().getPlayer(listing.getOwnerUUID()).ifPresent(player -> {
+				try {
+					Map<String, Object> variables = Maps.newHashMap();
+					variables.put("dummy", listing.getEntry().getEntry());
+					variables.put("dummy2", listing);
+					variables.put("dummy3", listing.getEntry());
+					player.sendMessages(GTS.getInstance().getTextParsingUtils().parse(
+							GTS.getInstance().getMsgConfig().get(MsgConfigKeys.AUCTION_SOLD),
+							player,
+							null,
+							variables
+					));
+				} catch (NucleusException e) {
+					e.printStackTrace();
+				}
+			});
+			return null;
+		}, market);
+	}
+
     private static boolean expire(Listing listing) {
 		Optional<Player> owner = Sponge.getServer().getPlayer(listing.getOwnerUUID());
 		if(!owner.isPresent()) {
 			// Offline player provider
 			if(listing.getEntry().supportsOffline()) {
-				User user = GTS.getInstance().getUserStorageService().get(listing.getOwnerUUID()).orElse(null);
+				// Should the owner not be loaded yet, they will be by the time the listing is next attempted
+				User user = GTS.getInstance().getUsers().getIfPresent(listing.getOwnerUUID()).orElse(null);
 				return user != null && listing.getEntry().giveEntry(user);
 			}
-			return false;
+
+			// Park the entry until the owner next logs in, rather than re-evaluating it whilst they're away
+			GTS.getInstance().getMailboxes().post(new EntryHolder(listing.getUuid(), listing.getOwnerUUID(), listing.getEntry()));
+			return true;
 		}
 
 		Map<String, Object> variables = Maps.newHashMap();
@@ -126,10 +184,15 @@ public class ListingTasks {
 				    null,
 				    variables
 		    ).toPlain();
-		    GTS.getInstance().getDiscordNotifier().ifPresent(notifier -> {
-			    Message message = notifier.forgeMessage(GTS.getInstance().getConfig().get(ConfigKeys.DISCORD_EXPIRE), b);
-			    notifier.sendMessage(message);
-		    });
+		    GTS.getInstance().getBroadcasts().announce(Announcement.builder()
+				    .kind(Announcement.Kind.Expiration)
+				    .source(player.getUniqueId())
+				    .sourceName(player.getName())
+				    .category(listing.getEntry().getId())
+				    .discord(GTS.getInstance().getConfig().get(ConfigKeys.DISCORD_EXPIRE))
+				    .discordContent(b)
+				    .build()
+		    );
 	    } catch (NucleusException e) {
 		    e.printStackTrace();
 	    }
@@ -144,32 +207,50 @@ public class ListingTasks {
 	    return true;
     }
 
-    private static boolean award(User user, Listing listing) {
-    	if(user == null || !user.getPlayer().isPresent())
-    		return false;
-
-    	if(!listing.getEntry().giveEntry(user.getPlayer().get()))
-    	    return false;
+	/**
+	 * Takes payment from the winner of an auction, and then hands them what they won. Should they be unable to
+	 * receive it, they are handed back what they paid.
+	 *
+	 * @return A completable future, completed with whether the winner paid for and received their award
+	 */
+    private static CompletableFuture<Boolean> award(Player player, Listing listing, Executor market) {
+    	if(player == null || !player.isOnline())
+    		return CompletableFuture.completedFuture(false);
 
-	    try {
-		    if(!listing.getEntry().getPrice().canPay(user.getPlayer().get())) {
-			    user.getPlayer().get().sendMessage(Text.of(GTSInfo.ERROR, "Your balance was too low to afford your bid..."));
-			    return false;
+	    Entry<?> entry = listing.getEntry();
+	    Price<?> price = entry.getPrice();
+	    return price.canPayAsync(player).thenComposeAsync(affordable -> {
+		    if(!affordable) {
+			    player.sendMessage(Text.of(GTSInfo.ERROR, "Your balance was too low to afford your bid..."));
+			    return CompletableFuture.completedFuture(false);
 		    }
-		    listing.getEntry().getPrice().pay(user);
-	    } catch (Exception e) {
-		    e.printStackTrace();
-	    }
 
+		    return price.payAsync(player).thenComposeAsync(paid -> entry.giveEntryAsync(player).thenComposeAsync(given -> {
+			    if(given) {
+				    announceWin(player, listing);
+				    return CompletableFuture.completedFuture(true);
+			    }
+
+			    return price.rewardAsync(player.getUniqueId()).handleAsync((ignore, error) -> {
+				    if(error != null) {
+					    GTS.getInstance().getMailboxes().post(new PriceHolder(UUID.randomUUID(), player.getUniqueId(), price));
+				    }
+				    return false;
+			    }, market);
+		    }, market), market);
+	    }, market);
+    }
+
+    private static void announceWin(Player player, Listing listing) {
 	    Map<String, Object> variables = Maps.newHashMap();
 	    variables.put("dummy", listing.getEntry().getEntry());
 	    variables.put("dummy2", listing);
 	    variables.put("dummy3", listing.getEntry());
 	    try {
-		    user.getPlayer().get().sendMessages(
+		    player.sendMessages(
 				    GTS.getInstance().getTextParsingUtils().parse(
 						    GTS.getInstance().getMsgConfig().get(MsgConfigKeys.AUCTION_WIN),
-						    user.getPlayer().get(),
+						    player,
 						    null,
 						    variables
 				    )
@@ -181,16 +262,20 @@ public class ListingTasks {
 	    try {
 	    	List<Text> broadcast = GTS.getInstance().getTextParsingUtils().parse(
 				    GTS.getInstance().getMsgConfig().get(MsgConfigKeys.AUCTION_WIN_BROADCAST),
-				    user.getPlayer().get(),
+				    player,
 				    null,
 				    null
 		    );
-		    Sponge.getServer().getOnlinePlayers().stream()
-				    .filter(pl -> GTS.getInstance().getIgnorers().contains(pl.getUniqueId()))
-				    .forEach(pl -> pl.sendMessages(broadcast));
+		    GTS.getInstance().getBroadcasts().announce(Announcement.builder()
+				    .kind(Announcement.Kind.AuctionWin)
+				    .source(player.getUniqueId())
+				    .sourceName(player.getName())
+				    .category(listing.getEntry().getId())
+				    .lines(broadcast)
+				    .build()
+		    );
 	    } catch (NucleusException e) {
 		    e.printStackTrace();
 	    }
-	    return true;
     }
 }
@@ -4,15 +4,16 @@ import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
 import com.nickimpact.gts.GTS;
 import com.nickimpact.gts.GTSInfo;
-import com.nickimpact.gts.api.listings.entries.EntryHolder;
+import com.nickimpact.gts.api.listings.entries.Entry;
 import com.nickimpact.gts.api.listings.entries.Minable;
 import com.nickimpact.gts.api.listings.pricing.*;
 import com.nickimpact.gts.configuration.ConfigKeys;
 import com.nickimpact.gts.configuration.MsgConfigKeys;
 import com.nickimpact.gts.api.events.ListEvent;
 import com.nickimpact.gts.api.listings.Listing;
-import com.nickimpact.gts.api.utils.MessageUtils;
-import com.nickimpact.gts.discord.Message;
+import com.nickimpact.gts.api.listings.ListingState;
+import com.nickimpact.gts.api.utils.Futures;
+import com.nickimpact.gts.broadcast.Announcement;
 import com.nickimpact.gts.entries.prices.MoneyPrice;
 import com.nickimpact.gts.logs.Log;
 import com.nickimpact.gts.logs.LogAction;
@@ -20,21 +21,17 @@ import io.github.nucleuspowered.nucleus.api.exceptions.NucleusException;
 import org.spongepowered.api.Sponge;
 import org.spongepowered.api.command.CommandSource;
 import org.spongepowered.api.entity.living.player.Player;
-import org.spongepowered.api.entity.living.player.User;
-import org.spongepowered.api.event.cause.Cause;
-import org.spongepowered.api.event.cause.EventContext;
-import org.spongepowered.api.service.economy.account.UniqueAccount;
 import org.spongepowered.api.text.Text;
-import org.spongepowered.api.text.action.TextActions;
 import org.spongepowered.api.text.format.TextColors;
 
 import java.awt.*;
-import java.math.BigDecimal;
-import java.time.Instant;
 import java.util.*;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
 import java.util.function.Function;
-import java.util.stream.Collectors;
 
 /**
  * (Some note will go here)
@@ -53,12 +50,9 @@ public class ListingUtils {
 
 		if(!listEvent.isCancelled()) {
 			GTS.getInstance().getStorage().addListing(listing);
-			GTS.getInstance().getListingsCache().add(listing);
+			GTS.getInstance().getListingIndex().add(listing);
 
-			// Broadcast a message to everyone but the player who deposited the listing and the ignorers
-			Set<Player> players = Sponge.getServer().getOnlinePlayers().stream()
-					.filter(pl -> !GTS.getInstance().getIgnorers().contains(pl.getUniqueId()))
-					.collect(Collectors.toSet());
+			// Broadcast a message to everyone but the ignorers
 			List<Text> broadcast;
 			Map<String, Object> variables = Maps.newHashMap();
 			variables.put("dummy", listing.getEntry().getEntry());
@@ -77,219 +71,110 @@ public class ListingUtils {
 			} catch (NucleusException e) {
 				broadcast = Lists.newArrayList();
 			}
-			for(Player pl : players) {
-				pl.sendMessages(broadcast);
-			}
 
-			GTS.getInstance().getDiscordNotifier().ifPresent(notifier -> {
-				Message message = notifier.forgeMessage(GTS.getInstance().getConfig().get(ConfigKeys.DISCORD_NEW_LISTING), "&7A &a{{listing_specifics}} &7has been added to the GTS for &a{{price}}&7!");
-				notifier.sendMessage(message);
-			});
+			GTS.getInstance().getBroadcasts().announce(Announcement.builder()
+					.kind(Announcement.Kind.Addition)
+					.category(listing.getEntry().getId())
+					.lines(broadcast)
+					.discord(GTS.getInstance().getConfig().get(ConfigKeys.DISCORD_NEW_LISTING))
+					.discordContent("&7A &a{{listing_specifics}} &7has been added to the GTS for &a{{price}}&7!")
+					.build()
+			);
 		}
 	}
 
+	/**
+	 * Carries a listing deposited by a player through the {@link com.nickimpact.gts.market.ListingPipeline} on its
+	 * way to the market.
+	 *
+	 * @param player The player depositing the listing
+	 * @param listing The listing to add
+	 */
     public static void addToMarket(Player player, Listing listing) {
-	    if(ListingUtils.hasMax(player)) {
-		    Map<String, Function<CommandSource, Optional<Text>>> replacements = Maps.newHashMap();
-		    replacements.put("max_listings", s -> Optional.of(Text.of(GTS.getInstance().getConfig().get(ConfigKeys.MAX_LISTINGS))));
-		    try {
-			    player.sendMessages(GTS.getInstance().getTextParsingUtils().parse(
-					    GTS.getInstance().getMsgConfig().get(MsgConfigKeys.MAX_LISTINGS),
-					    player,
-					    replacements,
-					    null
-			    ));
-		    } catch (NucleusException e) {
-			    e.printStackTrace();
-		    }
-		    return;
-	    }
-
-	    ListEvent listEvent = new ListEvent(
-			    player,
-			    listing,
-			    Sponge.getCauseStackManager().getCurrentCause()
-	    );
-	    Sponge.getEventManager().post(listEvent);
-
-	    if(!listEvent.isCancelled()) {
-	    	// We can check here for minimum prices, if we decide to support it
-
-		    Map<String, Object> variables = Maps.newHashMap();
-		    variables.put("dummy", listing.getEntry().getEntry());
-		    variables.put("dummy2", listing);
-		    variables.put("dummy3", listing.getEntry());
-
-		    if(GTS.getInstance().getConfig().get(ConfigKeys.MIN_PRICING_ENABLED) && listing.getEntry() instanceof Minable) {
-		    	MoneyPrice price = (MoneyPrice) listing.getEntry().getPrice();
-		    	try {
-				    MoneyPrice min = ((Minable) listing.getEntry()).calcMinPrice();
-				    if (price.getPrice().compareTo(min.getPrice()) < 0) {
-					    Map<String, Function<CommandSource, Optional<Text>>> tokens = Maps.newHashMap();
-					    tokens.put("min_price", src -> Optional.of(min.getText()));
-					    try {
-						    player.sendMessages(GTS.getInstance().getTextParsingUtils().parse(
-								    GTS.getInstance().getMsgConfig().get(MsgConfigKeys.MIN_PRICE_ERROR),
-								    player,
-								    tokens,
-								    variables
-						    ));
-					    } catch (NucleusException e) {
-						    player.sendMessage(Text.of(
-								    GTSInfo.ERROR, TextColors.GRAY, "To sell your ", TextColors.YELLOW, listing.getEntry().getName(),
-								    TextColors.GRAY, "you must list it for ", TextColors.GREEN, min.getText()
-						    ));
-					    }
-
-					    return;
-				    }
-			    } catch (PricingException e) {
-		    		GTS.getInstance().getConsole().ifPresent(console -> console.sendMessage(Text.of(
-		    				GTSInfo.ERROR, e.getMessage()
-				    )));
-				    return;
-			    }
-		    }
-
-		    Optional<BigDecimal> tax = Optional.empty();
-		    if(GTS.getInstance().getConfig().get(ConfigKeys.TAX_ENABLED)) {
-			    try {
-			    	BigDecimal t = listing.getEntry().getPrice().calcTax(player);
-				    if(t.signum() == -1) {
-						Map<String, Function<CommandSource, Optional<Text>>> extras = Maps.newHashMap();
-						extras.put("tax", src -> Optional.of(Text.of(t)));
-
-						player.sendMessages(GTS.getInstance().getTextParsingUtils().parse(
-								GTS.getInstance().getMsgConfig().get(MsgConfigKeys.TAX_INVALID),
-								player,
-								extras,
-								variables
-						));
-						return;
-				    } else {
-				    	tax = Optional.of(t);
-				    }
-			    } catch (Exception e) {
-			    	if(e instanceof PricingException) {
-					    MessageUtils.genAndSendErrorMessage(
-							    "Tax Error",
-							    "Unable to calculate tax",
-							    "Player: " + player.getName()
-					    );
-				    }
-			    }
-
-			    try {
-				    final BigDecimal t = tax.orElse(BigDecimal.ZERO);
-				    Map<String, Function<CommandSource, Optional<Text>>> extras = Maps.newHashMap();
-				    extras.put("tax", src -> Optional.of(
-						    Text.of(GTS.getInstance().getEconomy().getDefaultCurrency().format(t))));
-				    player.sendMessages(GTS.getInstance().getTextParsingUtils().parse(
-						    GTS.getInstance().getMsgConfig().get(MsgConfigKeys.TAX_APPLICATION),
-						    player,
-						    extras,
-						    null
-				    ));
-				    GTS.getInstance().getEconomy().getOrCreateAccount(player.getUniqueId()).ifPresent(acc -> {
-				    	acc.withdraw(GTS.getInstance().getEconomy().getDefaultCurrency(), t, Sponge.getCauseStackManager().getCurrentCause());
-				    });
-			    } catch (NucleusException e) {
-				    MessageUtils.genAndSendErrorMessage(
-						    "Message Parse Error",
-						    "Nucleus was unable to decode a message properly...",
-						    "Template: " + GTS.getInstance().getMsgConfig().get(MsgConfigKeys.TAX_APPLICATION)
-				    );
-			    }
-		    }
-
-		    if(!listing.getEntry().doTakeAway(player)) {
-			    // Refund applied tax
-			    if(GTS.getInstance().getConfig().get(ConfigKeys.TAX_ENABLED)) {
-				    try {
-					    UniqueAccount acc = GTS.getInstance().getEconomy().getOrCreateAccount(
-							    player.getUniqueId()).orElse(null);
-					    if (acc != null)
-						    acc.deposit(GTS.getInstance().getEconomy().getDefaultCurrency(),
-						                tax.orElse(BigDecimal.ZERO),
-						                Cause.builder().append(GTS.getInstance()).build(EventContext.empty()));
-
-					    player.sendMessage(Text.of(GTSInfo.ERROR, TextColors.RED,
-					                               "Your listing failed to be taken, so we have refunded the tax applied!"));
-				    } catch (Exception e) {
-					    e.printStackTrace();
-				    }
-			    }
-			    return;
-		    }
+	    GTS.getInstance().getListingPipeline().run(player, listing);
+    }
+
+	/**
+	 * Adds a set of listings from a single player to the market at once, through the listing pipeline as a single
+	 * batch. Every listing is checked up front, and should any one of them fail, nothing is listed. Tax for all
+	 * listings is taken in a single transaction, and the listings and their logs are written to storage in a single
+	 * batch, with one summary broadcast.
+	 *
+	 * @param player The player depositing the listings
+	 * @param listings The listings to add, built as deferred
+	 * @param takeAway Takes every entry being listed from the player at once, returning whether it succeeded
+	 * @return A completable future, completed with whether the listings made it to the market
+	 */
+	public static CompletableFuture<Boolean> addAllToMarket(Player player, List<Listing> listings, BooleanSupplier takeAway) {
+		if(listings.isEmpty()) {
+			return CompletableFuture.completedFuture(false);
+		}
 
+		return GTS.getInstance().getListingPipeline().runAll(player, listings, takeAway);
+	}
+
+	/**
+	 * Checks a listing against the size and minimum price requirements of its entry, letting the player know
+	 * should it fail either.
+	 *
+	 * @param reply Receives the message for the player, should the listing fail
+	 * @return True if the listing may be added to the market, false otherwise
+	 */
+	public static boolean meetsRequirements(Player player, Listing listing, Map<String, Object> variables, Consumer<List<Text>> reply) {
+		long max = listing.getEntry().getMaxSize();
+		if(max > 0 && listing.getSize() > max) {
+			Map<String, Function<CommandSource, Optional<Text>>> tokens = Maps.newHashMap();
+			tokens.put("listing_size", src -> Optional.of(Text.of(StringUtils.formatBytes(listing.getSize()))));
+			tokens.put("max_size", src -> Optional.of(Text.of(StringUtils.formatBytes(max))));
 			try {
-				player.sendMessages(GTS.getInstance().getTextParsingUtils().parse(
-						GTS.getInstance().getMsgConfig().get(MsgConfigKeys.ADD_TEMPLATE),
+				reply.accept(GTS.getInstance().getTextParsingUtils().parse(
+						GTS.getInstance().getMsgConfig().get(MsgConfigKeys.LISTING_TOO_LARGE),
 						player,
-						null,
+						tokens,
 						variables
 				));
 			} catch (NucleusException e) {
-				MessageUtils.genAndSendErrorMessage(
-						"Message Parse Error",
-						"Nucleus was unable to decode a message properly...",
-						"Template: " + GTS.getInstance().getMsgConfig().get(MsgConfigKeys.ADD_TEMPLATE)
-				);
+				reply.accept(Lists.newArrayList(Text.of(
+						GTSInfo.ERROR, TextColors.GRAY, "Your ", TextColors.YELLOW, listing.getEntry().getName(),
+						TextColors.GRAY, " holds too much data to be listed"
+				)));
 			}
+			return false;
+		}
 
-		    GTS.getInstance().getStorage().addListing(listing);
-			GTS.getInstance().getListingsCache().add(listing);
+		if(GTS.getInstance().getConfig().get(ConfigKeys.MIN_PRICING_ENABLED) && listing.getEntry() instanceof Minable) {
+			MoneyPrice price = (MoneyPrice) listing.getEntry().getPrice();
+			try {
+				MoneyPrice min = ((Minable) listing.getEntry()).calcMinPrice();
+				if (price.getPrice().compareTo(min.getPrice()) < 0) {
+					Map<String, Function<CommandSource, Optional<Text>>> tokens = Maps.newHashMap();
+					tokens.put("min_price", src -> Optional.of(min.getText()));
+					try {
+						reply.accept(GTS.getInstance().getTextParsingUtils().parse(
+								GTS.getInstance().getMsgConfig().get(MsgConfigKeys.MIN_PRICE_ERROR),
+								player,
+								tokens,
+								variables
+						));
+					} catch (NucleusException e) {
+						reply.accept(Lists.newArrayList(Text.of(
+								GTSInfo.ERROR, TextColors.GRAY, "To sell your ", TextColors.YELLOW, listing.getEntry().getName(),
+								TextColors.GRAY, "you must list it for ", TextColors.GREEN, min.getText()
+						)));
+					}
 
-			// Broadcast a message to everyone but the player who deposited the listing and the ignorers
-		    Set<Player> players = Sponge.getServer().getOnlinePlayers().stream()
-				    .filter(pl -> !pl.getUniqueId().equals(player.getUniqueId()))
-				    .filter(pl -> !GTS.getInstance().getIgnorers().contains(pl.getUniqueId()))
-				    .collect(Collectors.toSet());
-			List<Text> broadcast;
+					return false;
+				}
+			} catch (PricingException e) {
+				GTS.getInstance().getConsole().ifPresent(console -> console.sendMessage(Text.of(
+						GTSInfo.ERROR, e.getMessage()
+				)));
+				return false;
+			}
+		}
 
-		    try {
-			    broadcast = GTS.getInstance().getTextParsingUtils().parse(
-			    		GTS.getInstance().getMsgConfig().get(MsgConfigKeys.ADD_BROADCAST),
-					    player,
-					    null,
-					    variables
-			    );
-		    } catch (NucleusException e) {
-			    broadcast = Lists.newArrayList(
-			    		Text.of(GTSInfo.PREFIX, "&e" + player.getName() + " &7has deposited a new listing!")
-			    );
-		    }
-		    for(Player pl : players) {
-			    pl.sendMessages(broadcast);
-		    }
-
-		    final Text b;
-		    try {
-			    b = GTS.getInstance().getTextParsingUtils().parse(
-					    "&c{{player}} &7has added a &a{{listing_specifics}} &7to the GTS for &a{{price}}&7!",
-					    player,
-					    null,
-					    variables
-			    );
-			    GTS.getInstance().getDiscordNotifier().ifPresent(notifier -> {
-				    Message message = notifier.forgeMessage(GTS.getInstance().getConfig().get(ConfigKeys.DISCORD_NEW_LISTING), b.toPlain());
-				    notifier.sendMessage(message);
-			    });
-		    } catch (NucleusException e) {
-			    e.printStackTrace();
-		    }
-
-
-		    Log add = Log.builder()
-				    .action(LogAction.Addition)
-				    .source(player.getUniqueId())
-				    .hover(Log.forgeTemplate(player, listing, LogAction.Addition))
-				    .build();
-		    GTS.getInstance().getStorage().addLog(add);
-
-		    //GTS.getInstance().getUpdater().sendUpdate();
-	    }
-    }
+		return true;
+	}
 
     public static void purchase(Player player, Listing listing) {
 	    Map<String, Object> variables = Maps.newHashMap();
@@ -297,7 +182,7 @@ public class ListingUtils {
 	    variables.put("dummy2", listing);
 	    variables.put("dummy3", listing.getEntry());
 
-		if(!GTS.getInstance().getListingsCache().contains(listing)) {
+		if(!GTS.getInstance().getListingIndex().contains(listing) || !listing.claim()) {
 			try {
 				player.sendMessages(
 						GTS.getInstance().getTextParsingUtils().parse(
@@ -314,126 +199,22 @@ public class ListingUtils {
 		}
 
 		if(listing.hasExpired()) {
+			listing.release();
 			player.sendMessage(Text.of(GTSInfo.ERROR, TextColors.GRAY, "That listing has expired..."));
 			return;
 		}
 
-		Price price = listing.getEntry().getPrice();
-	    try {
-		    if(price.canPay(player)) {
-		    	if(!listing.getEntry().giveEntry(player)) {
-		    	    return;
-			    }
-
-				price.pay(player);
-				player.sendMessages(
-						GTS.getInstance().getTextParsingUtils().parse(
-								GTS.getInstance().getMsgConfig().get(MsgConfigKeys.PURCHASE_PAY),
-								player,
-								null,
-								variables
-						)
-				);
-
-				if(!price.supportsOfflineReward()) {
-					Player receiver;
-					if ((receiver = Sponge.getServer().getPlayer(listing.getOwnerUUID()).orElse(null)) != null) {
-						price.reward(listing.getOwnerUUID());
-						receiver.sendMessages(
-								GTS.getInstance().getTextParsingUtils().parse(
-										GTS.getInstance().getMsgConfig().get(MsgConfigKeys.PURCHASE_RECEIVE),
-										player,
-										null,
-										variables
-								)
-						);
-					}
-					else {
-						addHeldPrice(new PriceHolder(UUID.randomUUID(), listing.getOwnerUUID(), price));
-					}
-				} else {
-					price.reward(listing.getOwnerUUID());
-					Sponge.getServer().getPlayer(listing.getOwnerUUID()).ifPresent(pl -> {
-						try {
-							pl.sendMessages(
-									GTS.getInstance().getTextParsingUtils().parse(
-											GTS.getInstance().getMsgConfig().get(MsgConfigKeys.PURCHASE_RECEIVE),
-											player,
-											null,
-											variables
-									)
-							);
-						} catch (NucleusException e) {
-							e.printStackTrace();
-						}
-					});
-				}
-
-				deleteEntry(listing);
-
-			    final String b = GTS.getInstance().getTextParsingUtils().parse(
-					    "{{buyer}} just purchased a {{listing_specifics}} from {{seller}} for {{price}}!",
-					    player,
-					    null,
-					    variables
-			    ).toPlain();
-			    GTS.getInstance().getDiscordNotifier().ifPresent(notifier -> {
-				    Message message = notifier.forgeMessage(GTS.getInstance().getConfig().get(ConfigKeys.DISCORD_SELL_LISTING), b);
-				    notifier.sendMessage(message);
-			    });
-
-			    Log buyer = Log.builder()
-					    .action(LogAction.Purchase)
-					    .source(player.getUniqueId())
-					    .hover(Log.forgeTemplate(player, listing, LogAction.Purchase))
-					    .build();
-			    GTS.getInstance().getStorage().addLog(buyer);
-
-			    Log seller = Log.builder()
-					    .action(LogAction.Sell)
-					    .source(listing.getOwnerUUID())
-					    .hover(Log.forgeTemplate(player, listing, LogAction.Sell))
-					    .build();
-			    GTS.getInstance().getStorage().addLog(seller);
-
-				//GTS.getInstance().getUpdater().sendUpdate();
-		    } else {
-		    	player.sendMessages(
-		    			GTS.getInstance().getTextParsingUtils().parse(
-		    					GTS.getInstance().getMsgConfig().get(MsgConfigKeys.NOT_ENOUGH_FUNDS),
-							    player,
-							    null,
-							    variables
-					    )
-			    );
-		    }
-	    } catch (Exception e) {
-	    	if(e instanceof RewardException) {
-			    addHeldPrice(new PriceHolder(UUID.randomUUID(), listing.getOwnerUUID(), price));
-		    } else {
-			    player.sendMessages(
-					    Text.of(GTSInfo.ERROR, "Unfortunately, you were unable to purchase the listing due to an error...")
-			    );
-			    GTS.getInstance().getConsole().ifPresent(console -> console.sendMessages(
-					    Text.of(GTSInfo.ERROR, e.getMessage())
-			    ));
-		    }
-	    }
-    }
-
-    public static void bid(Player player, Listing listing) {
-	    Map<String, Object> variables = Maps.newHashMap();
-	    variables.put("listing_specifics", listing);
-	    variables.put("listing_name", listing);
-	    variables.put("time_left", listing);
-	    variables.put("id", listing);
-
-		if(listing.getAucData() != null) {
-			if(listing.getAucData().getHighBidder() != null && listing.getAucData().getHighBidder().equals(player.getUniqueId())) {
+		// Every step which may wait on another service runs off the server thread, and the purchase carries on
+		// through the market queue once it completes. The listing stays claimed until the purchase is settled.
+		Entry<?> entry = listing.getEntry();
+		Price<?> price = entry.getPrice();
+		Executor market = GTS.getInstance().getMarketQueue().executor("purchase " + listing.getUuid());
+		price.canPayAsync(player).thenComposeAsync(affordable -> {
+			if(!affordable) {
 				try {
 					player.sendMessages(
 							GTS.getInstance().getTextParsingUtils().parse(
-									GTS.getInstance().getMsgConfig().get(MsgConfigKeys.AUCTION_IS_HIGH_BIDDER),
+									GTS.getInstance().getMsgConfig().get(MsgConfigKeys.NOT_ENOUGH_FUNDS),
 									player,
 									null,
 									variables
@@ -442,90 +223,140 @@ public class ListingUtils {
 				} catch (NucleusException e) {
 					e.printStackTrace();
 				}
-			} else {
-				MoneyPrice newPrice;
-				try {
-					newPrice = ((MoneyPrice)listing.getEntry().getPrice()).calculate(listing.getAucData().getIncrement());
-					if(!newPrice.canPay(player)) {
-						player.sendMessage(Text.of(GTSInfo.ERROR, "Your balance is too low to bid..."));
-						return;
-					}
-				} catch (PricingException e) {
-					return;
+				return CompletableFuture.completedFuture(false);
+			}
+
+			return price.payAsync(player).thenComposeAsync(paid -> entry.giveEntryAsync(player).thenComposeAsync(given -> {
+				if(given) {
+					return CompletableFuture.completedFuture(true);
 				}
 
-				UUID oldHigh = listing.getAucData().getHighBidder();
-				Sponge.getServer().getPlayer(oldHigh).ifPresent(p -> {
-					Text message = Text.of(GTSInfo.PREFIX, TextColors.GRAY, TextActions.executeCallback(src -> bid((Player) src, listing)), TextActions.showText(Text.of(TextColors.GRAY, "Click to bid!")), "You've been ", TextColors.RED, "outbid", TextColors.GRAY, "... Click here to bid once more!");
-					p.sendMessages(message);
-				});
+				// Hand the buyer back what they paid, as they never received the listing
+				return price.rewardAsync(player.getUniqueId()).handleAsync((ignore, error) -> {
+					if(error != null) {
+						GTS.getInstance().getMailboxes().post(new PriceHolder(UUID.randomUUID(), player.getUniqueId(), price));
+					}
+					return false;
+				}, market);
+			}, market), market);
+		}, market).whenCompleteAsync((sold, error) -> {
+			if(error != null) {
+				player.sendMessages(
+						Text.of(GTSInfo.ERROR, "Unfortunately, you were unable to purchase the listing due to an error...")
+				);
+				GTS.getInstance().getConsole().ifPresent(console -> console.sendMessages(
+						Text.of(GTSInfo.ERROR, Futures.unwrap(error).getMessage())
+				));
+			}
 
-				listing.getAucData().setHighBidder(player.getUniqueId());
-				listing.getAucData().setHbName(Text.of(player.getName()));
-				listing.getAucData().setHbNameString(player.getName());
-				if(listing.getExpiration().getTime() / 1000 - Date.from(Instant.now()).getTime() / 1000 < 15) {
-					listing.increaseTimeForBid();
-				}
-				try {
-					player.sendMessages(GTS.getInstance().getTextParsingUtils().parse(
-							GTS.getInstance().getMsgConfig().get(MsgConfigKeys.AUCTION_BID),
-							player,
-							null,
-							variables
-					));
-				} catch (NucleusException e) {
-					GTS.getInstance().getConsole().ifPresent(console -> {
-						console.sendMessage(Text.of(
-								GTSInfo.ERROR, "Unable to send a bid message for ", player.getName()
-						));
-					});
-				}
-				try {
-					((MoneyPrice)listing.getEntry().getPrice()).add(listing.getAucData().getIncrement());
-				} catch (PricingException e) {
-					e.printStackTrace();
-				}
-				GTS.getInstance().getStorage().updateListing(listing);
+			if(error != null || !sold) {
+				// Hand the listing back to the market, as the purchase never went through
+				listing.release();
+				return;
+			}
 
-				try {
-					List<Text> broadcast = GTS.getInstance().getTextParsingUtils().parse(
-							GTS.getInstance().getMsgConfig().get(MsgConfigKeys.AUCTION_BID_BROADCAST),
+			settlePurchase(player, listing, price, variables, market);
+		}, market);
+    }
+
+	/**
+	 * Completes a purchase the buyer has paid for and received, handing the price to the seller.
+	 */
+	private static void settlePurchase(Player player, Listing listing, Price<?> price, Map<String, Object> variables, Executor market) {
+		listing.complete(ListingState.SOLD);
+		deleteEntry(listing);
+		try {
+			player.sendMessages(
+					GTS.getInstance().getTextParsingUtils().parse(
+							GTS.getInstance().getMsgConfig().get(MsgConfigKeys.PURCHASE_PAY),
 							player,
 							null,
 							variables
-					);
-					Sponge.getServer().getOnlinePlayers().stream()
-							.filter(pl -> GTS.getInstance().getIgnorers().contains(pl.getUniqueId()))
-							.forEach(pl -> pl.sendMessages(broadcast));
+					)
+			);
+		} catch (NucleusException e) {
+			e.printStackTrace();
+		}
 
-				} catch (NucleusException e) {
-					e.printStackTrace();
+		if(!price.supportsOfflineReward() && !Sponge.getServer().getPlayer(listing.getOwnerUUID()).isPresent()) {
+			GTS.getInstance().getMailboxes().post(new PriceHolder(UUID.randomUUID(), listing.getOwnerUUID(), price));
+		} else {
+			price.rewardAsync(listing.getOwnerUUID()).whenCompleteAsync((ignore, error) -> {
+				if(error != null) {
+					if(!(Futures.unwrap(error) instanceof RewardException)) {
+						Futures.unwrap(error).printStackTrace();
+					}
+
+					// Keep the price for the seller, so it isn't lost
+					GTS.getInstance().getMailboxes().post(new PriceHolder(UUID.randomUUID(), listing.getOwnerUUID(), price));
+					return;
 				}
-			}
-		}
-    }
 
-    private static boolean hasMax(User user) {
-        return hasMax(user.getUniqueId());
-    }
+				Sponge.getServer().getPlayer(listing.getOwnerUUID()).ifPresent(pl -> {
+					try {
+						pl.sendMessages(
+								GTS.getInstance().getTextParsingUtils().parse(
+										GTS.getInstance().getMsgConfig().get(MsgConfigKeys.PURCHASE_RECEIVE),
+										player,
+										null,
+										variables
+								)
+						);
+					} catch (NucleusException e) {
+						e.printStackTrace();
+					}
+				});
+			}, market);
+		}
 
-    private static boolean hasMax(UUID uuid) {
-        int count = GTS.getInstance().getListingsCache().stream().filter(listing -> listing.getOwnerUUID().equals(uuid)).collect(Collectors.toList()).size();
-        return count >= GTS.getInstance().getConfig().get(ConfigKeys.MAX_LISTINGS);
-    }
+		try {
+			final String b = GTS.getInstance().getTextParsingUtils().parse(
+					"{{buyer}} just purchased a {{listing_specifics}} from {{seller}} for {{price}}!",
+					player,
+					null,
+					variables
+			).toPlain();
+			GTS.getInstance().getBroadcasts().announce(Announcement.builder()
+					.kind(Announcement.Kind.Purchase)
+					.source(player.getUniqueId())
+					.sourceName(player.getName())
+					.category(listing.getEntry().getId())
+					.discord(GTS.getInstance().getConfig().get(ConfigKeys.DISCORD_SELL_LISTING))
+					.discordContent(b)
+					.build()
+			);
+		} catch (NucleusException e) {
+			e.printStackTrace();
+		}
 
-	public static void deleteEntry(Listing entry) {
-    	GTS.getInstance().getListingsCache().remove(entry);
-    	GTS.getInstance().getStorage().removeListing(entry.getUuid());
+		Log buyer = Log.builder()
+				.action(LogAction.Purchase)
+				.source(player.getUniqueId())
+				.hover(Log.forgeTemplate(player, listing, LogAction.Purchase))
+				.build();
+		GTS.getInstance().getStorage().addLog(buyer);
+
+		Log seller = Log.builder()
+				.action(LogAction.Sell)
+				.source(listing.getOwnerUUID())
+				.hover(Log.forgeTemplate(player, listing, LogAction.Sell))
+				.build();
+		GTS.getInstance().getStorage().addLog(seller);
 	}
 
-	public static void addHeldEntry(EntryHolder holder) {
-		GTS.getInstance().getHeldEntryCache().add(holder);
-		GTS.getInstance().getStorage().addHeldElement(holder);
+	/**
+	 * Places a bid on an auction. The bid is queued behind any others placed on the same auction, and applied
+	 * off the server thread once they have been.
+	 *
+	 * @param player The player placing the bid
+	 * @param listing The auction to bid on
+	 */
+	public static void bid(Player player, Listing listing) {
+		GTS.getInstance().getAuctions().bid(player, listing);
 	}
 
-	public static void addHeldPrice(PriceHolder holder) {
-		GTS.getInstance().getHeldPriceCache().add(holder);
-		GTS.getInstance().getStorage().addHeldPrice(holder);
+	public static void deleteEntry(Listing entry) {
+    	GTS.getInstance().getListingIndex().remove(entry);
+    	GTS.getInstance().getStorage().removeListing(entry.getUuid());
 	}
 }
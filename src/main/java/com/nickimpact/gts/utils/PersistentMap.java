@@ -0,0 +1,382 @@
+package com.nickimpact.gts.utils;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * An immutable hash map, where each change produces a new map which shares all unchanged structure with the
+ * map it was derived from. Lookups and changes both cost O(log32 n), and an existing map may be read from any
+ * number of threads without synchronization.
+ *
+ * <p>Internally, this is a hash array mapped trie. Each level of the trie consumes five bits of a key's hash,
+ * with keys whose hashes fully collide kept together in a single node.</p>
+ *
+ * @param <K> The type of key held by the map
+ * @param <V> The type of value held by the map
+ * @author NickImpact
+ */
+public final class PersistentMap<K, V> implements Iterable<V> {
+
+	private static final int BITS = 5;
+	private static final int MASK = (1 << BITS) - 1;
+
+	private static final PersistentMap<?, ?> EMPTY = new PersistentMap<>(null, 0);
+
+	private final Node root;
+	private final int size;
+
+	private PersistentMap(Node root, int size) {
+		this.root = root;
+		this.size = size;
+	}
+
+	@SuppressWarnings("unchecked")
+	public static <K, V> PersistentMap<K, V> empty() {
+		return (PersistentMap<K, V>) EMPTY;
+	}
+
+	public int size() {
+		return this.size;
+	}
+
+	public boolean isEmpty() {
+		return this.size == 0;
+	}
+
+	@SuppressWarnings("unchecked")
+	public V get(K key) {
+		return this.root != null ? (V) this.root.get(0, hash(key), key) : null;
+	}
+
+	public boolean containsKey(K key) {
+		return this.get(key) != null;
+	}
+
+	/**
+	 * Produces a map holding the given mapping, replacing any value previously held against the key.
+	 * Null values are not permitted.
+	 *
+	 * @param key The key
+	 * @param value The value to hold against the key
+	 * @return The resulting map
+	 */
+	public PersistentMap<K, V> put(K key, V value) {
+		Objects.requireNonNull(value);
+		int hash = hash(key);
+		if(this.root == null) {
+			return new PersistentMap<>(new Leaf(hash, key, value), 1);
+		}
+
+		boolean[] added = new boolean[1];
+		Node root = this.root.put(0, hash, key, value, added);
+		return root == this.root ? this : new PersistentMap<>(root, added[0] ? this.size + 1 : this.size);
+	}
+
+	/**
+	 * Produces a map without a mapping for the given key.
+	 *
+	 * @param key The key to remove
+	 * @return The resulting map
+	 */
+	public PersistentMap<K, V> remove(K key) {
+		if(this.root == null) {
+			return this;
+		}
+
+		Node root = this.root.remove(0, hash(key), key);
+		return root == this.root ? this : new PersistentMap<>(root, this.size - 1);
+	}
+
+	/**
+	 * Iterates every value held by the map. The order of iteration is stable for a given map, but otherwise
+	 * unspecified.
+	 */
+	@Override
+	public Iterator<V> iterator() {
+		return new Values<>(this.root);
+	}
+
+	public Stream<V> stream() {
+		return StreamSupport.stream(Spliterators.spliterator(this.iterator(), this.size, Spliterator.IMMUTABLE | Spliterator.NONNULL), false);
+	}
+
+	private static int hash(Object key) {
+		int h = key.hashCode();
+		return h ^ (h >>> 16);
+	}
+
+	private static int index(int hash, int shift) {
+		return (hash >>> shift) & MASK;
+	}
+
+	/**
+	 * Builds the smallest subtree which holds two nodes of differing hashes.
+	 */
+	private static Node merge(int shift, Node a, int aHash, Node b, int bHash) {
+		int ai = index(aHash, shift);
+		int bi = index(bHash, shift);
+		if(ai == bi) {
+			return new Branch(1 << ai, new Node[] { merge(shift + BITS, a, aHash, b, bHash) });
+		}
+
+		return new Branch((1 << ai) | (1 << bi), ai < bi ? new Node[] { a, b } : new Node[] { b, a });
+	}
+
+	private static abstract class Node {
+
+		abstract Object get(int shift, int hash, Object key);
+
+		abstract Node put(int shift, int hash, Object key, Object value, boolean[] added);
+
+		/** Returns the node without the key, which may be null if nothing remains */
+		abstract Node remove(int shift, int hash, Object key);
+	}
+
+	private static final class Leaf extends Node {
+
+		private final int hash;
+		private final Object key;
+		private final Object value;
+
+		private Leaf(int hash, Object key, Object value) {
+			this.hash = hash;
+			this.key = key;
+			this.value = value;
+		}
+
+		@Override
+		Object get(int shift, int hash, Object key) {
+			return this.hash == hash && this.key.equals(key) ? this.value : null;
+		}
+
+		@Override
+		Node put(int shift, int hash, Object key, Object value, boolean[] added) {
+			if(this.hash == hash) {
+				if(this.key.equals(key)) {
+					return this.value == value ? this : new Leaf(hash, key, value);
+				}
+
+				added[0] = true;
+				return new Collision(hash, new Leaf[] { this, new Leaf(hash, key, value) });
+			}
+
+			added[0] = true;
+			return merge(shift, this, this.hash, new Leaf(hash, key, value), hash);
+		}
+
+		@Override
+		Node remove(int shift, int hash, Object key) {
+			return this.hash == hash && this.key.equals(key) ? null : this;
+		}
+	}
+
+	private static final class Collision extends Node {
+
+		private final int hash;
+		private final Leaf[] leaves;
+
+		private Collision(int hash, Leaf[] leaves) {
+			this.hash = hash;
+			this.leaves = leaves;
+		}
+
+		@Override
+		Object get(int shift, int hash, Object key) {
+			if(this.hash != hash) {
+				return null;
+			}
+
+			for(Leaf leaf : this.leaves) {
+				if(leaf.key.equals(key)) {
+					return leaf.value;
+				}
+			}
+			return null;
+		}
+
+		@Override
+		Node put(int shift, int hash, Object key, Object value, boolean[] added) {
+			if(this.hash != hash) {
+				added[0] = true;
+				return merge(shift, this, this.hash, new Leaf(hash, key, value), hash);
+			}
+
+			for(int i = 0; i < this.leaves.length; i++) {
+				if(this.leaves[i].key.equals(key)) {
+					if(this.leaves[i].value == value) {
+						return this;
+					}
+
+					Leaf[] leaves = this.leaves.clone();
+					leaves[i] = new Leaf(hash, key, value);
+					return new Collision(hash, leaves);
+				}
+			}
+
+			Leaf[] leaves = new Leaf[this.leaves.length + 1];
+			System.arraycopy(this.leaves, 0, leaves, 0, this.leaves.length);
+			leaves[this.leaves.length] = new Leaf(hash, key, value);
+			added[0] = true;
+			return new Collision(hash, leaves);
+		}
+
+		@Override
+		Node remove(int shift, int hash, Object key) {
+			if(this.hash != hash) {
+				return this;
+			}
+
+			for(int i = 0; i < this.leaves.length; i++) {
+				if(this.leaves[i].key.equals(key)) {
+					if(this.leaves.length == 2) {
+						return this.leaves[1 - i];
+					}
+
+					Leaf[] leaves = new Leaf[this.leaves.length - 1];
+					System.arraycopy(this.leaves, 0, leaves, 0, i);
+					System.arraycopy(this.leaves, i + 1, leaves, i, leaves.length - i);
+					return new Collision(hash, leaves);
+				}
+			}
+			return this;
+		}
+	}
+
+	private static final class Branch extends Node {
+
+		private final int bitmap;
+		private final Node[] children;
+
+		private Branch(int bitmap, Node[] children) {
+			this.bitmap = bitmap;
+			this.children = children;
+		}
+
+		private int position(int bit) {
+			return Integer.bitCount(this.bitmap & (bit - 1));
+		}
+
+		@Override
+		Object get(int shift, int hash, Object key) {
+			int bit = 1 << index(hash, shift);
+			if((this.bitmap & bit) == 0) {
+				return null;
+			}
+
+			return this.children[this.position(bit)].get(shift + BITS, hash, key);
+		}
+
+		@Override
+		Node put(int shift, int hash, Object key, Object value, boolean[] added) {
+			int bit = 1 << index(hash, shift);
+			int position = this.position(bit);
+			if((this.bitmap & bit) == 0) {
+				Node[] children = new Node[this.children.length + 1];
+				System.arraycopy(this.children, 0, children, 0, position);
+				children[position] = new Leaf(hash, key, value);
+				System.arraycopy(this.children, position, children, position + 1, this.children.length - position);
+				added[0] = true;
+				return new Branch(this.bitmap | bit, children);
+			}
+
+			Node child = this.children[position];
+			Node updated = child.put(shift + BITS, hash, key, value, added);
+			if(updated == child) {
+				return this;
+			}
+
+			Node[] children = this.children.clone();
+			children[position] = updated;
+			return new Branch(this.bitmap, children);
+		}
+
+		@Override
+		Node remove(int shift, int hash, Object key) {
+			int bit = 1 << index(hash, shift);
+			if((this.bitmap & bit) == 0) {
+				return this;
+			}
+
+			int position = this.position(bit);
+			Node child = this.children[position];
+			Node updated = child.remove(shift + BITS, hash, key);
+			if(updated == child) {
+				return this;
+			}
+
+			if(updated != null) {
+				// A lone leaf needs no branch of its own, so pull it up a level
+				if(this.children.length == 1 && !(updated instanceof Branch)) {
+					return updated;
+				}
+
+				Node[] children = this.children.clone();
+				children[position] = updated;
+				return new Branch(this.bitmap, children);
+			}
+
+			if(this.children.length == 1) {
+				return null;
+			}
+
+			Node[] children = new Node[this.children.length - 1];
+			System.arraycopy(this.children, 0, children, 0, position);
+			System.arraycopy(this.children, position + 1, children, position, children.length - position);
+			if(children.length == 1 && !(children[0] instanceof Branch)) {
+				return children[0];
+			}
+			return new Branch(this.bitmap & ~bit, children);
+		}
+	}
+
+	private static final class Values<V> implements Iterator<V> {
+
+		private final Deque<Node> pending = new ArrayDeque<>();
+		private Leaf[] collision;
+		private int collisionIndex;
+
+		private Values(Node root) {
+			if(root != null) {
+				this.pending.push(root);
+			}
+		}
+
+		@Override
+		public boolean hasNext() {
+			return (this.collision != null && this.collisionIndex < this.collision.length) || !this.pending.isEmpty();
+		}
+
+		@Override
+		@SuppressWarnings("unchecked")
+		public V next() {
+			if(this.collision != null && this.collisionIndex < this.collision.length) {
+				return (V) this.collision[this.collisionIndex++].value;
+			}
+
+			while(!this.pending.isEmpty()) {
+				Node node = this.pending.pop();
+				if(node instanceof Leaf) {
+					return (V) ((Leaf) node).value;
+				} else if(node instanceof Collision) {
+					this.collision = ((Collision) node).leaves;
+					this.collisionIndex = 1;
+					return (V) this.collision[0].value;
+				} else {
+					Node[] children = ((Branch) node).children;
+					for(int i = children.length - 1; i >= 0; i--) {
+						this.pending.push(children[i]);
+					}
+				}
+			}
+
+			throw new NoSuchElementException();
+		}
+	}
+}
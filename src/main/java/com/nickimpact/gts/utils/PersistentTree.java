@@ -0,0 +1,278 @@
+package com.nickimpact.gts.utils;
+
+import java.util.AbstractList;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+/**
+ * An immutable map of values ordered by a long key, where each change produces a new tree which shares all
+ * unchanged structure with the tree it was derived from. Lookups and changes cost O(log n), as does fetching a
+ * value by its position, whilst iterating the values in order requires no copying or sorting.
+ *
+ * <p>Internally, this is an AVL tree in which each node additionally tracks the size of its subtree, such that
+ * the tree may be viewed as a {@link List} without first being copied into one.</p>
+ *
+ * @param <V> The type of value held by the tree
+ * @author NickImpact
+ */
+public final class PersistentTree<V> implements Iterable<V> {
+
+	private static final PersistentTree<?> EMPTY = new PersistentTree<>(null);
+
+	private final Node<V> root;
+
+	private PersistentTree(Node<V> root) {
+		this.root = root;
+	}
+
+	@SuppressWarnings("unchecked")
+	public static <V> PersistentTree<V> empty() {
+		return (PersistentTree<V>) EMPTY;
+	}
+
+	public int size() {
+		return size(this.root);
+	}
+
+	public boolean isEmpty() {
+		return this.root == null;
+	}
+
+	/**
+	 * @return The height of the tree, which is kept below 1.45 log2(n + 2)
+	 */
+	int height() {
+		return height(this.root);
+	}
+
+	public V get(long key) {
+		Node<V> node = this.root;
+		while(node != null) {
+			if(key < node.key) {
+				node = node.left;
+			} else if(key > node.key) {
+				node = node.right;
+			} else {
+				return node.value;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * @param index The position of a value within the ordering of the tree
+	 * @return The value at that position
+	 * @throws IndexOutOfBoundsException If the index lies outside of the tree
+	 */
+	public V getAt(int index) {
+		if(index < 0 || index >= this.size()) {
+			throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + this.size());
+		}
+
+		Node<V> node = this.root;
+		while(true) {
+			int left = size(node.left);
+			if(index < left) {
+				node = node.left;
+			} else if(index == left) {
+				return node.value;
+			} else {
+				index -= left + 1;
+				node = node.right;
+			}
+		}
+	}
+
+	/**
+	 * Produces a tree holding the given mapping, replacing any value previously held against the key.
+	 * Null values are not permitted.
+	 *
+	 * @param key The key
+	 * @param value The value to hold against the key
+	 * @return The resulting tree
+	 */
+	public PersistentTree<V> put(long key, V value) {
+		Objects.requireNonNull(value);
+		return new PersistentTree<>(put(this.root, key, value));
+	}
+
+	/**
+	 * Produces a tree without any mapping for the given key.
+	 *
+	 * @param key The key
+	 * @return The resulting tree, or this tree if it held no mapping for the key
+	 */
+	public PersistentTree<V> remove(long key) {
+		Node<V> root = remove(this.root, key);
+		return root == this.root ? this : new PersistentTree<>(root);
+	}
+
+	/**
+	 * @return An unmodifiable list backed by this tree, holding its values in key order
+	 */
+	public List<V> asList() {
+		return new View<>(this);
+	}
+
+	@Override
+	public Iterator<V> iterator() {
+		return new Values<>(this.root);
+	}
+
+	private static int size(Node<?> node) {
+		return node != null ? node.size : 0;
+	}
+
+	private static int height(Node<?> node) {
+		return node != null ? node.height : 0;
+	}
+
+	private static <V> Node<V> put(Node<V> node, long key, V value) {
+		if(node == null) {
+			return new Node<>(key, value, null, null);
+		}
+
+		if(key < node.key) {
+			return balance(node.key, node.value, put(node.left, key, value), node.right);
+		} else if(key > node.key) {
+			return balance(node.key, node.value, node.left, put(node.right, key, value));
+		}
+		return new Node<>(key, value, node.left, node.right);
+	}
+
+	private static <V> Node<V> remove(Node<V> node, long key) {
+		if(node == null) {
+			return null;
+		}
+
+		if(key < node.key) {
+			Node<V> left = remove(node.left, key);
+			return left == node.left ? node : balance(node.key, node.value, left, node.right);
+		} else if(key > node.key) {
+			Node<V> right = remove(node.right, key);
+			return right == node.right ? node : balance(node.key, node.value, node.left, right);
+		}
+
+		if(node.left == null) {
+			return node.right;
+		} else if(node.right == null) {
+			return node.left;
+		}
+
+		Node<V> min = node.right;
+		while(min.left != null) {
+			min = min.left;
+		}
+		return balance(min.key, min.value, node.left, removeMin(node.right));
+	}
+
+	private static <V> Node<V> removeMin(Node<V> node) {
+		if(node.left == null) {
+			return node.right;
+		}
+		return balance(node.key, node.value, removeMin(node.left), node.right);
+	}
+
+	/**
+	 * Joins two subtrees whose heights differ by at most two beneath a new node, rotating as needed to keep
+	 * the heights of every pair of siblings within one of each other.
+	 */
+	private static <V> Node<V> balance(long key, V value, Node<V> left, Node<V> right) {
+		if(height(left) > height(right) + 1) {
+			if(height(left.left) >= height(left.right)) {
+				return new Node<>(left.key, left.value, left.left, new Node<>(key, value, left.right, right));
+			}
+
+			Node<V> pivot = left.right;
+			return new Node<>(pivot.key, pivot.value, new Node<>(left.key, left.value, left.left, pivot.left), new Node<>(key, value, pivot.right, right));
+		} else if(height(right) > height(left) + 1) {
+			if(height(right.right) >= height(right.left)) {
+				return new Node<>(right.key, right.value, new Node<>(key, value, left, right.left), right.right);
+			}
+
+			Node<V> pivot = right.left;
+			return new Node<>(pivot.key, pivot.value, new Node<>(key, value, left, pivot.left), new Node<>(right.key, right.value, pivot.right, right.right));
+		}
+
+		return new Node<>(key, value, left, right);
+	}
+
+	private static final class Node<V> {
+
+		private final long key;
+		private final V value;
+		private final Node<V> left;
+		private final Node<V> right;
+		private final int height;
+		private final int size;
+
+		private Node(long key, V value, Node<V> left, Node<V> right) {
+			this.key = key;
+			this.value = value;
+			this.left = left;
+			this.right = right;
+			this.height = Math.max(height(left), height(right)) + 1;
+			this.size = size(left) + size(right) + 1;
+		}
+	}
+
+	private static final class Values<V> implements Iterator<V> {
+
+		private final Deque<Node<V>> path = new ArrayDeque<>();
+
+		private Values(Node<V> root) {
+			this.descend(root);
+		}
+
+		private void descend(Node<V> node) {
+			while(node != null) {
+				this.path.push(node);
+				node = node.left;
+			}
+		}
+
+		@Override
+		public boolean hasNext() {
+			return !this.path.isEmpty();
+		}
+
+		@Override
+		public V next() {
+			if(this.path.isEmpty()) {
+				throw new NoSuchElementException();
+			}
+
+			Node<V> node = this.path.pop();
+			this.descend(node.right);
+			return node.value;
+		}
+	}
+
+	private static final class View<V> extends AbstractList<V> {
+
+		private final PersistentTree<V> tree;
+
+		private View(PersistentTree<V> tree) {
+			this.tree = tree;
+		}
+
+		@Override
+		public V get(int index) {
+			return this.tree.getAt(index);
+		}
+
+		@Override
+		public int size() {
+			return this.tree.size();
+		}
+
+		@Override
+		public Iterator<V> iterator() {
+			return this.tree.iterator();
+		}
+	}
+}
@@ -15,6 +15,14 @@ public class StringUtils {
         return Character.toUpperCase(line.charAt(0)) + line.substring(1);
     }
 
+    public static String formatBytes(long bytes) {
+    	if(bytes < 1024) {
+    		return bytes + " B";
+	    }
+
+    	return String.format("%.1f KB", bytes / 1024.0);
+    }
+
     public static String listToString(List<Text> list) {
     	StringBuilder sb = new StringBuilder();
     	sb.append(list.get(0).toPlain());
@@ -29,4 +29,23 @@ CREATE TABLE `{prefix}held_prices_v2` (
 CREATE TABLE `{prefix}ignorers` (
   `uuid`      VARCHAR(36) NOT NULL,
   PRIMARY KEY (`uuid`)
+);
+
+CREATE TABLE `{prefix}quarantine` (
+  `uuid`      VARCHAR(36) NOT NULL,
+  `origin`    VARCHAR(32) NOT NULL,
+  `payload`   MEDIUMTEXT  NOT NULL,
+  `reason`    MEDIUMTEXT  NOT NULL,
+  `time`      BIGINT      NOT NULL,
+  PRIMARY KEY (`uuid`)
+);
+
+-- Rewards waiting for a player to next be able to receive them. Keyed by owner first, so each player's
+-- mailbox can be fetched on its own.
+CREATE TABLE `{prefix}mailbox` (
+  `uuid`      VARCHAR(36) NOT NULL,
+  `owner`     VARCHAR(36) NOT NULL,
+  `kind`      VARCHAR(8)  NOT NULL,
+  `payload`   MEDIUMTEXT  NOT NULL,
+  PRIMARY KEY (`owner`, `uuid`)
 );
\ No newline at end of file
@@ -0,0 +1,104 @@
+package com.nickimpact.gts.mailbox;
+
+import com.google.common.collect.Lists;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class OwnerFilterTest {
+
+	private OwnerFilter filter;
+
+	@Before
+	public void setUp() {
+		this.filter = new OwnerFilter();
+	}
+
+	@Test
+	public void reportsMailUntilFirstBuilt() {
+		assertFalse(this.filter.isReady());
+		assertTrue(this.filter.mightHaveMail(UUID.randomUUID()));
+	}
+
+	@Test
+	public void noFalseNegativesAfterBuild() {
+		List<UUID> owners = owners(20000);
+		this.filter.begin();
+		this.filter.complete(owners);
+
+		assertTrue(this.filter.isReady());
+		for(UUID owner : owners) {
+			assertTrue(this.filter.mightHaveMail(owner));
+		}
+	}
+
+	@Test
+	public void noFalseNegativesAfterAdd() {
+		this.filter.begin();
+		this.filter.complete(Collections.emptyList());
+
+		List<UUID> owners = owners(20000);
+		owners.forEach(this.filter::add);
+		for(UUID owner : owners) {
+			assertTrue(this.filter.mightHaveMail(owner));
+		}
+	}
+
+	@Test
+	public void keepsOwnersAddedBeforeFirstBuild() {
+		UUID early = UUID.randomUUID();
+		this.filter.add(early);
+		this.filter.complete(Collections.emptyList());
+
+		assertTrue(this.filter.mightHaveMail(early));
+	}
+
+	@Test
+	public void keepsOwnersAddedDuringRebuild() {
+		UUID stored = UUID.randomUUID();
+		this.filter.begin();
+		this.filter.complete(Collections.singletonList(stored));
+
+		// Posted after the owners were read from storage, but before the rebuild completed
+		List<UUID> added = owners(100);
+		this.filter.begin();
+		assertTrue(this.filter.mightHaveMail(UUID.randomUUID()));
+		added.forEach(this.filter::add);
+		this.filter.complete(Collections.singletonList(stored));
+
+		assertTrue(this.filter.mightHaveMail(stored));
+		for(UUID owner : added) {
+			assertTrue(this.filter.mightHaveMail(owner));
+		}
+	}
+
+	@Test
+	public void rulesOutMostUsersWithoutMail() {
+		this.filter.begin();
+		this.filter.complete(owners(1000));
+
+		int reported = 0;
+		for(UUID other : owners(10000)) {
+			if(this.filter.mightHaveMail(other)) {
+				reported++;
+			}
+		}
+
+		// Sized for a 1% false positive rate, so this leaves plenty of room for chance
+		assertTrue("Too many false positives: " + reported, reported < 500);
+	}
+
+	private static List<UUID> owners(int count) {
+		List<UUID> owners = Lists.newArrayList();
+		for(int i = 0; i < count; i++) {
+			owners.add(UUID.randomUUID());
+		}
+		return owners;
+	}
+}
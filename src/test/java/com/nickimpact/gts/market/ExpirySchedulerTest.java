@@ -0,0 +1,147 @@
+package com.nickimpact.gts.market;
+
+import com.google.common.collect.Lists;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class ExpirySchedulerTest {
+
+	private static final long BASE = TimeUnit.SECONDS.toMillis(5);
+	private static final long MAX = TimeUnit.MINUTES.toMillis(5);
+
+	private ExpiryScheduler scheduler;
+
+	@Before
+	public void setUp() {
+		this.scheduler = new ExpiryScheduler();
+	}
+
+	@Test
+	public void pollsOnlyWhatIsDue() {
+		UUID first = UUID.randomUUID();
+		UUID second = UUID.randomUUID();
+		this.scheduler.schedule(second, 200);
+		this.scheduler.schedule(first, 100);
+
+		assertTrue(this.scheduler.poll(99).isEmpty());
+		assertEquals(Collections.singletonList(first), this.scheduler.poll(100));
+		assertEquals(Collections.singletonList(second), this.scheduler.poll(1000));
+		assertTrue(this.scheduler.poll(Long.MAX_VALUE).isEmpty());
+		assertEquals(0, this.scheduler.size());
+	}
+
+	@Test
+	public void pollsSoonestFirst() {
+		UUID first = UUID.randomUUID();
+		UUID second = UUID.randomUUID();
+		UUID third = UUID.randomUUID();
+		this.scheduler.schedule(third, 300);
+		this.scheduler.schedule(first, 100);
+		this.scheduler.schedule(second, 200);
+
+		assertEquals(Lists.newArrayList(first, second, third), this.scheduler.poll(300));
+	}
+
+	@Test
+	public void rescheduleReplacesDeadline() {
+		UUID uuid = UUID.randomUUID();
+		this.scheduler.schedule(uuid, 100);
+		this.scheduler.schedule(uuid, 500);
+		assertEquals(1, this.scheduler.size());
+
+		// The outdated entry for 100 is skipped, rather than firing early
+		assertTrue(this.scheduler.poll(499).isEmpty());
+		assertEquals(Collections.singletonList(uuid), this.scheduler.poll(500));
+	}
+
+	@Test
+	public void rescheduleEarlierFiresOnce() {
+		UUID uuid = UUID.randomUUID();
+		this.scheduler.schedule(uuid, 500);
+		this.scheduler.schedule(uuid, 100);
+
+		assertEquals(Collections.singletonList(uuid), this.scheduler.poll(100));
+		assertTrue(this.scheduler.poll(1000).isEmpty());
+	}
+
+	@Test
+	public void cancelledListingsAreSkipped() {
+		UUID cancelled = UUID.randomUUID();
+		UUID kept = UUID.randomUUID();
+		this.scheduler.schedule(cancelled, 100);
+		this.scheduler.schedule(kept, 200);
+		this.scheduler.cancel(cancelled);
+
+		assertEquals(1, this.scheduler.size());
+		assertEquals(Collections.singletonList(kept), this.scheduler.poll(1000));
+	}
+
+	@Test
+	public void retryBacksOffAndDoubles() {
+		UUID uuid = UUID.randomUUID();
+		long now = 1000;
+		long delay = BASE;
+		for(int attempt = 0; attempt < 6; attempt++) {
+			this.scheduler.retry(uuid, now);
+			assertTrue(this.scheduler.poll(now + delay - 1).isEmpty());
+			assertEquals(Collections.singletonList(uuid), this.scheduler.poll(now + delay));
+
+			now += delay;
+			delay *= 2;
+		}
+	}
+
+	@Test
+	public void retryDelayIsCapped() {
+		UUID uuid = UUID.randomUUID();
+		long now = 0;
+		for(int attempt = 0; attempt < 40; attempt++) {
+			this.scheduler.retry(uuid, now);
+			now = this.drain(uuid, now);
+		}
+
+		this.scheduler.retry(uuid, now);
+		assertTrue(this.scheduler.poll(now + MAX - 1).isEmpty());
+		assertEquals(Collections.singletonList(uuid), this.scheduler.poll(now + MAX));
+	}
+
+	@Test
+	public void cancelResetsBackoff() {
+		UUID uuid = UUID.randomUUID();
+		this.scheduler.retry(uuid, 0);
+		this.scheduler.retry(uuid, 0);
+		this.scheduler.cancel(uuid);
+
+		this.scheduler.retry(uuid, 0);
+		assertEquals(Collections.singletonList(uuid), this.scheduler.poll(BASE));
+	}
+
+	@Test
+	public void clearDropsEverything() {
+		this.scheduler.schedule(UUID.randomUUID(), 100);
+		this.scheduler.retry(UUID.randomUUID(), 0);
+		this.scheduler.clear();
+
+		assertEquals(0, this.scheduler.size());
+		assertTrue(this.scheduler.poll(Long.MAX_VALUE).isEmpty());
+	}
+
+	/**
+	 * Polls until the listing comes due, returning the time it did so.
+	 */
+	private long drain(UUID uuid, long now) {
+		for(long time = now; time <= now + MAX; time += 1000) {
+			if(this.scheduler.poll(time).contains(uuid)) {
+				return time;
+			}
+		}
+		throw new AssertionError("Listing never came due");
+	}
+}
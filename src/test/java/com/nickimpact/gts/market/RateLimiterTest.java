@@ -0,0 +1,97 @@
+package com.nickimpact.gts.market;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class RateLimiterTest {
+
+	private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+	private long now;
+	private RateLimiter limiter;
+
+	@Before
+	public void setUp() {
+		this.now = 1000 * SECOND;
+		this.limiter = new RateLimiter(() -> this.now);
+	}
+
+	@Test
+	public void allowsBurstUpToCapacity() {
+		UUID player = UUID.randomUUID();
+		for(int i = 0; i < 5; i++) {
+			assertTrue("Token " + i + " should be available", this.limiter.take(player, RateLimiter.Action.Sell, 5, 1.0));
+		}
+		assertFalse(this.limiter.take(player, RateLimiter.Action.Sell, 5, 1.0));
+	}
+
+	@Test
+	public void refillsAtRate() {
+		UUID player = UUID.randomUUID();
+		for(int i = 0; i < 3; i++) {
+			assertTrue(this.limiter.take(player, RateLimiter.Action.Bid, 3, 2.0));
+		}
+		assertFalse(this.limiter.take(player, RateLimiter.Action.Bid, 3, 2.0));
+
+		// Two tokens a second, so one returns every half second
+		this.now += SECOND / 2 - 1;
+		assertFalse(this.limiter.take(player, RateLimiter.Action.Bid, 3, 2.0));
+
+		this.now += 1;
+		assertTrue(this.limiter.take(player, RateLimiter.Action.Bid, 3, 2.0));
+		assertFalse(this.limiter.take(player, RateLimiter.Action.Bid, 3, 2.0));
+
+		this.now += SECOND;
+		assertTrue(this.limiter.take(player, RateLimiter.Action.Bid, 3, 2.0));
+		assertTrue(this.limiter.take(player, RateLimiter.Action.Bid, 3, 2.0));
+		assertFalse(this.limiter.take(player, RateLimiter.Action.Bid, 3, 2.0));
+	}
+
+	@Test
+	public void refillStopsAtCapacity() {
+		UUID player = UUID.randomUUID();
+		assertTrue(this.limiter.take(player, RateLimiter.Action.Menu, 2, 1.0));
+
+		// A long idle spell never grants more than a full bucket
+		this.now += 60 * SECOND;
+		assertTrue(this.limiter.take(player, RateLimiter.Action.Menu, 2, 1.0));
+		assertTrue(this.limiter.take(player, RateLimiter.Action.Menu, 2, 1.0));
+		assertFalse(this.limiter.take(player, RateLimiter.Action.Menu, 2, 1.0));
+	}
+
+	@Test
+	public void bucketsAreSeparatePerPlayerAndAction() {
+		UUID first = UUID.randomUUID();
+		UUID second = UUID.randomUUID();
+		assertTrue(this.limiter.take(first, RateLimiter.Action.Purchase, 1, 1.0));
+		assertFalse(this.limiter.take(first, RateLimiter.Action.Purchase, 1, 1.0));
+
+		assertTrue(this.limiter.take(second, RateLimiter.Action.Purchase, 1, 1.0));
+		assertTrue(this.limiter.take(first, RateLimiter.Action.Sell, 1, 1.0));
+	}
+
+	@Test
+	public void invalidateRefillsBucket() {
+		UUID player = UUID.randomUUID();
+		assertTrue(this.limiter.take(player, RateLimiter.Action.Sell, 1, 1.0));
+		assertFalse(this.limiter.take(player, RateLimiter.Action.Sell, 1, 1.0));
+
+		this.limiter.invalidate(player);
+		assertTrue(this.limiter.take(player, RateLimiter.Action.Sell, 1, 1.0));
+	}
+
+	@Test
+	public void disabledLimitsNeverReject() {
+		UUID player = UUID.randomUUID();
+		for(int i = 0; i < 100; i++) {
+			assertTrue(this.limiter.take(player, RateLimiter.Action.Sell, 0, 1.0));
+			assertTrue(this.limiter.take(player, RateLimiter.Action.Bid, 5, 0));
+		}
+	}
+}
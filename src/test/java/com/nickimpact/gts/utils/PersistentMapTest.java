@@ -0,0 +1,167 @@
+package com.nickimpact.gts.utils;
+
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+import org.junit.Test;
+
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class PersistentMapTest {
+
+	@Test
+	public void putAndRemove() {
+		PersistentMap<String, Integer> map = PersistentMap.<String, Integer>empty().put("a", 1).put("b", 2);
+		assertEquals(2, map.size());
+		assertEquals(Integer.valueOf(1), map.get("a"));
+		assertEquals(Integer.valueOf(2), map.get("b"));
+		assertNull(map.get("c"));
+
+		map = map.put("a", 3);
+		assertEquals(2, map.size());
+		assertEquals(Integer.valueOf(3), map.get("a"));
+
+		map = map.remove("a");
+		assertEquals(1, map.size());
+		assertFalse(map.containsKey("a"));
+		assertTrue(map.containsKey("b"));
+
+		map = map.remove("b");
+		assertTrue(map.isEmpty());
+	}
+
+	@Test
+	public void unchangedMapsAreReturnedAsIs() {
+		Integer value = 1;
+		PersistentMap<String, Integer> map = PersistentMap.<String, Integer>empty().put("a", value);
+		assertSame(map, map.put("a", value));
+		assertSame(map, map.remove("b"));
+		assertSame(PersistentMap.empty(), PersistentMap.<String, Integer>empty().remove("a"));
+	}
+
+	@Test(expected = NullPointerException.class)
+	public void rejectsNullValues() {
+		PersistentMap.<String, Integer>empty().put("a", null);
+	}
+
+	@Test
+	public void keepsKeysWhoseHashesCollide() {
+		PersistentMap<Key, String> map = PersistentMap.empty();
+		for(int i = 0; i < 5; i++) {
+			map = map.put(new Key(i, 7), "v" + i);
+		}
+		map = map.put(new Key(100, 8), "other");
+
+		assertEquals(6, map.size());
+		for(int i = 0; i < 5; i++) {
+			assertEquals("v" + i, map.get(new Key(i, 7)));
+		}
+		assertNull(map.get(new Key(5, 7)));
+
+		map = map.put(new Key(2, 7), "replaced");
+		assertEquals(6, map.size());
+		assertEquals("replaced", map.get(new Key(2, 7)));
+
+		for(int i = 0; i < 5; i++) {
+			map = map.remove(new Key(i, 7));
+			assertEquals(5 - i, map.size());
+			assertNull(map.get(new Key(i, 7)));
+			for(int j = i + 1; j < 5; j++) {
+				assertTrue(map.containsKey(new Key(j, 7)));
+			}
+		}
+		assertEquals("other", map.get(new Key(100, 8)));
+	}
+
+	@Test
+	public void previousVersionsAreUnchanged() {
+		PersistentMap<Integer, String> first = PersistentMap.empty();
+		for(int i = 0; i < 100; i++) {
+			first = first.put(i, "first" + i);
+		}
+
+		PersistentMap<Integer, String> second = first.put(5, "second").remove(10).put(1000, "added");
+
+		assertEquals(100, first.size());
+		for(int i = 0; i < 100; i++) {
+			assertEquals("first" + i, first.get(i));
+		}
+		assertNull(first.get(1000));
+
+		assertEquals(100, second.size());
+		assertEquals("second", second.get(5));
+		assertNull(second.get(10));
+		assertEquals("added", second.get(1000));
+	}
+
+	@Test
+	public void iteratesEveryValueOnce() {
+		PersistentMap<Integer, Integer> map = PersistentMap.empty();
+		for(int i = 0; i < 5000; i++) {
+			map = map.put(i * 31, i);
+		}
+		map = map.put(-1, -1);
+
+		Set<Integer> seen = Sets.newHashSet();
+		for(Integer value : map) {
+			assertTrue(seen.add(value));
+		}
+		assertEquals(map.size(), seen.size());
+		assertEquals(map.size(), map.stream().count());
+	}
+
+	@Test
+	public void matchesHashMapUnderRandomChanges() {
+		Random random = new Random(37);
+		Map<Key, Integer> expected = Maps.newHashMap();
+		PersistentMap<Key, Integer> map = PersistentMap.empty();
+		for(int i = 0; i < 20000; i++) {
+			// Few distinct hashes, so many keys land in collision nodes
+			Key key = new Key(random.nextInt(1000), random.nextInt(200));
+			if(random.nextInt(3) == 0) {
+				expected.remove(key);
+				map = map.remove(key);
+			} else {
+				expected.put(key, i);
+				map = map.put(key, i);
+			}
+			assertEquals(expected.size(), map.size());
+		}
+
+		for(Map.Entry<Key, Integer> entry : expected.entrySet()) {
+			assertEquals(entry.getValue(), map.get(entry.getKey()));
+		}
+		assertEquals(Sets.newHashSet(expected.values()), Sets.newHashSet(map));
+	}
+
+	/**
+	 * A key whose hash is chosen by the test, so collisions can be forced.
+	 */
+	private static final class Key {
+
+		private final int id;
+		private final int hash;
+
+		private Key(int id, int hash) {
+			this.id = id;
+			this.hash = hash;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			return o instanceof Key && ((Key) o).id == this.id && ((Key) o).hash == this.hash;
+		}
+
+		@Override
+		public int hashCode() {
+			return this.hash;
+		}
+	}
+}
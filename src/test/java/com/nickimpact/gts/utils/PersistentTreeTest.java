@@ -0,0 +1,164 @@
+package com.nickimpact.gts.utils;
+
+import com.google.common.collect.Lists;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class PersistentTreeTest {
+
+	@Test
+	public void putAndRemove() {
+		PersistentTree<String> tree = PersistentTree.<String>empty().put(2, "b").put(1, "a").put(3, "c");
+		assertEquals(3, tree.size());
+		assertEquals("a", tree.get(1));
+		assertEquals("b", tree.get(2));
+		assertEquals("c", tree.get(3));
+		assertNull(tree.get(4));
+
+		tree = tree.put(2, "B");
+		assertEquals(3, tree.size());
+		assertEquals("B", tree.get(2));
+
+		tree = tree.remove(2);
+		assertEquals(2, tree.size());
+		assertNull(tree.get(2));
+		assertEquals(Lists.newArrayList("a", "c"), Lists.newArrayList(tree));
+
+		tree = tree.remove(1).remove(3);
+		assertTrue(tree.isEmpty());
+		assertEquals(0, tree.size());
+	}
+
+	@Test
+	public void removeMissingKeyReturnsSameTree() {
+		PersistentTree<String> tree = PersistentTree.<String>empty().put(1, "a");
+		assertSame(tree, tree.remove(2));
+	}
+
+	@Test(expected = NullPointerException.class)
+	public void rejectsNullValues() {
+		PersistentTree.empty().put(1, null);
+	}
+
+	@Test
+	public void previousVersionsAreUnchanged() {
+		PersistentTree<String> first = PersistentTree.<String>empty().put(1, "a").put(2, "b");
+		PersistentTree<String> second = first.put(3, "c");
+		PersistentTree<String> third = second.remove(1).put(2, "B");
+
+		assertEquals(Lists.newArrayList("a", "b"), Lists.newArrayList(first));
+		assertEquals(Lists.newArrayList("a", "b", "c"), Lists.newArrayList(second));
+		assertEquals(Lists.newArrayList("B", "c"), Lists.newArrayList(third));
+	}
+
+	@Test
+	public void viewIsUnchangedByLaterVersions() {
+		PersistentTree<String> tree = PersistentTree.<String>empty().put(1, "a").put(2, "b");
+		List<String> view = tree.asList();
+		tree.put(0, "z").remove(1);
+
+		assertEquals(Lists.newArrayList("a", "b"), view);
+	}
+
+	@Test
+	public void staysBalancedOnSequentialInserts() {
+		PersistentTree<Integer> tree = PersistentTree.empty();
+		for(int i = 0; i < 10000; i++) {
+			tree = tree.put(i, i);
+			assertBalanced(tree);
+		}
+
+		for(int i = 0; i < 10000; i++) {
+			assertEquals(Integer.valueOf(i), tree.getAt(i));
+		}
+	}
+
+	@Test
+	public void staysBalancedOnSequentialDeletes() {
+		PersistentTree<Integer> tree = PersistentTree.empty();
+		for(int i = 0; i < 10000; i++) {
+			tree = tree.put(i, i);
+		}
+
+		for(int i = 0; i < 5000; i++) {
+			tree = tree.remove(i);
+			assertBalanced(tree);
+		}
+
+		for(int i = 9999; i >= 5000; i--) {
+			tree = tree.remove(i);
+			assertBalanced(tree);
+		}
+		assertTrue(tree.isEmpty());
+	}
+
+	@Test
+	public void fetchesByRank() {
+		PersistentTree<Long> tree = PersistentTree.empty();
+		for(long key = 0; key < 1000; key += 3) {
+			tree = tree.put(key, key);
+		}
+
+		List<Long> view = tree.asList();
+		assertEquals(tree.size(), view.size());
+		for(int i = 0; i < tree.size(); i++) {
+			assertEquals(Long.valueOf(i * 3L), tree.getAt(i));
+			assertEquals(Long.valueOf(i * 3L), view.get(i));
+		}
+	}
+
+	@Test(expected = IndexOutOfBoundsException.class)
+	public void rejectsRankOutsideTree() {
+		PersistentTree.<String>empty().put(1, "a").getAt(1);
+	}
+
+	@Test
+	public void iteratesInKeyOrder() {
+		PersistentTree<Long> tree = PersistentTree.empty();
+		for(long key : new long[] { 5, -3, 12, 0, 7, Long.MAX_VALUE, Long.MIN_VALUE }) {
+			tree = tree.put(key, key);
+		}
+
+		assertEquals(Lists.newArrayList(Long.MIN_VALUE, -3L, 0L, 5L, 7L, 12L, Long.MAX_VALUE), Lists.newArrayList(tree));
+	}
+
+	@Test
+	public void matchesTreeMapUnderRandomChanges() {
+		Random random = new Random(37);
+		TreeMap<Long, Integer> expected = new TreeMap<>();
+		PersistentTree<Integer> tree = PersistentTree.empty();
+		for(int i = 0; i < 20000; i++) {
+			long key = random.nextInt(2000);
+			if(random.nextInt(3) == 0) {
+				expected.remove(key);
+				tree = tree.remove(key);
+			} else {
+				expected.put(key, i);
+				tree = tree.put(key, i);
+			}
+		}
+
+		assertEquals(expected.size(), tree.size());
+		assertEquals(Lists.newArrayList(expected.values()), Lists.newArrayList(tree));
+		int rank = 0;
+		for(Map.Entry<Long, Integer> entry : expected.entrySet()) {
+			assertEquals(entry.getValue(), tree.get(entry.getKey()));
+			assertEquals(entry.getValue(), tree.getAt(rank++));
+		}
+		assertBalanced(tree);
+	}
+
+	private static void assertBalanced(PersistentTree<?> tree) {
+		double bound = 1.45 * Math.log(tree.size() + 2) / Math.log(2);
+		assertTrue("Height " + tree.height() + " exceeds " + bound + " for " + tree.size() + " values", tree.height() <= bound);
+	}
+}